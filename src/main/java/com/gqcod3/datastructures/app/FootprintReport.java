@@ -0,0 +1,223 @@
+package com.gqcod3.datastructures.app;
+
+import java.lang.ref.Reference;
+import java.util.function.BiConsumer;
+import java.util.function.IntFunction;
+import java.util.function.Supplier;
+
+import com.gqcod3.datastructures.io.ElementCodec;
+import com.gqcod3.datastructures.lists.circular.CircularDoublyLinkedList;
+import com.gqcod3.datastructures.lists.circular.CircularSinglyLinkedList;
+import com.gqcod3.datastructures.lists.circular.ConcurrentCircularDoublyLinkedList;
+import com.gqcod3.datastructures.lists.circular.ConcurrentCircularSinglyLinkedList;
+import com.gqcod3.datastructures.lists.doubly.ArenaDoublyLinkedList;
+import com.gqcod3.datastructures.lists.doubly.ConcurrentDoublyLinkedList;
+import com.gqcod3.datastructures.lists.doubly.DoublyLinkedList;
+import com.gqcod3.datastructures.lists.doubly.IntArenaList;
+import com.gqcod3.datastructures.lists.doubly.LongArenaList;
+import com.gqcod3.datastructures.lists.singly.SinglyLinkedList;
+import com.gqcod3.datastructures.queue.AdaptiveQueue;
+import com.gqcod3.datastructures.queue.LinkedQueue;
+import com.gqcod3.datastructures.queue.MpscLinkedQueue;
+import com.gqcod3.datastructures.queue.PriorityLinkedQueue;
+import com.gqcod3.datastructures.queue.SnapshotLinkedQueue;
+import com.gqcod3.datastructures.queue.SpillingLinkedQueue;
+import com.gqcod3.datastructures.stack.ChunkedArrayStack;
+import com.gqcod3.datastructures.stack.LinkedStack;
+
+/**
+ * Footprint Report
+ * <p>
+ * Measures the heap retained per element by every structure of the {@code lists},
+ * {@code queue} and {@code stack} packages, for several element types and sizes, and
+ * exits with status 1 when the per-element overhead of a structure exceeds its budget.
+ * It runs as part of {@code mvn -Pfootprint verify}.
+ * </p>
+ *
+ * <p>
+ * Retained bytes are measured as the difference in used heap, after repeated full
+ * collections, before and after building enough instances to hold
+ * {@link #ELEMENTS_PER_SAMPLE} elements. The "shared" element type adds the same
+ * object every time, so its column is the cost of the structure alone (node headers,
+ * links, hidden outer-instance references, arrays); the other columns include the
+ * elements themselves, except for the primitive lists, which only keep a value.
+ * Budgets apply to the shared column at the largest size and assume a 64-bit JVM with
+ * compressed references, which the profile guarantees by running with a small heap.
+ * </p>
+ *
+ * <p>
+ * {@code DedupLinkedQueue} and {@code ConcurrentSortedLinkedSet} are not measured:
+ * they hold each element once, so the shared element would leave them with a single
+ * node. The views, adapters and the scheduler of those packages hold no elements of
+ * their own.
+ * </p>
+ */
+public class FootprintReport {
+
+    /**
+     * Number of elements held by all instances of a single sample.
+     */
+    private static final int ELEMENTS_PER_SAMPLE = 1_000_000;
+    /**
+     * Structure sizes measured for every element type.
+     */
+    private static final int[] SIZES = { 16, 1_000, 1_000_000 };
+    /**
+     * Allowed measurement noise on top of a budget, in bytes per element.
+     */
+    private static final double TOLERANCE = 0.5;
+
+    /**
+     * Structure under measurement and its per-element overhead budget.
+     */
+    private static final class Structure {
+        final String name;
+        final Supplier<Object> factory;
+        final BiConsumer<Object, Object> add;
+        final double budget;
+
+        @SuppressWarnings("unchecked")
+        <S> Structure(String name, Supplier<S> factory, BiConsumer<S, Object> add, double budget) {
+            this.name = name;
+            this.factory = (Supplier<Object>) factory;
+            this.add = (BiConsumer<Object, Object>) add;
+            this.budget = budget;
+        }
+    }
+
+    /**
+     * Element type under measurement.
+     */
+    private static final class ElementType {
+        final String name;
+        final IntFunction<Object> factory;
+
+        ElementType(String name, IntFunction<Object> factory) {
+            this.name = name;
+            this.factory = factory;
+        }
+    }
+
+    /**
+     * Shared element used to measure the cost of the structures alone.
+     */
+    private static final Integer SHARED = 1 << 20;
+
+    /**
+     * Structures measured, with their overhead budgets in bytes per element.
+     */
+    @SuppressWarnings("unchecked")
+    private static final Structure[] STRUCTURES = {
+        new Structure("SinglyLinkedList", SinglyLinkedList::new, SinglyLinkedList::pushBack, 24),
+        new Structure("DoublyLinkedList", DoublyLinkedList::new, DoublyLinkedList::pushBack, 32),
+        new Structure("ArenaDoublyLinkedList", ArenaDoublyLinkedList::new, ArenaDoublyLinkedList::pushBack, 18),
+        // 12 and 16 bytes per element, plus the same growth slack as ArenaDoublyLinkedList
+        new Structure("IntArenaList", IntArenaList::new,
+                (IntArenaList list, Object element) -> list.pushBack(element.hashCode()), 18),
+        new Structure("LongArenaList", LongArenaList::new,
+                (LongArenaList list, Object element) -> list.pushBack(element.hashCode()), 24),
+        new Structure("CircularSinglyLinkedList", CircularSinglyLinkedList::new, CircularSinglyLinkedList::pushBack, 24),
+        new Structure("CircularDoublyLinkedList", CircularDoublyLinkedList::new, CircularDoublyLinkedList::pushBack, 32),
+        new Structure("ConcurrentDoublyLinkedList", ConcurrentDoublyLinkedList::new, ConcurrentDoublyLinkedList::pushBack, 32),
+        new Structure("ConcurrentCircularSinglyLinkedList", ConcurrentCircularSinglyLinkedList::new,
+                ConcurrentCircularSinglyLinkedList::pushBack, 24),
+        new Structure("ConcurrentCircularDoublyLinkedList", ConcurrentCircularDoublyLinkedList::new,
+                ConcurrentCircularDoublyLinkedList::pushBack, 32),
+        new Structure("LinkedQueue", LinkedQueue::new, LinkedQueue::enqueue, 24),
+        new Structure("SnapshotLinkedQueue", SnapshotLinkedQueue::new, SnapshotLinkedQueue::enqueue, 24),
+        new Structure("AdaptiveQueue", AdaptiveQueue::new, AdaptiveQueue::enqueue, 4),
+        // Never spills with this budget, so the codec is never called and all elements stay on the heap
+        new Structure("SpillingLinkedQueue",
+                () -> new SpillingLinkedQueue<>((ElementCodec<Object>) (ElementCodec<?>) ElementCodec.INT, Integer.MAX_VALUE),
+                SpillingLinkedQueue::enqueue, 24),
+        // Intrusive, so each element is a bare node: an object header and the link
+        new Structure("MpscLinkedQueue", MpscLinkedQueue::new,
+                (MpscLinkedQueue<MpscLinkedQueue.Node> queue, Object element) -> queue.enqueue(new MpscLinkedQueue.Node()), 16),
+        new Structure("PriorityLinkedQueue", PriorityLinkedQueue::new, PriorityLinkedQueue::enqueue, 40),
+        new Structure("LinkedStack", LinkedStack::new, LinkedStack::push, 24),
+        new Structure("ChunkedArrayStack", ChunkedArrayStack::new, ChunkedArrayStack::push, 4),
+    };
+
+    /**
+     * Element types measured, the shared one first.
+     */
+    private static final ElementType[] ELEMENT_TYPES = {
+        new ElementType("shared", i -> SHARED),
+        new ElementType("Integer", i -> Integer.valueOf(i + 1024)),
+        new ElementType("Long", i -> Long.valueOf(i + 1024L)),
+        new ElementType("String", i -> "element-" + i),
+    };
+
+    public static void main(String[] args) {
+        System.out.printf("%-36s %10s", "bytes/element", "size");
+        for (ElementType type : ELEMENT_TYPES) {
+            System.out.printf(" %10s", type.name);
+        }
+        System.out.printf(" %10s%n", "budget");
+
+        int failures = 0;
+        for (Structure structure : STRUCTURES) {
+            double overhead = 0;
+            for (int size : SIZES) {
+                System.out.printf("%-36s %10d", structure.name, size);
+                for (ElementType type : ELEMENT_TYPES) {
+                    double bytes = measure(structure, type, size);
+                    if (type == ELEMENT_TYPES[0])
+                        overhead = bytes;
+                    System.out.printf(" %10.1f", bytes);
+                }
+                System.out.printf(" %10.1f%n", structure.budget);
+            }
+            if (overhead > structure.budget + TOLERANCE) {
+                System.out.printf("FAIL %s: %.1f bytes/element exceeds the budget of %.1f%n",
+                        structure.name, overhead, structure.budget);
+                failures++;
+            }
+        }
+
+        if (failures > 0)
+            System.exit(1);
+    }
+
+    /**
+     * Measures the heap retained per element by instances of a structure.
+     * @param structure The structure to measure.
+     * @param type The type of the elements added.
+     * @param size The number of elements per instance.
+     * @return the retained bytes per element, including the instances themselves.
+     */
+    private static double measure(Structure structure, ElementType type, int size) {
+        int instances = Math.max(1, ELEMENTS_PER_SAMPLE / size);
+        Object[] built = new Object[instances];
+
+        long before = usedHeap();
+        for (int i = 0; i < instances; i++) {
+            Object instance = structure.factory.get();
+            for (int j = 0; j < size; j++) {
+                structure.add.accept(instance, type.factory.apply(i * size + j));
+            }
+            built[i] = instance;
+        }
+        long after = usedHeap();
+        Reference.reachabilityFence(built);
+
+        return (after - before) / (double) (instances * (long) size);
+    }
+
+    /**
+     * Returns the used heap after collecting until it stops shrinking.
+     * @return the used heap in bytes.
+     */
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        long used = Long.MAX_VALUE;
+        for (int i = 0; i < 10; i++) {
+            System.gc();
+            long current = runtime.totalMemory() - runtime.freeMemory();
+            if (current >= used)
+                break;
+            used = current;
+        }
+        return used;
+    }
+}
@@ -19,7 +19,8 @@ public class Main {
        linkedList.pushBack(2);
        linkedList.pushBack(3);
        System.out.println("\nSingly Linked List:");
-       linkedList.iterator();
+       linkedList.forEach(item -> System.out.print(item + " -> "));
+       System.out.println("null");
 
        /**
         * Doubly Linked List Example
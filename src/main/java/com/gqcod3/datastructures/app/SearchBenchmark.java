@@ -0,0 +1,104 @@
+package com.gqcod3.datastructures.app;
+
+import java.util.function.IntUnaryOperator;
+
+import com.gqcod3.datastructures.lists.doubly.ArenaDoublyLinkedList;
+import com.gqcod3.datastructures.lists.doubly.IntArenaList;
+import com.gqcod3.datastructures.lists.doubly.LongArenaList;
+
+/**
+ * Search Benchmark
+ * <p>
+ * Measures the scans of the primitive arena lists against the boxed
+ * {@link ArenaDoublyLinkedList}, reporting nanoseconds per scanned element. Every query
+ * looks for a value that is not in the list, so each call scans it whole. It runs as
+ * part of {@code mvn -Psearch-benchmark verify} twice: once with
+ * {@code -Ddatastructures.scalar=true}, forcing the scalar loops, and once on the
+ * vector path.
+ * </p>
+ *
+ * <p>
+ * Each measurement is warmed up for {@link #WARMUP_ROUNDS} rounds so the loops are
+ * compiled before timing, and the best of {@link #MEASURED_ROUNDS} rounds is reported.
+ * The results of the queries are accumulated and printed so that the JIT cannot drop
+ * them.
+ * </p>
+ */
+public class SearchBenchmark {
+
+    /**
+     * Number of elements in each list.
+     */
+    private static final int SIZE = 1 << 20;
+    /**
+     * Number of queries timed per round.
+     */
+    private static final int QUERIES = 64;
+    /**
+     * Rounds run before timing.
+     */
+    private static final int WARMUP_ROUNDS = 10;
+    /**
+     * Rounds timed; the fastest is reported.
+     */
+    private static final int MEASURED_ROUNDS = 10;
+
+    /**
+     * Sink for the query results.
+     */
+    private static long blackhole;
+
+    public static void main(String[] args) {
+        IntArenaList ints = new IntArenaList(SIZE);
+        LongArenaList longs = new LongArenaList(SIZE);
+        ArenaDoublyLinkedList<Integer> boxed = new ArenaDoublyLinkedList<>(SIZE);
+        for (int i = 0; i < SIZE; i++) {
+            ints.pushBack(i);
+            longs.pushBack(i);
+            boxed.pushBack(i);
+        }
+
+        System.out.printf("path: %s, %d elements%n", IntArenaList.isVectorized() ? "vector" : "scalar", SIZE);
+        System.out.printf("%-40s %10s%n", "ns/element", "best");
+        report("ArenaDoublyLinkedList<Integer>.contains", q -> boxed.contains(-q) ? 1 : 0);
+        report("IntArenaList.contains", q -> ints.contains(-q) ? 1 : 0);
+        report("IntArenaList.count", q -> ints.count(-q));
+        report("IntArenaList.indexOf", q -> ints.indexOf(-q));
+        report("LongArenaList.contains", q -> longs.contains(-q) ? 1 : 0);
+        report("LongArenaList.count", q -> longs.count(-q));
+        report("LongArenaList.indexOf", q -> longs.indexOf(-q));
+        System.out.println("checksum: " + blackhole);
+    }
+
+    /**
+     * Time a query and print its best round.
+     * @param name The name of the measurement.
+     * @param query The query, given the number of the call and returning a result to sink.
+     */
+    private static void report(String name, IntUnaryOperator query) {
+        for (int round = 0; round < WARMUP_ROUNDS; round++) {
+            run(query);
+        }
+        long best = Long.MAX_VALUE;
+        for (int round = 0; round < MEASURED_ROUNDS; round++) {
+            best = Math.min(best, run(query));
+        }
+        System.out.printf("%-40s %10.3f%n", name, (double) best / ((long) QUERIES * SIZE));
+    }
+
+    /**
+     * Run one round of queries.
+     * @param query The query to run.
+     * @return the elapsed time in nanoseconds.
+     */
+    private static long run(IntUnaryOperator query) {
+        long start = System.nanoTime();
+        long sum = 0;
+        for (int q = 1; q <= QUERIES; q++) {
+            sum += query.applyAsInt(q);
+        }
+        long elapsed = System.nanoTime() - start;
+        blackhole += sum;
+        return elapsed;
+    }
+}
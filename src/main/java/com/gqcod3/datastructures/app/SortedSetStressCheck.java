@@ -0,0 +1,108 @@
+package com.gqcod3.datastructures.app;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+import com.gqcod3.datastructures.lists.singly.ConcurrentSortedLinkedSet;
+
+/**
+ * Sorted Set Stress Check
+ * <p>
+ * Runs concurrent random adds and removes against a {@link ConcurrentSortedLinkedSet}
+ * and checks the set against the calls that reported success. For every key, the
+ * successful adds minus the successful removes must be 0 or 1, and must say whether
+ * the key is in the set once all threads are done. Anything else means two calls
+ * claimed the same node. Exits with status 1 on the first inconsistent trial. It runs
+ * as part of {@code mvn -Pstress-check verify}.
+ * </p>
+ *
+ * <p>
+ * Keys are few next to the number of operations, so threads keep racing on the same
+ * nodes.
+ * </p>
+ */
+public class SortedSetStressCheck {
+
+    /**
+     * Number of threads adding and removing at once.
+     */
+    private static final int THREADS = 4;
+    /**
+     * Number of distinct keys.
+     */
+    private static final int KEYS = 64;
+    /**
+     * Operations run by each thread per trial.
+     */
+    private static final int OPERATIONS = 200_000;
+    /**
+     * Number of trials, each on a fresh set.
+     */
+    private static final int TRIALS = 20;
+
+    public static void main(String[] args) throws InterruptedException {
+        for (int trial = 1; trial <= TRIALS; trial++) {
+            String failure = runTrial();
+            if (failure != null) {
+                System.out.printf("FAIL trial %d: %s%n", trial, failure);
+                System.exit(1);
+            }
+        }
+        System.out.printf("%d trials of %d threads x %d operations on %d keys: consistent%n",
+                TRIALS, THREADS, OPERATIONS, KEYS);
+    }
+
+    /**
+     * Runs one trial on a fresh set.
+     * @return a description of the first inconsistent key, or null if none.
+     * @throws InterruptedException if interrupted while waiting for the threads.
+     */
+    private static String runTrial() throws InterruptedException {
+        ConcurrentSortedLinkedSet<Integer> set = new ConcurrentSortedLinkedSet<>();
+        AtomicIntegerArray balance = new AtomicIntegerArray(KEYS);
+        CountDownLatch start = new CountDownLatch(1);
+
+        Thread[] threads = new Thread[THREADS];
+        for (int t = 0; t < THREADS; t++) {
+            threads[t] = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                for (int i = 0; i < OPERATIONS; i++) {
+                    int key = random.nextInt(KEYS);
+                    if (random.nextBoolean()) {
+                        if (set.add(key))
+                            balance.incrementAndGet(key);
+                    } else {
+                        if (set.remove(key))
+                            balance.decrementAndGet(key);
+                    }
+                }
+            });
+            threads[t].start();
+        }
+        start.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        for (int key = 0; key < KEYS; key++) {
+            int net = balance.get(key);
+            if (net != 0 && net != 1)
+                return "key " + key + " has " + net + " successful adds over removes";
+            if (set.contains(key) != (net == 1))
+                return "key " + key + " is " + (set.contains(key) ? "" : "not ") + "in the set with a balance of " + net;
+        }
+        int expected = 0;
+        for (int key = 0; key < KEYS; key++) {
+            expected += balance.get(key);
+        }
+        if (set.size() != expected)
+            return "size " + set.size() + " but " + expected + " keys are in";
+        return null;
+    }
+}
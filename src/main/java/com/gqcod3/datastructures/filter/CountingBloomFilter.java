@@ -0,0 +1,276 @@
+package com.gqcod3.datastructures.filter;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * Counting Bloom Filter
+ * <p>
+ * A probabilistic set of hash codes answering "definitely absent" or "maybe present".
+ * Every item increments {@code k} of {@code m} small counters chosen from its hash
+ * code; an item whose counters are not all positive was never added. Counters instead
+ * of bits let items be removed again, which a plain Bloom filter does not allow.
+ * </p>
+ *
+ * <p>
+ * Counters take 4 bits, sixteen to a {@code long}, so the filter costs {@code m / 2}
+ * bytes. A counter reaching 15 sticks there, since decrementing it could create false
+ * negatives; with the usual sizing this is vanishingly rare. The filter only stays
+ * exact if every removed item was added before, which the structures using it
+ * guarantee by updating it from each of their mutators.
+ * </p>
+ *
+ * <p>
+ * The filter also keeps metrics on its own effectiveness: the number of queries, the
+ * negatives it answered without a scan, and the false positives reported back by its
+ * owner when a scan found nothing.
+ * </p>
+ *
+ * <ul>
+ * <li>{@link #add(Object)}: Records an item.</li>
+ * <li>{@link #remove(Object)}: Forgets an item previously recorded.</li>
+ * <li>{@link #mightContain(Object)}: Checks if an item may have been recorded.</li>
+ * <li>{@link #recordFalsePositive()}: Reports that a positive answer was wrong.</li>
+ * <li>{@link #clear()}: Forgets every item.</li>
+ * </ul>
+ */
+public class CountingBloomFilter {
+
+    /**
+     * Number of bits of a counter.
+     */
+    private static final int COUNTER_BITS = 4;
+    /**
+     * Number of counters packed in a long.
+     */
+    private static final int COUNTERS_PER_WORD = Long.SIZE / COUNTER_BITS;
+    /**
+     * Largest value of a counter, at which it sticks.
+     */
+    private static final long MAX_COUNT = (1L << COUNTER_BITS) - 1;
+
+    /**
+     * Packed counters.
+     */
+    private final long[] words;
+    /**
+     * Number of counters, m.
+     */
+    private final int counterCount;
+    /**
+     * Number of counters per item, k.
+     */
+    private final int hashCount;
+    /**
+     * Number of membership queries.
+     */
+    private long queries;
+    /**
+     * Number of queries answered as absent.
+     */
+    private long negatives;
+    /**
+     * Number of positive answers reported as wrong.
+     */
+    private long falsePositives;
+
+    /**
+     * Constructor to create a filter sized for a number of items and a false-positive rate.
+     * <p>
+     * Uses the optimal sizes {@code m = -n ln p / (ln 2)^2} and {@code k = (m / n) ln 2}.
+     * </p>
+     * @param expectedItems The number of items the filter is expected to hold.
+     * @param falsePositiveRate The target probability of a wrong positive answer.
+     * @throws IllegalArgumentException if expectedItems is not positive or the rate is
+     *                                  not strictly between 0 and 1.
+     */
+    public CountingBloomFilter(int expectedItems, double falsePositiveRate) {
+        if (expectedItems <= 0)
+            throw new IllegalArgumentException("Expected items must be positive");
+        if (!(falsePositiveRate > 0 && falsePositiveRate < 1))
+            throw new IllegalArgumentException("False-positive rate must be between 0 and 1");
+
+        double ln2 = Math.log(2);
+        double m = Math.ceil(-expectedItems * Math.log(falsePositiveRate) / (ln2 * ln2));
+        this.counterCount = (int) Math.min(Math.max(m, COUNTERS_PER_WORD), Integer.MAX_VALUE - COUNTERS_PER_WORD);
+        this.hashCount = Math.max(1, (int) Math.round((double) counterCount / expectedItems * ln2));
+        this.words = new long[(counterCount + COUNTERS_PER_WORD - 1) / COUNTERS_PER_WORD];
+    }
+
+    /**
+     * Records an item.
+     * @param item The item, possibly null.
+     */
+    public void add(Object item) {
+        int h1 = hash(item);
+        int h2 = secondHash(h1);
+        for (int i = 0; i < hashCount; i++) {
+            int index = index(h1, h2, i);
+            if (counter(index) < MAX_COUNT)
+                addToCounter(index, 1);
+        }
+    }
+
+    /**
+     * Forgets an item previously recorded with {@link #add(Object)}.
+     * @param item The item, possibly null.
+     */
+    public void remove(Object item) {
+        int h1 = hash(item);
+        int h2 = secondHash(h1);
+        for (int i = 0; i < hashCount; i++) {
+            int index = index(h1, h2, i);
+            long count = counter(index);
+            if (count > 0 && count < MAX_COUNT)
+                addToCounter(index, -1);
+        }
+    }
+
+    /**
+     * Checks if an item may have been recorded, counting the query in the metrics.
+     * @param item The item, possibly null.
+     * @return false if the item was definitely not recorded, true if it may have been.
+     */
+    public boolean mightContain(Object item) {
+        queries++;
+        int h1 = hash(item);
+        int h2 = secondHash(h1);
+        for (int i = 0; i < hashCount; i++) {
+            if (counter(index(h1, h2, i)) == 0) {
+                negatives++;
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Reports that the last positive answer was wrong, i.e. the scan it allowed found nothing.
+     */
+    public void recordFalsePositive() {
+        falsePositives++;
+    }
+
+    /**
+     * Forgets every item. The metrics are kept.
+     */
+    public void clear() {
+        Arrays.fill(words, 0L);
+    }
+
+    /**
+     * Returns the number of membership queries.
+     * @return the number of calls to {@link #mightContain(Object)}.
+     */
+    public long queries() {
+        return queries;
+    }
+
+    /**
+     * Returns the number of queries answered as absent without a scan.
+     * @return the number of negative answers.
+     */
+    public long negatives() {
+        return negatives;
+    }
+
+    /**
+     * Returns the number of positive answers reported as wrong.
+     * @return the number of false positives.
+     */
+    public long falsePositives() {
+        return falsePositives;
+    }
+
+    /**
+     * Returns the observed false-positive rate: the share of absent items the filter
+     * failed to reject.
+     * @return the observed rate, or 0 if no absent item was queried.
+     */
+    public double observedFalsePositiveRate() {
+        long absent = negatives + falsePositives;
+        return (absent == 0) ? 0 : (double) falsePositives / absent;
+    }
+
+    /**
+     * Returns the number of counters.
+     * @return m, the number of counters.
+     */
+    public int counterCount() {
+        return counterCount;
+    }
+
+    /**
+     * Returns the number of counters updated per item.
+     * @return k, the number of hash functions.
+     */
+    public int hashCount() {
+        return hashCount;
+    }
+
+    /**
+     * Returns the memory taken by the counters.
+     * @return the size of the counter array in bytes.
+     */
+    public long sizeInBytes() {
+        return (long) words.length * Long.BYTES;
+    }
+
+    /**
+     * Mixes the hash code of an item with the MurmurHash3 finalizer, since hash codes
+     * such as those of small integers are far from uniform.
+     * @param item The item, possibly null.
+     * @return the mixed hash.
+     */
+    private static int hash(Object item) {
+        int h = Objects.hashCode(item);
+        h ^= h >>> 16;
+        h *= 0x85ebca6b;
+        h ^= h >>> 13;
+        h *= 0xc2b2ae35;
+        h ^= h >>> 16;
+        return h;
+    }
+
+    /**
+     * Derives a second, odd hash for double hashing.
+     * @param h1 The first hash.
+     * @return the second hash.
+     */
+    private static int secondHash(int h1) {
+        int h = h1 * 0x9e3779b9;
+        return (h ^ (h >>> 15)) | 1;
+    }
+
+    /**
+     * Returns the counter of the ith hash function, {@code (h1 + i * h2) mod m}.
+     * @param h1 The first hash.
+     * @param h2 The second hash.
+     * @param i The index of the hash function.
+     * @return the index of the counter.
+     */
+    private int index(int h1, int h2, int i) {
+        long combined = (h1 & 0xffffffffL) + (long) i * (h2 & 0xffffffffL);
+        return (int) (combined % counterCount);
+    }
+
+    /**
+     * Returns the value of a counter.
+     * @param index The index of the counter.
+     * @return the counter value.
+     */
+    private long counter(int index) {
+        int shift = (index % COUNTERS_PER_WORD) * COUNTER_BITS;
+        return (words[index / COUNTERS_PER_WORD] >>> shift) & MAX_COUNT;
+    }
+
+    /**
+     * Adds a delta to a counter, which must stay within its range.
+     * @param index The index of the counter.
+     * @param delta The value to add, 1 or -1.
+     */
+    private void addToCounter(int index, long delta) {
+        int shift = (index % COUNTERS_PER_WORD) * COUNTER_BITS;
+        words[index / COUNTERS_PER_WORD] += delta << shift;
+    }
+}
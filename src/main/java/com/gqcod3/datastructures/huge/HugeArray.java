@@ -0,0 +1,386 @@
+package com.gqcod3.datastructures.huge;
+
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.function.Consumer;
+
+/**
+ * Chunked storage shared by the huge structures
+ * <p>
+ * Elements live in fixed-size {@code Object[]} chunks whose number of elements is a
+ * power of two, so a long position splits into a chunk and an offset with a shift and
+ * a mask. The chunks are referenced from a directory used as a ring, which lets both
+ * ends grow and shrink one chunk at a time: appending or removing at either end is
+ * O(1), and no array ever holds more than one chunk of elements, so the size is only
+ * bounded by the heap. The directory itself holds one reference per chunk and doubles
+ * when full.
+ * </p>
+ *
+ * <p>
+ * Removed slots are nulled so the storage does not retain elements; a chunk emptied at
+ * either end is kept as a spare for the next chunk needed.
+ * </p>
+ */
+final class HugeArray {
+    /**
+     * Elements per chunk used when none is given
+     */
+    static final int DEFAULT_CHUNK_SIZE = 1 << 16;
+    /**
+     * Initial length of the directory
+     */
+    private static final int INITIAL_DIRECTORY = 16;
+
+    /*
+     * Chunks in use, from (first) to (first + chunks - 1) modulo the length
+     */
+    private Object[][] directory = new Object[INITIAL_DIRECTORY][];
+    /*
+     * Directory index of the first chunk
+     */
+    private int first;
+    /*
+     * Number of chunks in use
+     */
+    private int chunks;
+    /*
+     * Offset of the first element in the first chunk
+     */
+    private int offset;
+    /*
+     * Number of elements
+     */
+    private long size;
+    /*
+     * Empty chunk kept for reuse, or null
+     */
+    private Object[] spare;
+    /*
+     * log2 of the chunk size, and chunk size - 1
+     */
+    private final int shift;
+    private final int mask;
+    /*
+     * Number of structural modifications, used by iterators to fail fast
+     */
+    int modCount;
+
+    HugeArray(int chunkSize) {
+        if (chunkSize <= 0 || Integer.bitCount(chunkSize) != 1)
+            throw new IllegalArgumentException("Chunk size must be a positive power of two");
+        shift = Integer.numberOfTrailingZeros(chunkSize);
+        mask = chunkSize - 1;
+    }
+
+    long size() {
+        return size;
+    }
+
+    /**
+     * Element at a position; the caller checks the bounds
+     *
+     * @param index Position of the element (0-based index)
+     * @return the element
+     */
+    Object get(long index) {
+        long p = offset + index;
+        return chunk((int) (p >>> shift))[(int) p & mask];
+    }
+
+    /**
+     * Replace the element at a position; the caller checks the bounds
+     *
+     * @param index Position of the element (0-based index)
+     * @param element New element
+     * @return the replaced element
+     */
+    Object set(long index, Object element) {
+        long p = offset + index;
+        Object[] chunk = chunk((int) (p >>> shift));
+        Object old = chunk[(int) p & mask];
+        chunk[(int) p & mask] = element;
+        return old;
+    }
+
+    void addLast(Object element) {
+        long end = offset + size;
+        int k = (int) (end >>> shift);
+        if (k == chunks)
+            appendChunk();
+        chunk(k)[(int) end & mask] = element;
+        size++;
+        modCount++;
+    }
+
+    void addFirst(Object element) {
+        if (offset == 0) {
+            prependChunk();
+            offset = mask + 1;
+        }
+        chunk(0)[--offset] = element;
+        size++;
+        modCount++;
+    }
+
+    /**
+     * Remove the first element; the caller checks that there is one
+     *
+     * @return the removed element
+     */
+    Object removeFirst() {
+        Object[] chunk = chunk(0);
+        Object element = chunk[offset];
+        chunk[offset++] = null;
+        size--;
+        modCount++;
+        if (offset > mask) {
+            releaseFirst();
+            offset = 0;
+        }
+        return element;
+    }
+
+    /**
+     * Remove the last element; the caller checks that there is one
+     *
+     * @return the removed element
+     */
+    Object removeLast() {
+        long end = offset + size - 1;
+        Object[] chunk = chunk((int) (end >>> shift));
+        Object element = chunk[(int) end & mask];
+        chunk[(int) end & mask] = null;
+        size--;
+        modCount++;
+        if (((int) end & mask) == 0)
+            releaseLast();
+        return element;
+    }
+
+    /**
+     * Insert an element before a position, shifting the elements on the shorter side
+     * with one bulk copy per chunk
+     *
+     * @param index Position to insert at (0-based index), at most the size
+     * @param element Element to insert
+     */
+    void insert(long index, Object element) {
+        if (index < size / 2) {
+            addFirst(null);
+            copy(1, 0, index);
+        } else {
+            addLast(null);
+            copy(index, index + 1, size - 1 - index);
+        }
+        set(index, element);
+    }
+
+    /**
+     * Remove the element at a position, shifting the elements on the shorter side
+     *
+     * @param index Position of the element (0-based index)
+     * @return the removed element
+     */
+    Object remove(long index) {
+        Object element = get(index);
+        if (index < size / 2) {
+            copy(0, 1, index);
+            removeFirst();
+        } else {
+            copy(index + 1, index, size - 1 - index);
+            removeLast();
+        }
+        return element;
+    }
+
+    /**
+     * Position of the first element equal to an object, at or after a position
+     *
+     * @param element Element to search for, possibly null
+     * @param from Position to start from (0-based index)
+     * @return the position of the element, or -1 if it is not found
+     */
+    long indexOf(Object element, long from) {
+        long index = Math.max(from, 0);
+        while (index < size) {
+            long p = offset + index;
+            Object[] chunk = chunk((int) (p >>> shift));
+            int start = (int) p & mask;
+            int end = (int) Math.min(mask + 1, start + (size - index));
+            for (int i = start; i < end; i++) {
+                if (element == null ? chunk[i] == null : element.equals(chunk[i]))
+                    return index + (i - start);
+            }
+            index += end - start;
+        }
+        return -1;
+    }
+
+    /**
+     * Perform an action on each element, scanning the chunks directly
+     *
+     * @param action Action to perform on each element
+     * @param descending Whether to go from the last element to the first
+     */
+    @SuppressWarnings("unchecked")
+    <T> void forEach(Consumer<? super T> action, boolean descending) {
+        int expectedModCount = modCount;
+        if (!descending) {
+            for (long index = 0; index < size; ) {
+                long p = offset + index;
+                Object[] chunk = chunk((int) (p >>> shift));
+                int start = (int) p & mask;
+                int end = (int) Math.min(mask + 1, start + (size - index));
+                for (int i = start; i < end; i++) {
+                    action.accept((T) chunk[i]);
+                }
+                index += end - start;
+            }
+        } else {
+            for (long index = size - 1; index >= 0; ) {
+                long p = offset + index;
+                Object[] chunk = chunk((int) (p >>> shift));
+                int last = (int) p & mask;
+                int start = (int) Math.max(0, last - index);
+                for (int i = last; i >= start; i--) {
+                    action.accept((T) chunk[i]);
+                }
+                index -= last - start + 1;
+            }
+        }
+        if (modCount != expectedModCount)
+            throw new ConcurrentModificationException();
+    }
+
+    /**
+     * Fail-fast iterator over the elements
+     *
+     * @param descending Whether to go from the last element to the first
+     * @return an iterator over the elements
+     */
+    <T> Iterator<T> iterator(boolean descending) {
+        return new Iterator<T>() {
+            long next = descending ? size - 1 : 0;
+            final int expectedModCount = modCount;
+
+            public boolean hasNext() {
+                return descending ? next >= 0 : next < size;
+            }
+
+            @SuppressWarnings("unchecked")
+            public T next() {
+                if (modCount != expectedModCount)
+                    throw new ConcurrentModificationException();
+                if (!hasNext())
+                    throw new NoSuchElementException();
+                T element = (T) get(next);
+                next += descending ? -1 : 1;
+                return element;
+            }
+        };
+    }
+
+    /**
+     * Remove every element, releasing all the chunks
+     */
+    void clear() {
+        directory = new Object[INITIAL_DIRECTORY][];
+        first = 0;
+        chunks = 0;
+        offset = 0;
+        size = 0;
+        spare = null;
+        modCount++;
+    }
+
+    /**
+     * Move a range of elements to another position, one arraycopy per piece of chunk.
+     * Overlapping ranges are copied in the direction that does not overwrite the source
+     *
+     * @param from Position of the first element to move
+     * @param to Position to move it to
+     * @param count Number of elements to move
+     */
+    private void copy(long from, long to, long count) {
+        if (to < from) {
+            while (count > 0) {
+                long sp = offset + from;
+                long dp = offset + to;
+                int si = (int) sp & mask;
+                int di = (int) dp & mask;
+                int n = (int) Math.min(count, (mask + 1) - Math.max(si, di));
+                System.arraycopy(chunk((int) (sp >>> shift)), si, chunk((int) (dp >>> shift)), di, n);
+                from += n;
+                to += n;
+                count -= n;
+            }
+        } else if (to > from) {
+            long sEnd = offset + from + count;
+            long dEnd = offset + to + count;
+            while (count > 0) {
+                int si = ((int) (sEnd - 1) & mask) + 1;
+                int di = ((int) (dEnd - 1) & mask) + 1;
+                int n = (int) Math.min(count, Math.min(si, di));
+                System.arraycopy(chunk((int) ((sEnd - 1) >>> shift)), si - n,
+                        chunk((int) ((dEnd - 1) >>> shift)), di - n, n);
+                sEnd -= n;
+                dEnd -= n;
+                count -= n;
+            }
+        }
+    }
+
+    private Object[] chunk(int k) {
+        return directory[(first + k) & (directory.length - 1)];
+    }
+
+    private Object[] newChunk() {
+        Object[] chunk = (spare != null) ? spare : new Object[mask + 1];
+        spare = null;
+        return chunk;
+    }
+
+    private void appendChunk() {
+        ensureDirectory();
+        directory[(first + chunks) & (directory.length - 1)] = newChunk();
+        chunks++;
+    }
+
+    private void prependChunk() {
+        ensureDirectory();
+        first = (first - 1) & (directory.length - 1);
+        directory[first] = newChunk();
+        chunks++;
+    }
+
+    private void releaseFirst() {
+        spare = directory[first];
+        directory[first] = null;
+        first = (first + 1) & (directory.length - 1);
+        chunks--;
+    }
+
+    private void releaseLast() {
+        int last = (first + chunks - 1) & (directory.length - 1);
+        spare = directory[last];
+        directory[last] = null;
+        chunks--;
+    }
+
+    /**
+     * Double the directory when every entry holds a chunk, unwrapping the ring
+     */
+    private void ensureDirectory() {
+        if (chunks < directory.length)
+            return;
+        if (directory.length >= 1 << 30)
+            throw new IllegalStateException("Capacity exceeded");
+        Object[][] grown = new Object[directory.length << 1][];
+        for (int k = 0; k < chunks; k++) {
+            grown[k] = chunk(k);
+        }
+        directory = grown;
+        first = 0;
+    }
+}
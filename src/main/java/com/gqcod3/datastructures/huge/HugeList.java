@@ -0,0 +1,272 @@
+package com.gqcod3.datastructures.huge;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.function.Consumer;
+
+/**
+ * Long-indexed list implementation in Java
+ * <p>
+ * Offers the list API of {@link com.gqcod3.datastructures.lists.doubly.DoublyLinkedList}
+ * with long sizes and positions, so a single list can hold more than
+ * {@link Integer#MAX_VALUE} items. Items are stored in fixed-size chunks (see
+ * {@link HugeArray}): adding or removing at either end is O(1), {@link #get(long)} and
+ * {@link #set(long, Object)} are O(1), and inserting or removing in the middle shifts
+ * the items on the shorter side with bulk copies.
+ * </p>
+ *
+ * <p>
+ * Since {@link java.util.Collection#size()} returns an int, the list is only
+ * {@link Iterable}. Iterators are fail-fast.
+ * </p>
+ *
+ * @param <T> Type of items in the list
+ */
+public class HugeList<T> implements Iterable<T> {
+    /*
+     * Chunked storage of the items
+     */
+    private final HugeArray items;
+
+    /**
+     * Constructor to create an empty list with chunks of 65536 items
+     */
+    public HugeList() {
+        this(HugeArray.DEFAULT_CHUNK_SIZE);
+    }
+
+    /**
+     * Constructor to create an empty list
+     *
+     * @param chunkSize Number of items per chunk, a power of two
+     * @throws IllegalArgumentException if the chunk size is not a positive power of two
+     */
+    public HugeList(int chunkSize) {
+        items = new HugeArray(chunkSize);
+    }
+
+    /**
+     * Check if the list is empty
+     *
+     * @return true if the list is empty, false otherwise
+     */
+    public boolean isEmpty() {
+        return items.size() == 0;
+    }
+
+    /**
+     * Current size of the list
+     *
+     * @return size of the list
+     */
+    public long size() {
+        return items.size();
+    }
+
+    /**
+     * Add an item to the end of the list
+     *
+     * @param item Item to add
+     * @return true if the item was added successfully
+     */
+    public boolean pushBack(T item) {
+        items.addLast(item);
+        return true;
+    }
+
+    /**
+     * Add an item to the front of the list
+     *
+     * @param item Item to add
+     * @return true if the item was added successfully
+     */
+    public boolean pushFront(T item) {
+        items.addFirst(item);
+        return true;
+    }
+
+    /**
+     * Insert an item at a specific position in the list
+     *
+     * @param item Item to insert
+     * @param pos Position to insert the item
+     * @return true if the item was inserted successfully, false otherwise
+     */
+    public boolean insertAt(T item, long pos) {
+        if (pos < 0 || pos > size())
+            return false;
+        items.insert(pos, item);
+        return true;
+    }
+
+    /**
+     * Remove an item to the end of the list
+     *
+     * @return true if the item was deleted, false otherwise
+     */
+    public boolean popBack() {
+        if (isEmpty())
+            return false;
+        items.removeLast();
+        return true;
+    }
+
+    /**
+     * Remove an item to the front of the list
+     *
+     * @return true if the item was deleted, false otherwise
+     */
+    public boolean popFront() {
+        if (isEmpty())
+            return false;
+        items.removeFirst();
+        return true;
+    }
+
+    /**
+     * Remove an item at a specific position in the list
+     *
+     * @param pos Position of the item to remove
+     * @return true if the item was removed successfully, false otherwise
+     */
+    public boolean removeAt(long pos) {
+        if (pos < 0 || pos >= size())
+            return false;
+        items.remove(pos);
+        return true;
+    }
+
+    /**
+     * Item at a specific position in the list
+     *
+     * @param index Position of the item (0-based index)
+     * @return the item
+     */
+    @SuppressWarnings("unchecked")
+    public T get(long index) {
+        checkElementIndex(index);
+        return (T) items.get(index);
+    }
+
+    /**
+     * Replace the item at a specific position in the list
+     *
+     * @param index Position of the item (0-based index)
+     * @param item New item
+     * @return the replaced item
+     */
+    @SuppressWarnings("unchecked")
+    public T set(long index, T item) {
+        checkElementIndex(index);
+        return (T) items.set(index, item);
+    }
+
+    /**
+     * Remove and return the item at a specific position in the list
+     *
+     * @param index Position of the item (0-based index)
+     * @return the removed item
+     */
+    @SuppressWarnings("unchecked")
+    public T remove(long index) {
+        checkElementIndex(index);
+        return (T) items.remove(index);
+    }
+
+    /**
+     * First item of the list
+     *
+     * @return the first item
+     * @throws NoSuchElementException if the list is empty
+     */
+    public T getFirst() {
+        if (isEmpty())
+            throw new NoSuchElementException();
+        return get(0);
+    }
+
+    /**
+     * Last item of the list
+     *
+     * @return the last item
+     * @throws NoSuchElementException if the list is empty
+     */
+    public T getLast() {
+        if (isEmpty())
+            throw new NoSuchElementException();
+        return get(size() - 1);
+    }
+
+    /**
+     * Search for an item in the list
+     *
+     * @param item Item to search for
+     * @return The item if found, null otherwise
+     */
+    @SuppressWarnings("unchecked")
+    public T search(T item) {
+        long index = items.indexOf(item, 0);
+        return (index < 0) ? null : (T) items.get(index);
+    }
+
+    /**
+     * Check if an item is in the list
+     *
+     * @param item Item to search for
+     * @return true if the list holds an equal item, false otherwise
+     */
+    public boolean contains(Object item) {
+        return items.indexOf(item, 0) >= 0;
+    }
+
+    /**
+     * Position of the first occurrence of an item
+     *
+     * @param item Item to search for
+     * @return the position of the item (0-based index), or -1 if it is not in the list
+     */
+    public long indexOf(Object item) {
+        return items.indexOf(item, 0);
+    }
+
+    /**
+     * Remove all items from the list, releasing the chunks
+     */
+    public void clear() {
+        items.clear();
+    }
+
+    /**
+     * Perform the given action on each item from head to tail, scanning the chunks directly
+     *
+     * @param action Action to perform on each item
+     */
+    @Override
+    public void forEach(Consumer<? super T> action) {
+        items.forEach(action, false);
+    }
+
+    /**
+     * Fail-fast iterator over the items of the list, from head to tail
+     *
+     * @return an iterator over the items
+     */
+    @Override
+    public Iterator<T> iterator() {
+        return items.iterator(false);
+    }
+
+    /**
+     * Fail-fast iterator over the items of the list, from tail to head
+     *
+     * @return an iterator over the items in reverse order
+     */
+    public Iterator<T> descendingIterator() {
+        return items.iterator(true);
+    }
+
+    private void checkElementIndex(long index) {
+        if (index < 0 || index >= size())
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size());
+    }
+}
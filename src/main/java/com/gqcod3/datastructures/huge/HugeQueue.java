@@ -0,0 +1,175 @@
+package com.gqcod3.datastructures.huge;
+
+import java.util.Iterator;
+import java.util.function.Consumer;
+
+/**
+ * Huge Queue
+ * <p>
+ * Implementation of a FIFO queue with a long size, so a single queue can hold more
+ * than {@link Integer#MAX_VALUE} elements. Elements are stored in fixed-size chunks
+ * (see {@link HugeArray}); a chunk emptied at the front is kept as a spare for the
+ * rear, so a queue in steady state does not allocate. It offers the API of
+ * {@link com.gqcod3.datastructures.queue.LinkedQueue} with long counts; since
+ * {@link java.util.Collection#size()} returns an int, it is only {@link Iterable}.
+ * </p>
+ *
+ * <ul>
+ *  <li>{@link #enqueue(Object)}: Adds an element to the rear of the queue.</li>
+ *  <li>{@link #dequeue()}: Removes and returns the front element of the queue.</li>
+ *  <li>{@link #poll()}: Removes and returns the front element, or null if the queue is empty.</li>
+ *  <li>{@link #peek()}: Returns the front element without removing it, or null if the queue is empty.</li>
+ *  <li>{@link #drain(Consumer, long)}: Removes up to max elements, passing each to an action.</li>
+ *  <li>{@link #isEmpty()}: Checks if the queue is empty.</li>
+ *  <li>{@link #size()}: Returns the number of elements in the queue.</li>
+ *  <li>{@link #clear()}: Removes all elements from the queue.</li>
+ *  <li>{@link #contains(Object)}: Checks if a specific element is in the queue.</li>
+ *  <li>{@link #iterator()}: Returns a fail-fast iterator from front to rear.</li>
+ * </ul>
+ */
+public class HugeQueue<T> implements Iterable<T> {
+
+    /**
+     * Chunked storage of the elements, front first.
+     */
+    private final HugeArray elements;
+
+    /**
+     * Constructor to initialize an empty queue with chunks of 65536 elements.
+     */
+    public HugeQueue() {
+        this(HugeArray.DEFAULT_CHUNK_SIZE);
+    }
+
+    /**
+     * Constructor to initialize an empty queue.
+     * @param chunkSize The number of elements per chunk, a power of two.
+     * @throws IllegalArgumentException if the chunk size is not a positive power of two.
+     */
+    public HugeQueue(int chunkSize) {
+        this.elements = new HugeArray(chunkSize);
+    }
+
+    /**
+     * Checks if the queue is empty.
+     * @return true if the queue is empty, false otherwise.
+     */
+    public boolean isEmpty() {
+        return elements.size() == 0;
+    }
+
+    /**
+     * Returns the number of elements in the queue.
+     * @return the size of the queue.
+     */
+    public long size() {
+        return elements.size();
+    }
+
+    /**
+     * Clears the queue by removing all elements and releasing the chunks.
+     */
+    public void clear() {
+        elements.clear();
+    }
+
+    /**
+     * Adds an element to the rear of the queue.
+     * @param element The element to be added.
+     * @return true if the element was added successfully.
+     */
+    public boolean enqueue(T element) {
+        elements.addLast(element);
+        return true;
+    }
+
+    /**
+     * Adds an element to the rear of the queue.
+     * @param element The element to be added.
+     * @return true if the element was added successfully.
+     */
+    public boolean offer(T element) {
+        return enqueue(element);
+    }
+
+    /**
+     * Removes and returns the front element of the queue.
+     * @return the front element of the queue.
+     * @throws IllegalStateException if the queue is empty.
+     */
+    @SuppressWarnings("unchecked")
+    public T dequeue() {
+        if (isEmpty())
+            throw new IllegalStateException("Queue is empty");
+
+        return (T) elements.removeFirst();
+    }
+
+    /**
+     * Removes and returns the front element of the queue.
+     * @return the front element, or null if the queue is empty.
+     */
+    public T poll() {
+        return isEmpty() ? null : dequeue();
+    }
+
+    /**
+     * Returns the front element of the queue without removing it.
+     * @return the front element, or null if the queue is empty.
+     */
+    @SuppressWarnings("unchecked")
+    public T peek() {
+        return isEmpty() ? null : (T) elements.get(0);
+    }
+
+    /**
+     * Removes up to max elements from the front of the queue, passing each to an action.
+     * <p>
+     * Every element is removed before the action receives it, so the action may poll or
+     * enqueue on this queue; elements it adds are drained too while max is not reached.
+     * </p>
+     * @param action The action to perform on each removed element, in queue order.
+     * @param max The maximum number of elements to remove.
+     * @return the number of elements removed.
+     * @throws IllegalArgumentException if max is negative.
+     */
+    @SuppressWarnings("unchecked")
+    public long drain(Consumer<? super T> action, long max) {
+        if (max < 0)
+            throw new IllegalArgumentException("Count must not be negative");
+
+        long count = 0;
+        while (count < max && !isEmpty()) {
+            count++;
+            action.accept((T) elements.removeFirst());
+        }
+        return count;
+    }
+
+    /**
+     * Checks if a specific element is in the queue.
+     * @param element The element to check for.
+     * @return true if the element is found, false otherwise.
+     */
+    public boolean contains(Object element) {
+        return elements.indexOf(element, 0) >= 0;
+    }
+
+    /**
+     * Performs the given action on each element from front to rear, scanning the chunks directly.
+     * @param action The action to perform on each element.
+     */
+    @Override
+    public void forEach(Consumer<? super T> action) {
+        elements.forEach(action, false);
+    }
+
+    /**
+     * Returns a fail-fast iterator over the queue elements from front to rear.
+     * @return an iterator over the elements of the queue.
+     */
+    @Override
+    public Iterator<T> iterator() {
+        return elements.iterator(false);
+    }
+}
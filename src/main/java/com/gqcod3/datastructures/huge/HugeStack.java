@@ -0,0 +1,136 @@
+package com.gqcod3.datastructures.huge;
+
+import java.util.Iterator;
+import java.util.function.Consumer;
+
+/**
+ * Huge Stack
+ * <p>
+ * Implementation of a LIFO stack with a long size, so a single stack can hold more
+ * than {@link Integer#MAX_VALUE} elements. Elements are stored in fixed-size chunks
+ * (see {@link HugeArray}), like {@link com.gqcod3.datastructures.stack.ChunkedArrayStack}
+ * but indexed through a directory rather than linked, and the chunk emptied by a pop is
+ * kept as a spare for the next push. Since {@link java.util.Collection#size()} returns
+ * an int, the stack is only {@link Iterable}.
+ * </p>
+ *
+ * <ul>
+ *  <li>{@link #push(Object)}: Adds an element to the top of the stack.</li>
+ *  <li>{@link #pop()}: Removes and returns the top element of the stack.</li>
+ *  <li>{@link #peek()}: Returns the top element without removing it.</li>
+ *  <li>{@link #isEmpty()}: Checks if the stack is empty.</li>
+ *  <li>{@link #size()}: Returns the number of elements in the stack.</li>
+ *  <li>{@link #clear()}: Removes all elements from the stack.</li>
+ *  <li>{@link #contains(Object)}: Checks if a specific element is in the stack.</li>
+ *  <li>{@link #iterator()}: Returns a fail-fast iterator from top to bottom.</li>
+ * </ul>
+ */
+public class HugeStack<T> implements Iterable<T> {
+
+    /**
+     * Chunked storage of the elements, bottom first.
+     */
+    private final HugeArray elements;
+
+    /**
+     * Constructor to initialize an empty stack with chunks of 65536 elements.
+     */
+    public HugeStack() {
+        this(HugeArray.DEFAULT_CHUNK_SIZE);
+    }
+
+    /**
+     * Constructor to initialize an empty stack.
+     * @param chunkSize The number of elements per chunk, a power of two.
+     * @throws IllegalArgumentException if the chunk size is not a positive power of two.
+     */
+    public HugeStack(int chunkSize) {
+        this.elements = new HugeArray(chunkSize);
+    }
+
+    /**
+     * Checks if the stack is empty.
+     * @return true if the stack is empty, false otherwise.
+     */
+    public boolean isEmpty() {
+        return elements.size() == 0;
+    }
+
+    /**
+     * Returns the number of elements in the stack.
+     * @return the size of the stack.
+     */
+    public long size() {
+        return elements.size();
+    }
+
+    /**
+     * Clears the stack by removing all elements and releasing the chunks.
+     */
+    public void clear() {
+        elements.clear();
+    }
+
+    /**
+     * Pushes an element onto the top of the stack.
+     * @param element The element to be pushed onto the stack.
+     * @return true if the element was added successfully.
+     */
+    public boolean push(T element) {
+        elements.addLast(element);
+        return true;
+    }
+
+    /**
+     * Removes and returns the top element of the stack.
+     * @return the top element of the stack.
+     * @throws IllegalStateException if the stack is empty.
+     */
+    @SuppressWarnings("unchecked")
+    public T pop() {
+        if (isEmpty())
+            throw new IllegalStateException("Stack is empty");
+
+        return (T) elements.removeLast();
+    }
+
+    /**
+     * Returns the top element of the stack without removing it.
+     * @return the top element of the stack.
+     * @throws IllegalStateException if the stack is empty.
+     */
+    @SuppressWarnings("unchecked")
+    public T peek() {
+        if (isEmpty())
+            throw new IllegalStateException("Stack is empty");
+
+        return (T) elements.get(elements.size() - 1);
+    }
+
+    /**
+     * Checks if a specific element is in the stack.
+     * @param element The element to check for.
+     * @return true if the element is found, false otherwise.
+     */
+    public boolean contains(Object element) {
+        return elements.indexOf(element, 0) >= 0;
+    }
+
+    /**
+     * Performs the given action on each element from top to bottom, scanning the chunks directly.
+     * @param action The action to perform on each element.
+     */
+    @Override
+    public void forEach(Consumer<? super T> action) {
+        elements.forEach(action, true);
+    }
+
+    /**
+     * Returns a fail-fast iterator over the stack elements from top to bottom.
+     * @return an iterator over the elements of the stack.
+     */
+    @Override
+    public Iterator<T> iterator() {
+        return elements.iterator(true);
+    }
+}
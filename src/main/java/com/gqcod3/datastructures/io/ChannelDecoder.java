@@ -0,0 +1,425 @@
+package com.gqcod3.datastructures.io;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.StreamCorruptedException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.DoubleBuffer;
+import java.nio.IntBuffer;
+import java.nio.LongBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.util.function.BiConsumer;
+import java.util.function.Supplier;
+
+import com.gqcod3.datastructures.lists.circular.CircularDoublyLinkedList;
+import com.gqcod3.datastructures.lists.circular.CircularSinglyLinkedList;
+import com.gqcod3.datastructures.lists.doubly.DoublyLinkedList;
+import com.gqcod3.datastructures.lists.singly.SinglyLinkedList;
+import com.gqcod3.datastructures.queue.LinkedQueue;
+import com.gqcod3.datastructures.stack.LinkedStack;
+
+/**
+ * Channel Decoder
+ * <p>
+ * Reads structures written by {@link ChannelEncoder} from a {@link ReadableByteChannel},
+ * staging bytes in a single reusable direct buffer. Decoded elements are linked
+ * straight into a chain through the {@code load} method of the target structure,
+ * which attaches the chain only once every element was read.
+ * </p>
+ *
+ * <p>
+ * Elements of {@link ElementCodec#INT}, {@link ElementCodec#LONG} and
+ * {@link ElementCodec#DOUBLE} bypass the codec: they are read through a typed view of
+ * the buffer, which is only refilled once the view is used up. The structures hold
+ * boxed elements, so each element is still boxed and linked into a new node, which
+ * bounds decoding well below the multi-GB/s of a primitive array.
+ * </p>
+ *
+ * <p>
+ * The decoder may read ahead of the structure it is decoding and keeps those bytes
+ * for the next {@code readInto} call, so consecutive structures on one channel must be
+ * read through the same decoder. A decoder is not thread-safe.
+ * </p>
+ */
+public class ChannelDecoder {
+
+    /**
+     * Channel supplying the encoded bytes.
+     */
+    private final ReadableByteChannel channel;
+    /**
+     * Reusable staging buffer, always in read mode.
+     */
+    private final ByteBuffer buffer;
+
+    /**
+     * Constructor to create a decoder with the default buffer size.
+     * @param channel The channel to read from.
+     */
+    public ChannelDecoder(ReadableByteChannel channel) {
+        this(channel, ChannelEncoder.DEFAULT_BUFFER_SIZE);
+    }
+
+    /**
+     * Constructor to create a decoder.
+     * @param channel The channel to read from.
+     * @param bufferSize The size of the staging buffer in bytes.
+     * @throws IllegalArgumentException if the buffer cannot hold a header.
+     */
+    public ChannelDecoder(ReadableByteChannel channel, int bufferSize) {
+        if (bufferSize < 2 * Integer.BYTES)
+            throw new IllegalArgumentException("Buffer size must be at least 8 bytes");
+        this.channel = channel;
+        this.buffer = ByteBuffer.allocateDirect(bufferSize);
+        this.buffer.limit(0);
+    }
+
+    /**
+     * Reads the next structure from the channel and appends its elements to a list.
+     * @param target The list receiving the elements.
+     * @param codec The codec of the elements.
+     * @return the target list.
+     * @throws IOException if the channel fails or the data is malformed.
+     * @throws IllegalArgumentException if fixed-size elements are larger than the buffer.
+     */
+    public <T> SinglyLinkedList<T> readInto(SinglyLinkedList<T> target, ElementCodec<T> codec) throws IOException {
+        read(target::load, codec);
+        return target;
+    }
+
+    /**
+     * Reads the next structure from the channel and appends its elements to a list.
+     * @param target The list receiving the elements.
+     * @param codec The codec of the elements.
+     * @return the target list.
+     * @throws IOException if the channel fails or the data is malformed.
+     * @throws IllegalArgumentException if fixed-size elements are larger than the buffer.
+     */
+    public <T> DoublyLinkedList<T> readInto(DoublyLinkedList<T> target, ElementCodec<T> codec) throws IOException {
+        read(target::load, codec);
+        return target;
+    }
+
+    /**
+     * Reads the next structure from the channel and appends its elements to a list.
+     * @param target The list receiving the elements.
+     * @param codec The codec of the elements.
+     * @return the target list.
+     * @throws IOException if the channel fails or the data is malformed.
+     * @throws IllegalArgumentException if fixed-size elements are larger than the buffer.
+     */
+    public <T> CircularSinglyLinkedList<T> readInto(CircularSinglyLinkedList<T> target, ElementCodec<T> codec) throws IOException {
+        read(target::load, codec);
+        return target;
+    }
+
+    /**
+     * Reads the next structure from the channel and appends its elements to a list.
+     * @param target The list receiving the elements.
+     * @param codec The codec of the elements.
+     * @return the target list.
+     * @throws IOException if the channel fails or the data is malformed.
+     * @throws IllegalArgumentException if fixed-size elements are larger than the buffer.
+     */
+    public <T> CircularDoublyLinkedList<T> readInto(CircularDoublyLinkedList<T> target, ElementCodec<T> codec) throws IOException {
+        read(target::load, codec);
+        return target;
+    }
+
+    /**
+     * Reads the next structure from the channel and adds its elements to the rear of a queue.
+     * @param target The queue receiving the elements.
+     * @param codec The codec of the elements.
+     * @return the target queue.
+     * @throws IOException if the channel fails or the data is malformed.
+     * @throws IllegalArgumentException if fixed-size elements are larger than the buffer.
+     */
+    public <T> LinkedQueue<T> readInto(LinkedQueue<T> target, ElementCodec<T> codec) throws IOException {
+        read(target::load, codec);
+        return target;
+    }
+
+    /**
+     * Reads the next structure from the channel and adds its elements below the bottom
+     * of a stack, so that decoding into an empty stack restores the encoded one.
+     * @param target The stack receiving the elements.
+     * @param codec The codec of the elements.
+     * @return the target stack.
+     * @throws IOException if the channel fails or the data is malformed.
+     * @throws IllegalArgumentException if fixed-size elements are larger than the buffer.
+     */
+    public <T> LinkedStack<T> readInto(LinkedStack<T> target, ElementCodec<T> codec) throws IOException {
+        read(target::load, codec);
+        return target;
+    }
+
+    /**
+     * Reads the next structure from the channel and passes its elements to a structure.
+     * @param load The {@code load} method of the structure receiving the elements.
+     * @param codec The codec of the elements.
+     * @throws IOException if the channel fails or the data is malformed.
+     * @throws IllegalArgumentException if fixed-size elements are larger than the buffer.
+     */
+    private <T> void read(BiConsumer<Integer, Supplier<T>> load, ElementCodec<T> codec) throws IOException {
+        checkFixedSize(codec);
+        int count = readHeader();
+        try {
+            load.accept(count, elements(codec, count));
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Checks that an element of a fixed-size codec fits in the staging buffer, before
+     * anything is read.
+     * @param codec The codec of the elements.
+     * @throws IllegalArgumentException if the fixed size exceeds the buffer size.
+     */
+    private void checkFixedSize(ElementCodec<?> codec) {
+        if (codec.fixedSize() > buffer.capacity())
+            throw new IllegalArgumentException("Fixed size " + codec.fixedSize()
+                    + " exceeds the buffer size " + buffer.capacity());
+    }
+
+    /**
+     * Reads and checks a structure header.
+     * @return the number of elements of the structure.
+     * @throws IOException if the channel fails or the header is malformed.
+     */
+    private int readHeader() throws IOException {
+        ensureAvailable(2 * Integer.BYTES);
+        if (buffer.getInt() != ChannelEncoder.MAGIC)
+            throw new StreamCorruptedException("Missing structure header");
+        int count = buffer.getInt();
+        if (count < 0)
+            throw new StreamCorruptedException("Negative element count: " + count);
+        return count;
+    }
+
+    /**
+     * Returns a supplier decoding one element per call.
+     * @param codec The codec of the elements.
+     * @param count The number of elements of the structure.
+     * @return the element supplier, throwing {@link UncheckedIOException} on failure.
+     */
+    private <T> Supplier<T> elements(ElementCodec<T> codec, int count) {
+        PrimitiveReader<T> primitive = primitiveReader(codec, count);
+        if (primitive != null)
+            return primitive;
+        int fixedSize = codec.fixedSize();
+        if (fixedSize != ElementCodec.VARIABLE) {
+            return () -> {
+                try {
+                    ensureAvailable(fixedSize);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                return codec.decode(buffer, fixedSize);
+            };
+        }
+        return () -> {
+            try {
+                ensureAvailable(Integer.BYTES);
+                int length = buffer.getInt();
+                if (length < 0)
+                    return null;
+                if (length <= buffer.capacity()) {
+                    ensureAvailable(length);
+                    return codec.decode(buffer, length);
+                }
+                return codec.decode(readLarge(length), length);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        };
+    }
+
+    /**
+     * Returns a reader for the primitive codecs.
+     * @param codec The codec of the elements.
+     * @param count The number of elements of the structure.
+     * @return the reader, or null if the codec is not one of the primitive codecs.
+     */
+    @SuppressWarnings("unchecked")
+    private <T> PrimitiveReader<T> primitiveReader(ElementCodec<T> codec, int count) {
+        if (codec == ElementCodec.INT)
+            return (PrimitiveReader<T>) new IntReader(count);
+        if (codec == ElementCodec.LONG)
+            return (PrimitiveReader<T>) new LongReader(count);
+        if (codec == ElementCodec.DOUBLE)
+            return (PrimitiveReader<T>) new DoubleReader(count);
+        return null;
+    }
+
+    /**
+     * Reads an element larger than the staging buffer into a temporary heap buffer.
+     * <p>
+     * The buffer starts at twice the staging buffer and doubles as bytes arrive, so a
+     * corrupt length ends in an {@link EOFException} rather than a huge allocation.
+     * </p>
+     * @param length The number of bytes of the element.
+     * @return a buffer holding exactly the element bytes.
+     * @throws IOException if the channel ends early or fails.
+     */
+    private ByteBuffer readLarge(int length) throws IOException {
+        ByteBuffer large = ByteBuffer.allocate((int) Math.min(length, 2L * buffer.capacity()));
+        large.put(buffer);
+        while (large.position() < length) {
+            if (!large.hasRemaining())
+                large = ByteBuffer.allocate((int) Math.min(length, 2L * large.capacity())).put(large.flip());
+            if (channel.read(large) < 0)
+                throw new EOFException("Channel ended inside an element");
+        }
+        large.flip();
+        return large;
+    }
+
+    /**
+     * Refills the buffer until it holds at least the given number of unread bytes.
+     * @param bytes The number of bytes about to be read.
+     * @throws IOException if the channel ends early or fails.
+     */
+    private void ensureAvailable(int bytes) throws IOException {
+        if (buffer.remaining() >= bytes)
+            return;
+        buffer.compact();
+        while (buffer.position() < bytes) {
+            if (channel.read(buffer) < 0) {
+                buffer.flip();
+                throw new EOFException("Channel ended inside a structure");
+            }
+        }
+        buffer.flip();
+    }
+
+    /**
+     * Supplier reading the elements of a primitive codec through a typed view of the
+     * buffer. A view never covers more elements than the structure has left, so the
+     * bytes of the next structure stay in the buffer.
+     * @param <T> Type of the boxed elements
+     */
+    private abstract class PrimitiveReader<T> implements Supplier<T> {
+        /**
+         * Encoded size of an element.
+         */
+        private final int elementSize;
+        /**
+         * Number of elements of the structure not covered by a view yet.
+         */
+        private int left;
+        /**
+         * Number of elements taken through the current view.
+         */
+        private int taken;
+        /**
+         * Number of elements the current view covers.
+         */
+        private int room;
+
+        PrimitiveReader(int elementSize, int count) {
+            this.elementSize = elementSize;
+            this.left = count;
+        }
+
+        @Override
+        public T get() {
+            if (taken == room)
+                next();
+            taken++;
+            return take();
+        }
+
+        /**
+         * Opens a view over the next elements held by the buffer, reading from the
+         * channel only if it holds none, and moves the buffer position past them.
+         */
+        private void next() {
+            try {
+                ensureAvailable(elementSize);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            taken = 0;
+            room = Math.min(left, buffer.remaining() / elementSize);
+            left -= room;
+            view();
+            buffer.position(buffer.position() + room * elementSize);
+        }
+
+        /**
+         * Opens a typed view starting at the buffer position.
+         */
+        abstract void view();
+
+        /**
+         * Takes the next element from the current view.
+         * @return the boxed element.
+         */
+        abstract T take();
+    }
+
+    /**
+     * Reader for {@link ElementCodec#INT}.
+     */
+    private final class IntReader extends PrimitiveReader<Integer> {
+        private IntBuffer ints;
+
+        IntReader(int count) {
+            super(Integer.BYTES, count);
+        }
+
+        @Override
+        void view() {
+            ints = buffer.asIntBuffer();
+        }
+
+        @Override
+        Integer take() {
+            return ints.get();
+        }
+    }
+
+    /**
+     * Reader for {@link ElementCodec#LONG}.
+     */
+    private final class LongReader extends PrimitiveReader<Long> {
+        private LongBuffer longs;
+
+        LongReader(int count) {
+            super(Long.BYTES, count);
+        }
+
+        @Override
+        void view() {
+            longs = buffer.asLongBuffer();
+        }
+
+        @Override
+        Long take() {
+            return longs.get();
+        }
+    }
+
+    /**
+     * Reader for {@link ElementCodec#DOUBLE}.
+     */
+    private final class DoubleReader extends PrimitiveReader<Double> {
+        private DoubleBuffer doubles;
+
+        DoubleReader(int count) {
+            super(Double.BYTES, count);
+        }
+
+        @Override
+        void view() {
+            doubles = buffer.asDoubleBuffer();
+        }
+
+        @Override
+        Double take() {
+            return doubles.get();
+        }
+    }
+}
@@ -0,0 +1,140 @@
+package com.gqcod3.datastructures.io;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Element Codec
+ * <p>
+ * Converts single elements to and from bytes for {@link ChannelEncoder} and
+ * {@link ChannelDecoder}. A codec is either fixed-size, in which case every element
+ * takes exactly {@link #fixedSize()} bytes and no per-element framing is written, or
+ * variable-size, in which case each element is preceded by its length. The encoder
+ * and decoder move the elements of {@link #INT}, {@link #LONG} and {@link #DOUBLE} in
+ * bulk without calling their methods, so those constants must keep their format.
+ * </p>
+ *
+ * <ul>
+ * <li>{@link #fixedSize()}: Returns the encoded size of every element, or {@link #VARIABLE}.</li>
+ * <li>{@link #encode(Object, ByteBuffer)}: Writes an element at the buffer position.</li>
+ * <li>{@link #decode(ByteBuffer, int)}: Reads an element from the buffer position.</li>
+ * </ul>
+ *
+ * @param <T> Type of the encoded elements
+ */
+public interface ElementCodec<T> {
+
+    /**
+     * Value returned by {@link #fixedSize()} for variable-size codecs.
+     */
+    int VARIABLE = -1;
+
+    /**
+     * Returns the number of bytes taken by every encoded element.
+     * @return the fixed element size, or {@link #VARIABLE}.
+     */
+    int fixedSize();
+
+    /**
+     * Writes an element at the current position of the buffer.
+     * <p>
+     * Variable-size codecs may throw {@link java.nio.BufferOverflowException} when the
+     * element does not fit; the encoder then retries with more room. Codecs are never
+     * given null: fixed-size encoding rejects it and variable-size encoding frames it
+     * as a length of {@code -1}.
+     * </p>
+     * @param item The element to encode.
+     * @param out The buffer to write to.
+     */
+    void encode(T item, ByteBuffer out);
+
+    /**
+     * Reads an element from the current position of the buffer.
+     * @param in The buffer to read from.
+     * @param length The number of bytes of the element.
+     * @return the decoded element.
+     */
+    T decode(ByteBuffer in, int length);
+
+    /**
+     * Codec for {@link Integer} elements, four bytes each.
+     */
+    ElementCodec<Integer> INT = new ElementCodec<>() {
+        @Override
+        public int fixedSize() {
+            return Integer.BYTES;
+        }
+
+        @Override
+        public void encode(Integer item, ByteBuffer out) {
+            out.putInt(item);
+        }
+
+        @Override
+        public Integer decode(ByteBuffer in, int length) {
+            return in.getInt();
+        }
+    };
+
+    /**
+     * Codec for {@link Long} elements, eight bytes each.
+     */
+    ElementCodec<Long> LONG = new ElementCodec<>() {
+        @Override
+        public int fixedSize() {
+            return Long.BYTES;
+        }
+
+        @Override
+        public void encode(Long item, ByteBuffer out) {
+            out.putLong(item);
+        }
+
+        @Override
+        public Long decode(ByteBuffer in, int length) {
+            return in.getLong();
+        }
+    };
+
+    /**
+     * Codec for {@link Double} elements, eight bytes each.
+     */
+    ElementCodec<Double> DOUBLE = new ElementCodec<>() {
+        @Override
+        public int fixedSize() {
+            return Double.BYTES;
+        }
+
+        @Override
+        public void encode(Double item, ByteBuffer out) {
+            out.putDouble(item);
+        }
+
+        @Override
+        public Double decode(ByteBuffer in, int length) {
+            return in.getDouble();
+        }
+    };
+
+    /**
+     * Codec for {@link String} elements, encoded as UTF-8.
+     */
+    ElementCodec<String> STRING = new ElementCodec<>() {
+        @Override
+        public int fixedSize() {
+            return VARIABLE;
+        }
+
+        @Override
+        public void encode(String item, ByteBuffer out) {
+            out.put(item.getBytes(StandardCharsets.UTF_8));
+        }
+
+        @Override
+        public String decode(ByteBuffer in, int length) {
+            byte[] bytes = new byte[length];
+            in.get(bytes);
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+    };
+}
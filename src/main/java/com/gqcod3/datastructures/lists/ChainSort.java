@@ -0,0 +1,300 @@
+package com.gqcod3.datastructures.lists;
+
+import java.util.Comparator;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Stable natural merge sort over a chain of linked nodes
+ * <p>
+ * Shared by {@code SinglyLinkedList} and {@code DoublyLinkedList}, which subclass it
+ * with the accessors of their own node class. Only next references are followed and
+ * relinked, so no item is copied; a doubly linked list rebuilds its prev references in
+ * one pass afterwards. The sequential sort merges adjacent non-decreasing runs
+ * pairwise until a single run is left and uses constant extra space; the parallel sort
+ * splits the chain into halves sorted on the common fork-join pool and merged back.
+ * </p>
+ *
+ * <p>
+ * If the comparator throws, the sort stops where it is but keeps every node on the
+ * chain after the dummy node it was given, partially sorted, so the list can fix its
+ * head and tail and stay whole.
+ * </p>
+ *
+ * @param <N> Type of the nodes
+ * @param <T> Type of the items held by the nodes
+ */
+public abstract class ChainSort<N, T> {
+
+    /**
+     * Chains of at most this many nodes are sorted without splitting them further
+     */
+    public static final int PARALLEL_THRESHOLD = 1 << 13;
+
+    /**
+     * Next node of a node
+     *
+     * @param node Node of the chain
+     * @return the next node, or null at the end of the chain
+     */
+    protected abstract N next(N node);
+
+    /**
+     * Link a node after another
+     *
+     * @param node Node to link from
+     * @param next Node to link, or null to end the chain
+     */
+    protected abstract void setNext(N node, N next);
+
+    /**
+     * Item held by a node
+     *
+     * @param node Node of the chain
+     * @return the item of the node
+     */
+    protected abstract T item(N node);
+
+    /**
+     * Create a node holding no item, used to link chains after
+     *
+     * @return a new unlinked node
+     */
+    protected abstract N newDummy();
+
+    /**
+     * Natural order of the items, which must be comparable
+     *
+     * @param <T> Type of the items
+     * @return a comparator using the natural order of the items
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> Comparator<T> naturalOrder() {
+        return (a, b) -> ((Comparable<? super T>) a).compareTo(b);
+    }
+
+    /**
+     * Sort the null-terminated chain following a dummy node, in place. If the comparator
+     * throws, every node is left on the chain, partially sorted
+     *
+     * @param dummy Node preceding the first node of the chain
+     * @param count Number of nodes in the chain
+     * @param comparator Comparator defining the order of the items
+     * @param parallel Whether to sort on the common fork-join pool
+     * @return the last node of the sorted chain
+     */
+    public N sort(N dummy, int count, Comparator<? super T> comparator, boolean parallel) {
+        if (!parallel)
+            return sortChain(dummy, comparator);
+
+        SortTask task = new SortTask(next(dummy), count, comparator);
+        try {
+            ForkJoinPool.commonPool().invoke(task);
+        } finally {
+            // A failed task still holds every node in a single chain from its first node
+            setNext(dummy, task.first);
+        }
+        return task.last;
+    }
+
+    /**
+     * Merge two sorted null-terminated chains after a node, taking from the first
+     * chain on ties so the merge is stable. If the comparator throws, the nodes left
+     * in both chains are still linked after the merged ones
+     *
+     * @param last Node the merged chain is linked after
+     * @param first First sorted chain
+     * @param second Second sorted chain
+     * @param comparator Comparator defining the order of the items
+     * @return the last node of the merged chain
+     */
+    public N mergeRuns(N last, N first, N second, Comparator<? super T> comparator) {
+        while (first != null && second != null) {
+            boolean secondFirst;
+            try {
+                secondFirst = comparator.compare(item(second), item(first)) < 0;
+            } catch (RuntimeException | Error e) {
+                // Link what is left of both chains after the merged part, losing no node
+                setNext(last, first);
+                setNext(chainEnd(first), second);
+                throw e;
+            }
+            if (secondFirst) {
+                setNext(last, second);
+                second = next(second);
+            } else {
+                setNext(last, first);
+                first = next(first);
+            }
+            last = next(last);
+        }
+        setNext(last, (first != null) ? first : second);
+        return chainEnd(last);
+    }
+
+    /**
+     * Find the last node of a null-terminated chain
+     *
+     * @param node Node of the chain
+     * @return the last node of the chain
+     */
+    public N chainEnd(N node) {
+        for (N next = next(node); next != null; next = next(node)) {
+            node = next;
+        }
+        return node;
+    }
+
+    /**
+     * Run two fork-join tasks and wait for both to finish, even if one of them fails.
+     * Unlike {@link ForkJoinTask#invokeAll(ForkJoinTask, ForkJoinTask)}, no task is left
+     * running after a failure, so nodes can be relinked safely once this returns or throws
+     *
+     * @param left Task run in the current thread
+     * @param right Task forked to the pool, taken back if it has not started when left fails
+     */
+    public static void invokeBoth(ForkJoinTask<?> left, ForkJoinTask<?> right) {
+        right.fork();
+        left.quietlyInvoke();
+        // Cancelling does not stop a task already running, so wait for it unless never started
+        if (!left.isCompletedAbnormally() || !right.tryUnfork())
+            right.quietlyJoin();
+        left.join();
+        right.join();
+    }
+
+    /**
+     * Sort the chain following a dummy node using next references only. Every pass
+     * merges adjacent non-decreasing runs pairwise, until a pass finds a single run.
+     * If the comparator throws, every node is left on the chain, partially sorted
+     *
+     * @param dummy Node preceding the first node of the chain
+     * @param comparator Comparator defining the order of the items
+     * @return the last node of the sorted chain
+     */
+    private N sortChain(N dummy, Comparator<? super T> comparator) {
+        while (true) {
+            N last = dummy;
+            N current = next(dummy);
+            boolean merged = false;
+
+            while (current != null) {
+                N first = current;
+                N firstEnd;
+                N secondEnd;
+                try {
+                    firstEnd = runEnd(first, comparator);
+                    if (next(firstEnd) == null) {
+                        setNext(last, first);
+                        last = firstEnd;
+                        break;
+                    }
+                    secondEnd = runEnd(next(firstEnd), comparator);
+                } catch (RuntimeException | Error e) {
+                    // No run was cut yet, so the rest of the chain still starts at first
+                    setNext(last, first);
+                    throw e;
+                }
+
+                N second = next(firstEnd);
+                current = next(secondEnd);
+                setNext(firstEnd, null);
+                setNext(secondEnd, null);
+                try {
+                    last = mergeRuns(last, first, second, comparator);
+                } catch (RuntimeException | Error e) {
+                    // mergeRuns kept both runs after last, so only the rest is missing
+                    setNext(chainEnd(last), current);
+                    throw e;
+                }
+                merged = true;
+            }
+
+            if (!merged)
+                return last;
+        }
+    }
+
+    /**
+     * Find the last node of the non-decreasing run starting at a node
+     *
+     * @param first First node of the run
+     * @param comparator Comparator defining the order of the items
+     * @return the last node of the run
+     */
+    private N runEnd(N first, Comparator<? super T> comparator) {
+        N current = first;
+        for (N next = next(current); next != null && comparator.compare(item(next), item(current)) >= 0; next = next(current)) {
+            current = next;
+        }
+        return current;
+    }
+
+    /**
+     * Fork-join task sorting a null-terminated chain of nodes. If the comparator throws,
+     * first still heads a single chain holding every node
+     */
+    @SuppressWarnings("serial") // never serialized, only run on the fork-join pool
+    private class SortTask extends RecursiveAction {
+        /*
+         * First node of the chain, and of the sorted chain once the task completed
+         */
+        N first;
+        /*
+         * Last node of the sorted chain once the task completed
+         */
+        N last;
+        /*
+         * Number of nodes in the chain
+         */
+        final int count;
+        /*
+         * Comparator defining the order of the items
+         */
+        final Comparator<? super T> comparator;
+
+        SortTask(N first, int count, Comparator<? super T> comparator) {
+            this.first = first;
+            this.count = count;
+            this.comparator = comparator;
+        }
+
+        @Override
+        protected void compute() {
+            N dummy = newDummy();
+            if (count <= PARALLEL_THRESHOLD) {
+                setNext(dummy, first);
+                try {
+                    last = sortChain(dummy, comparator);
+                } finally {
+                    first = next(dummy);
+                }
+                return;
+            }
+
+            int half = count / 2;
+            N middle = first;
+            for (int i = 1; i < half; i++) {
+                middle = next(middle);
+            }
+            SortTask left = new SortTask(first, half, comparator);
+            SortTask right = new SortTask(next(middle), count - half, comparator);
+            setNext(middle, null);
+
+            try {
+                invokeBoth(left, right);
+            } catch (RuntimeException | Error e) {
+                // Both halves are done and each kept its nodes in a single chain
+                setNext(chainEnd(left.first), right.first);
+                first = left.first;
+                throw e;
+            }
+            try {
+                last = mergeRuns(dummy, left.first, right.first, comparator);
+            } finally {
+                first = next(dummy);
+            }
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.gqcod3.datastructures.lists;
+
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * List that is also a deque
+ * <p>
+ * Since Java 21, {@link List} and {@link Deque} both inherit the sequenced methods
+ * ({@code reversed()}, {@code addFirst}, {@code getFirst}, ...) with incompatible
+ * defaults, so a type implementing both must redeclare them. This interface does it
+ * once for the linked lists implementing both, and on Java 17 it simply adds
+ * {@link #reversed()}.
+ * </p>
+ *
+ * @param <T> Type of the items
+ */
+public interface ListDeque<T> extends List<T>, Deque<T> {
+
+    /**
+     * Reverse-ordered view of the list: changes to either are visible in the other
+     *
+     * @return a view of the items from last to first
+     */
+    ListDeque<T> reversed();
+
+    /**
+     * Reverse-ordered view of a list, backed by it
+     *
+     * @param list The list to view
+     * @param <T> Type of the items
+     * @return a view of the items from last to first
+     */
+    static <T> ListDeque<T> reverseOf(ListDeque<T> list) {
+        return new ReversedListDeque<>(list);
+    }
+
+    /*
+     * Redeclared so that the List and Deque versions do not clash on Java 21
+     */
+    void addFirst(T item);
+
+    void addLast(T item);
+
+    T getFirst();
+
+    T getLast();
+
+    T removeFirst();
+
+    T removeLast();
+}
@@ -0,0 +1,204 @@
+package com.gqcod3.datastructures.lists;
+
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Lazy view over the items of a list
+ * <p>
+ * A view is obtained with {@code view()} on any of the lists and transformed with
+ * {@link #filter(Predicate)}, {@link #map(Function)}, {@link #skip(int)} and
+ * {@link #limit(int)}. Nothing runs until a terminal operation such as
+ * {@link #forEach(Consumer)} or {@link #findFirst()}: the stages are then fused into
+ * a single walk over the nodes, each item flowing through every stage before the next
+ * one is read. No intermediate list is built, and short-circuiting operations stop the
+ * walk as soon as their answer is known.
+ * </p>
+ *
+ * <p>
+ * Each stage wraps the sink of the following one, so a terminal operation allocates a
+ * constant number of small objects regardless of the list size. A view reads the list
+ * when its terminal operation runs, not when it is created, and can be reused.
+ * </p>
+ *
+ * <ul>
+ * <li>{@link #filter(Predicate)}: Keeps the items matching a predicate.</li>
+ * <li>{@link #map(Function)}: Transforms each item.</li>
+ * <li>{@link #skip(int)}: Drops the first n items.</li>
+ * <li>{@link #limit(int)}: Keeps at most the first n items.</li>
+ * <li>{@link #forEach(Consumer)}: Performs an action on each item.</li>
+ * <li>{@link #findFirst()}: Returns the first item, or null.</li>
+ * <li>{@link #find(Predicate)}: Returns the first item matching a predicate, or null.</li>
+ * <li>{@link #anyMatch(Predicate)}: Checks if an item matches a predicate.</li>
+ * <li>{@link #count()}: Counts the items.</li>
+ * </ul>
+ *
+ * @param <T> Type of the items of the view
+ */
+public final class ListView<T> {
+
+    /**
+     * Walk over the items of a source, in order.
+     * <p>
+     * The walk hands each item to the sink and stops as soon as the sink returns false.
+     * </p>
+     *
+     * @param <T> Type of the items
+     */
+    @FunctionalInterface
+    public interface Traversal<T> {
+        /**
+         * Feeds items to a sink until there are none left or the sink returns false.
+         *
+         * @param sink The sink receiving the items, returning false to stop the walk.
+         */
+        void forEachWhile(Predicate<? super T> sink);
+    }
+
+    /**
+     * Traversal producing the items of the view.
+     */
+    private final Traversal<T> traversal;
+
+    /**
+     * Constructor to create a view over a traversal.
+     *
+     * @param traversal The walk producing the items of the view.
+     */
+    public ListView(Traversal<T> traversal) {
+        if (traversal == null)
+            throw new IllegalArgumentException("Traversal must not be null");
+        this.traversal = traversal;
+    }
+
+    /**
+     * Returns a view keeping the items that match a predicate.
+     *
+     * @param predicate The predicate the kept items match.
+     * @return the filtered view.
+     */
+    public ListView<T> filter(Predicate<? super T> predicate) {
+        return new ListView<>(sink -> traversal.forEachWhile(item -> !predicate.test(item) || sink.test(item)));
+    }
+
+    /**
+     * Returns a view of the items transformed by a function.
+     *
+     * @param mapper The function applied to each item.
+     * @param <R>    Type of the transformed items.
+     * @return the mapped view.
+     */
+    public <R> ListView<R> map(Function<? super T, ? extends R> mapper) {
+        return new ListView<>(sink -> traversal.forEachWhile(item -> sink.test(mapper.apply(item))));
+    }
+
+    /**
+     * Returns a view without the first n items.
+     *
+     * @param n The number of items to drop.
+     * @return the view of the remaining items.
+     * @throws IllegalArgumentException if n is negative.
+     */
+    public ListView<T> skip(int n) {
+        if (n < 0)
+            throw new IllegalArgumentException("Count must not be negative");
+        if (n == 0)
+            return this;
+        return new ListView<>(sink -> {
+            int[] skipped = { 0 };
+            traversal.forEachWhile(item -> {
+                if (skipped[0] < n) {
+                    skipped[0]++;
+                    return true;
+                }
+                return sink.test(item);
+            });
+        });
+    }
+
+    /**
+     * Returns a view of at most the first n items; the walk stops after the nth one.
+     *
+     * @param n The maximum number of items.
+     * @return the truncated view.
+     * @throws IllegalArgumentException if n is negative.
+     */
+    public ListView<T> limit(int n) {
+        if (n < 0)
+            throw new IllegalArgumentException("Count must not be negative");
+        return new ListView<>(sink -> {
+            if (n == 0)
+                return;
+            int[] remaining = { n };
+            traversal.forEachWhile(item -> sink.test(item) && --remaining[0] > 0);
+        });
+    }
+
+    /**
+     * Performs an action on each item of the view.
+     *
+     * @param action The action to perform on each item.
+     */
+    public void forEach(Consumer<? super T> action) {
+        traversal.forEachWhile(item -> {
+            action.accept(item);
+            return true;
+        });
+    }
+
+    /**
+     * Returns the first item of the view, stopping the walk there.
+     *
+     * @return the first item, or null if the view is empty.
+     */
+    public T findFirst() {
+        Object[] found = { null };
+        traversal.forEachWhile(item -> {
+            found[0] = item;
+            return false;
+        });
+        @SuppressWarnings("unchecked")
+        T first = (T) found[0];
+        return first;
+    }
+
+    /**
+     * Returns the first item of the view matching a predicate, stopping the walk there.
+     *
+     * @param predicate The predicate the item must match.
+     * @return the first matching item, or null if there is none.
+     */
+    public T find(Predicate<? super T> predicate) {
+        return filter(predicate).findFirst();
+    }
+
+    /**
+     * Checks if an item of the view matches a predicate, stopping the walk at the first one.
+     *
+     * @param predicate The predicate to test.
+     * @return true if an item matches, false otherwise.
+     */
+    public boolean anyMatch(Predicate<? super T> predicate) {
+        boolean[] matched = { false };
+        traversal.forEachWhile(item -> {
+            matched[0] = predicate.test(item);
+            return !matched[0];
+        });
+        return matched[0];
+    }
+
+    /**
+     * Counts the items of the view.
+     *
+     * @return the number of items.
+     */
+    public long count() {
+        long[] count = { 0 };
+        traversal.forEachWhile(item -> {
+            count[0]++;
+            return true;
+        });
+        return count[0];
+    }
+}
@@ -0,0 +1,227 @@
+package com.gqcod3.datastructures.lists;
+
+import java.util.AbstractSequentialList;
+import java.util.Iterator;
+import java.util.ListIterator;
+
+/**
+ * Reverse-ordered view of a {@link ListDeque}
+ * <p>
+ * Index i of the view is index {@code size - 1 - i} of the list, the first end of the
+ * view is the last end of the list, and every operation is forwarded to the list, so
+ * the view never holds items of its own. Iterators are those of the list read
+ * backwards, and fail fast when the list does.
+ * </p>
+ *
+ * @param <T> Type of the items
+ */
+final class ReversedListDeque<T> extends AbstractSequentialList<T> implements ListDeque<T> {
+    /*
+     * List viewed in reverse
+     */
+    private final ListDeque<T> list;
+
+    ReversedListDeque(ListDeque<T> list) {
+        this.list = list;
+    }
+
+    @Override
+    public ListDeque<T> reversed() {
+        return list;
+    }
+
+    @Override
+    public int size() {
+        return list.size();
+    }
+
+    @Override
+    public Iterator<T> iterator() {
+        return list.descendingIterator();
+    }
+
+    @Override
+    public Iterator<T> descendingIterator() {
+        return list.iterator();
+    }
+
+    @Override
+    public ListIterator<T> listIterator(int index) {
+        int size = list.size();
+        if (index < 0 || index > size)
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        ListIterator<T> it = list.listIterator(size - index);
+        return new ListIterator<T>() {
+            /*
+             * Whether next() or previous() returned an item since the last add() or remove().
+             * Stepping back after add() makes the list iterator return the added item, which
+             * the view must not let remove() or set() reach
+             */
+            boolean lastReturnedValid;
+
+            public boolean hasNext() {
+                return it.hasPrevious();
+            }
+
+            public T next() {
+                T item = it.previous();
+                lastReturnedValid = true;
+                return item;
+            }
+
+            public boolean hasPrevious() {
+                return it.hasNext();
+            }
+
+            public T previous() {
+                T item = it.next();
+                lastReturnedValid = true;
+                return item;
+            }
+
+            public int nextIndex() {
+                return list.size() - it.nextIndex();
+            }
+
+            public int previousIndex() {
+                return nextIndex() - 1;
+            }
+
+            public void remove() {
+                if (!lastReturnedValid)
+                    throw new IllegalStateException();
+                it.remove();
+                lastReturnedValid = false;
+            }
+
+            public void set(T item) {
+                if (!lastReturnedValid)
+                    throw new IllegalStateException();
+                it.set(item);
+            }
+
+            public void add(T item) {
+                // Inserted before the list cursor; step back so it precedes the view cursor
+                it.add(item);
+                it.previous();
+                lastReturnedValid = false;
+            }
+        };
+    }
+
+    @Override
+    public boolean add(T item) {
+        list.addFirst(item);
+        return true;
+    }
+
+    @Override
+    public void addFirst(T item) {
+        list.addLast(item);
+    }
+
+    @Override
+    public void addLast(T item) {
+        list.addFirst(item);
+    }
+
+    @Override
+    public boolean offerFirst(T item) {
+        return list.offerLast(item);
+    }
+
+    @Override
+    public boolean offerLast(T item) {
+        return list.offerFirst(item);
+    }
+
+    @Override
+    public T removeFirst() {
+        return list.removeLast();
+    }
+
+    @Override
+    public T removeLast() {
+        return list.removeFirst();
+    }
+
+    @Override
+    public T pollFirst() {
+        return list.pollLast();
+    }
+
+    @Override
+    public T pollLast() {
+        return list.pollFirst();
+    }
+
+    @Override
+    public T getFirst() {
+        return list.getLast();
+    }
+
+    @Override
+    public T getLast() {
+        return list.getFirst();
+    }
+
+    @Override
+    public T peekFirst() {
+        return list.peekLast();
+    }
+
+    @Override
+    public T peekLast() {
+        return list.peekFirst();
+    }
+
+    @Override
+    public boolean removeFirstOccurrence(Object item) {
+        return list.removeLastOccurrence(item);
+    }
+
+    @Override
+    public boolean removeLastOccurrence(Object item) {
+        return list.removeFirstOccurrence(item);
+    }
+
+    @Override
+    public boolean offer(T item) {
+        return offerLast(item);
+    }
+
+    @Override
+    public T remove() {
+        return removeFirst();
+    }
+
+    @Override
+    public T poll() {
+        return pollFirst();
+    }
+
+    @Override
+    public T element() {
+        return getFirst();
+    }
+
+    @Override
+    public T peek() {
+        return peekFirst();
+    }
+
+    @Override
+    public void push(T item) {
+        addFirst(item);
+    }
+
+    @Override
+    public T pop() {
+        return removeFirst();
+    }
+
+    @Override
+    public void clear() {
+        list.clear();
+    }
+}
@@ -1,6 +1,10 @@
 package com.gqcod3.datastructures.lists.circular;
 
 import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+import com.gqcod3.datastructures.lists.ListView;
 
 /**
  * Circular doubly linked list implementation in Java
@@ -9,10 +13,31 @@ import java.util.function.Consumer;
  */
 public class CircularDoublyLinkedList<T> {
 
+    /**
+     * Handle to an item of the list, used to remove it in constant time
+     * 
+     * @param <T> Type of the item
+     */
+    public interface Entry<T> {
+        /**
+         * Item stored in the entry
+         * 
+         * @return the item
+         */
+        T item();
+
+        /**
+         * Check if the entry is still part of a list
+         * 
+         * @return true if the entry is linked, false once it was removed
+         */
+        boolean isLinked();
+    }
+
     /**
      * Node class representing each element in the list
      */
-    private class Node {
+    private class Node implements Entry<T> {
         /**
          * Item stored in the node.
          */
@@ -45,6 +70,23 @@ public class CircularDoublyLinkedList<T> {
         Node(T item) {
             this(item, null, null);
         }
+
+        public T item() {
+            return item;
+        }
+
+        public boolean isLinked() {
+            return next != null;
+        }
+
+        /**
+         * List the node was created by
+         * 
+         * @return the owning list
+         */
+        CircularDoublyLinkedList<T> owner() {
+            return CircularDoublyLinkedList.this;
+        }
     }
 
     /**
@@ -162,6 +204,71 @@ public class CircularDoublyLinkedList<T> {
         }
     }
 
+    /**
+     * Add an item to the end of the list and return its entry
+     * 
+     * @param item Item to be added to the list
+     * @return the entry of the item, usable with {@link #remove(Entry)}
+     */
+    public Entry<T> pushBackEntry(T item) {
+        pushBack(item);
+        return tail;
+    }
+
+    /**
+     * Remove the item of an entry in constant time
+     * 
+     * @param entry Entry returned by {@link #pushBackEntry(Object)}
+     * @return true if the item was removed, false if the entry is not linked in this list
+     */
+    public boolean remove(Entry<T> entry) {
+        if (!(entry instanceof CircularDoublyLinkedList.Node))
+            return false;
+        @SuppressWarnings("unchecked")
+        Node node = (Node) entry;
+        if (node.owner() != this || !node.isLinked())
+            return false;
+
+        if (head == tail) {
+            head = null;
+            tail = null;
+        } else {
+            node.prev.next = node.next;
+            node.next.prev = node.prev;
+            if (node == head)
+                head = node.next;
+            if (node == tail)
+                tail = node.prev;
+        }
+        node.next = null;
+        node.prev = null;
+        size--;
+        return true;
+    }
+
+    /**
+     * Remove every item from the list and perform the given action on each of them,
+     * from head to tail. The list is detached before the first action runs, so actions
+     * may add items to it again
+     * 
+     * @param action Action to perform on each removed item
+     */
+    public void drain(Consumer<T> action) {
+        Node current = head;
+        int count = size;
+        head = null;
+        tail = null;
+        size = 0;
+
+        for (int i = 0; i < count; i++) {
+            Node next = current.next;
+            current.next = null;
+            current.prev = null;
+            action.accept(current.item);
+            current = next;
+        }
+    }
+
     // TODO: Implement popFront() method
 
     // TODO: Implement popBack() method
@@ -213,6 +320,104 @@ public class CircularDoublyLinkedList<T> {
         } while (current != head);
     }
 
+    /**
+     * Find the first item, from head to tail, matching the given predicate
+     * 
+     * @param predicate Predicate the item must match
+     * @return the first matching item, or null if there is none
+     */
+    public T find(Predicate<T> predicate) {
+        return find(predicate, size);
+    }
+
+    /**
+     * Find the first matching item among at most a number of nodes from the head.
+     * The walk also stops at a missing link, so it terminates even on a list being
+     * modified concurrently, as optimistic readers need
+     * 
+     * @param predicate Predicate the item must match
+     * @param limit Maximum number of nodes to visit
+     * @return the first matching item, or null if there is none
+     */
+    T find(Predicate<T> predicate, int limit) {
+        Node current = head;
+        for (int i = 0; i < limit && current != null; i++) {
+            if (predicate.test(current.item)) {
+                return current.item;
+            }
+            current = current.next;
+        }
+        return null;
+    }
+
+    /**
+     * Copy the items, from head to tail, into a buffer. The walk stops after filling
+     * the buffer or at a missing link, like {@link #find(Predicate, int)}
+     * 
+     * @param buffer Array receiving the items
+     * @return the number of items copied
+     */
+    int copyInto(Object[] buffer) {
+        Node current = head;
+        int count = 0;
+        while (count < buffer.length && current != null) {
+            buffer[count++] = current.item;
+            current = current.next;
+        }
+        return count;
+    }
+
+    /**
+     * Lazy view over the items from head to tail. Its stages run as a single walk of at
+     * most one lap over the nodes when a terminal operation is called
+     * 
+     * @return a view over the items
+     */
+    public ListView<T> view() {
+        return new ListView<>(sink -> {
+            Node current = head;
+            for (int i = 0; i < size; i++) {
+                if (!sink.test(current.item))
+                    return;
+                current = current.next;
+            }
+        });
+    }
+
+    /**
+     * Append items to the end of the list. The items are linked into a chain first
+     * and the chain is attached at once, so the list is unchanged if the source fails
+     * 
+     * @param count Number of items to append
+     * @param source Supplier called once per item, in list order
+     */
+    public void load(int count, Supplier<? extends T> source) {
+        if (count < 0)
+            throw new IllegalArgumentException("Count must not be negative");
+        if (count == 0)
+            return;
+
+        Node first = new Node(source.get());
+        Node last = first;
+        for (int i = 1; i < count; i++) {
+            Node newNode = new Node(source.get());
+            last.next = newNode;
+            newNode.prev = last;
+            last = newNode;
+        }
+
+        if (isEmpty()) {
+            head = first;
+        } else {
+            tail.next = first;
+            first.prev = tail;
+        }
+        tail = last;
+        tail.next = head;
+        head.prev = tail;
+        size += count;
+    }
+
     /**
      * Reference to the head (first node) of the list
      */
@@ -2,6 +2,9 @@ package com.gqcod3.datastructures.lists.circular;
 
 import java.util.function.Consumer;
 import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+import com.gqcod3.datastructures.lists.ListView;
 
 /**
  * Circular linked list implementation in Java
@@ -233,20 +236,100 @@ public class CircularSinglyLinkedList<T> {
         } while (current != head);
     }
 
+    /**
+     * Lazy view over the items from head to tail. Its stages run as a single walk of at
+     * most one lap over the nodes when a terminal operation is called
+     * 
+     * @return a view over the items
+     */
+    public ListView<T> view() {
+        return new ListView<>(sink -> {
+            Node current = head;
+            for (int i = 0; i < size; i++) {
+                if (!sink.test(current.item))
+                    return;
+                current = current.next;
+            }
+        });
+    }
+
+    /**
+     * Append items to the end of the list. The items are linked into a chain first
+     * and the chain is attached at once, so the list is unchanged if the source fails
+     * 
+     * @param count  Number of items to append
+     * @param source Supplier called once per item, in list order
+     */
+    public void load(int count, Supplier<? extends T> source) {
+        if (count < 0)
+            throw new IllegalArgumentException("Count must not be negative");
+        if (count == 0)
+            return;
+
+        Node first = new Node(source.get());
+        Node last = first;
+        for (int i = 1; i < count; i++) {
+            last.next = new Node(source.get());
+            last = last.next;
+        }
+
+        if (isEmpty()) {
+            head = first;
+        } else {
+            tail.next = first;
+        }
+        tail = last;
+        tail.next = head;
+        size += count;
+    }
+
+    /**
+     * Find the first item, from head to tail, matching the given predicate
+     * 
+     * @param predicate Predicate the item must match
+     * @return the first matching item, or null if there is none
+     */
     public T find(Predicate<T> predicate) {
-        if (isEmpty())
-            return null;
+        return find(predicate, size);
+    }
 
+    /**
+     * Find the first matching item among at most a number of nodes from the head.
+     * The walk also stops at a missing link, so it terminates even on a list being
+     * modified concurrently, as optimistic readers need
+     * 
+     * @param predicate Predicate the item must match
+     * @param limit     Maximum number of nodes to visit
+     * @return the first matching item, or null if there is none
+     */
+    T find(Predicate<T> predicate, int limit) {
         Node current = head;
-        do {
+        for (int i = 0; i < limit && current != null; i++) {
             if (predicate.test(current.item)) {
                 return current.item;
             }
             current = current.next;
-        } while (current != head);
+        }
         return null;
     }
 
+    /**
+     * Copy the items, from head to tail, into a buffer. The walk stops after filling
+     * the buffer or at a missing link, like {@link #find(Predicate, int)}
+     * 
+     * @param buffer Array receiving the items
+     * @return the number of items copied
+     */
+    int copyInto(Object[] buffer) {
+        Node current = head;
+        int count = 0;
+        while (count < buffer.length && current != null) {
+            buffer[count++] = current.item;
+            current = current.next;
+        }
+        return count;
+    }
+
     /**
      * Reference to the head (first node) of the list
      */
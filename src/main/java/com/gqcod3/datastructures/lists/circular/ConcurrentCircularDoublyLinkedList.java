@@ -0,0 +1,261 @@
+package com.gqcod3.datastructures.lists.circular;
+
+import java.util.Arrays;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * Thread-safe circular doubly linked list for read-mostly workloads
+ * <p>
+ * Wraps a {@link CircularDoublyLinkedList} behind a {@link StampedLock}. Mutations take
+ * the write lock. {@link #find(Predicate)}, {@link #iterator(Consumer)}, {@link #size()}
+ * and {@link #isEmpty()} first run as optimistic reads, which write nothing shared, and
+ * only take the read lock when a write happened meanwhile; readers therefore do not
+ * contend with each other at all.
+ * </p>
+ *
+ * <p>
+ * An optimistic walk may see the list while it is being modified. It visits at most
+ * as many nodes as the size it read and stops at a missing link, so it always ends,
+ * and its result is dropped unless no write happened. Predicates may thus be called on
+ * items of a discarded attempt and should have no side effects. Iteration copies the
+ * items first and runs the action outside the lock, on that snapshot.
+ * </p>
+ *
+ * @param <T> Type of elements in the list
+ */
+public class ConcurrentCircularDoublyLinkedList<T> {
+
+    /**
+     * List holding the items, guarded by the lock
+     */
+    private final CircularDoublyLinkedList<T> list = new CircularDoublyLinkedList<>();
+    /**
+     * Lock guarding the list
+     */
+    private final StampedLock lock = new StampedLock();
+
+    /**
+     * Check if the list is empty
+     *
+     * @return true if the list is empty, false otherwise
+     */
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    /**
+     * Current size of the list
+     *
+     * @return size of the list
+     */
+    public int size() {
+        long stamp = lock.tryOptimisticRead();
+        int size = list.size();
+        if (lock.validate(stamp))
+            return size;
+
+        stamp = lock.readLock();
+        try {
+            return list.size();
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * Add an item to the end of the list
+     *
+     * @param item Item to be added to the list
+     * @return true if the item was added successfully, false otherwise
+     */
+    public boolean pushBack(T item) {
+        long stamp = lock.writeLock();
+        try {
+            return list.pushBack(item);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Add an item to the front of the list
+     *
+     * @param item Item to be added to the list
+     * @return true if the item was added successfully, false otherwise
+     */
+    public boolean pushFront(T item) {
+        long stamp = lock.writeLock();
+        try {
+            return list.pushFront(item);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Insert an item at a specific position in the list
+     *
+     * @param item Item to be added to the list
+     * @param pos Position to insert the item at (0-based index)
+     * @return true if the item was added successfully, false otherwise
+     */
+    public boolean insertAt(T item, int pos) {
+        long stamp = lock.writeLock();
+        try {
+            return list.insertAt(item, pos);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Add an item to the end of the list and return its entry
+     *
+     * @param item Item to be added to the list
+     * @return the entry of the item, usable with {@link #remove(CircularDoublyLinkedList.Entry)}
+     */
+    public CircularDoublyLinkedList.Entry<T> pushBackEntry(T item) {
+        long stamp = lock.writeLock();
+        try {
+            return list.pushBackEntry(item);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Remove the item of an entry in constant time
+     *
+     * @param entry Entry returned by {@link #pushBackEntry(Object)}
+     * @return true if the item was removed, false if the entry is not linked in this list
+     */
+    public boolean remove(CircularDoublyLinkedList.Entry<T> entry) {
+        long stamp = lock.writeLock();
+        try {
+            return list.remove(entry);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Remove every item from the list and perform the given action on each of them,
+     * from head to tail. The items are detached under the write lock and the actions
+     * run after releasing it, so actions may add items to the list again
+     *
+     * @param action Action to perform on each removed item
+     */
+    @SuppressWarnings("unchecked")
+    public void drain(Consumer<T> action) {
+        Object[] drained;
+        long stamp = lock.writeLock();
+        try {
+            drained = new Object[list.size()];
+            list.copyInto(drained);
+            list.drain(item -> { });
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+        for (Object item : drained) {
+            action.accept((T) item);
+        }
+    }
+
+    /**
+     * Remove an item at a specific position in the list
+     *
+     * @param pos Position to remove the item from (0-based index)
+     * @return true if the item was removed successfully, false otherwise
+     */
+    public boolean removeAt(int pos) {
+        long stamp = lock.writeLock();
+        try {
+            return list.removeAt(pos);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Append items to the end of the list. The source is called while holding the
+     * write lock
+     *
+     * @param count Number of items to append
+     * @param source Supplier called once per item, in list order
+     */
+    public void load(int count, Supplier<? extends T> source) {
+        long stamp = lock.writeLock();
+        try {
+            list.load(count, source);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Find the first item, from head to tail, matching the given predicate
+     *
+     * @param predicate Predicate the item must match, free of side effects
+     * @return the first matching item, or null if there is none
+     */
+    public T find(Predicate<T> predicate) {
+        long stamp = lock.tryOptimisticRead();
+        if (stamp != 0) {
+            try {
+                T found = list.find(predicate, list.size());
+                if (lock.validate(stamp))
+                    return found;
+            } catch (RuntimeException e) {
+                if (lock.validate(stamp))
+                    throw e;
+            }
+        }
+
+        stamp = lock.readLock();
+        try {
+            return list.find(predicate);
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * Iterate over a snapshot of the items and perform the given action on each item.
+     * The action runs outside the lock, so it may modify the list
+     *
+     * @param action Action to perform on each item
+     */
+    @SuppressWarnings("unchecked")
+    public void iterator(Consumer<T> action) {
+        for (Object item : snapshot()) {
+            action.accept((T) item);
+        }
+    }
+
+    /**
+     * Copy the items, optimistically first
+     *
+     * @return the items from head to tail
+     */
+    private Object[] snapshot() {
+        long stamp = lock.tryOptimisticRead();
+        if (stamp != 0) {
+            Object[] buffer = new Object[list.size()];
+            int count = list.copyInto(buffer);
+            if (lock.validate(stamp))
+                return (count == buffer.length) ? buffer : Arrays.copyOf(buffer, count);
+        }
+
+        stamp = lock.readLock();
+        try {
+            Object[] buffer = new Object[list.size()];
+            list.copyInto(buffer);
+            return buffer;
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+}
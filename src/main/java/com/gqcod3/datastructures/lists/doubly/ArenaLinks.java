@@ -0,0 +1,349 @@
+package com.gqcod3.datastructures.lists.doubly;
+
+import java.lang.reflect.Array;
+import java.util.Arrays;
+
+/**
+ * Link storage shared by the arena-backed lists
+ * <p>
+ * A node is an int slot: its neighbours are stored at that index in the parallel
+ * {@code next} and {@code prev} arrays, and the owning list stores the item at the
+ * same index of its own payload array. Freed slots are chained through {@code next}
+ * and reused before the arena grows. Slots at or above {@code used} have never been
+ * handed out since the last reset, so a reset only needs to forget the counters.
+ * </p>
+ *
+ * <p>
+ * The arena also tracks whether slot i holds the node at position i, which holds while
+ * nodes are only appended into fresh slots and removed from the end. While it does,
+ * {@link #slot(int)} is O(1) and removing the last node gives its slot back instead of
+ * freeing it; {@link #compact(Object)} restores it. The owning lists only keep their
+ * payload array and the accessors of its element type.
+ * </p>
+ */
+final class ArenaLinks {
+    /**
+     * Slot value standing for "no node"
+     */
+    static final int NIL = -1;
+    /**
+     * Capacity used when none is given
+     */
+    static final int DEFAULT_CAPACITY = 16;
+
+    /*
+     * Slot of the following node, or the following free slot for free slots
+     */
+    int[] next;
+    /*
+     * Slot of the preceding node
+     */
+    int[] prev;
+    /*
+     * Slot of the first node
+     */
+    int head = NIL;
+    /*
+     * Slot of the last node
+     */
+    int tail = NIL;
+    /*
+     * Number of linked nodes
+     */
+    int size;
+    /*
+     * Whether slot i holds the node at position i
+     */
+    private boolean sequential = true;
+    /*
+     * First free slot below used
+     */
+    private int free = NIL;
+    /*
+     * Number of slots handed out since the last reset
+     */
+    private int used;
+
+    ArenaLinks(int capacity) {
+        if (capacity < 0)
+            throw new IllegalArgumentException("Capacity must not be negative");
+        next = new int[capacity];
+        prev = new int[capacity];
+    }
+
+    /**
+     * Number of slots the arena can hold before growing
+     *
+     * @return the capacity of the arena
+     */
+    int capacity() {
+        return next.length;
+    }
+
+    /**
+     * Number of slots handed out since the last reset; every slot in use is below it
+     *
+     * @return the high-water mark of the arena
+     */
+    int used() {
+        return used;
+    }
+
+    /**
+     * Whether slot i holds the node at position i, so positions need no link walk
+     *
+     * @return true if the nodes sit in slots 0 to size - 1 in order
+     */
+    boolean isSequential() {
+        return sequential;
+    }
+
+    /**
+     * Take a free slot, growing the arena if none is left
+     *
+     * @return the slot, not linked yet
+     */
+    int allocate() {
+        int slot;
+        if (free != NIL) {
+            slot = free;
+            free = next[slot];
+        } else {
+            if (used == next.length)
+                grow(used + 1);
+            slot = used++;
+        }
+        return slot;
+    }
+
+    /**
+     * Grow the arena so that it can hold a number of linked nodes without growing again
+     *
+     * @param minCapacity Number of nodes the arena must be able to hold
+     */
+    void ensureCapacity(int minCapacity) {
+        if (minCapacity > next.length)
+            grow(minCapacity);
+    }
+
+    /**
+     * Link an allocated slot before another node
+     *
+     * @param slot Slot to link
+     * @param successor Slot to link before, or NIL to link at the end
+     */
+    void linkBefore(int slot, int successor) {
+        if (successor != NIL || slot != used - 1)
+            sequential = false;
+        int predecessor = (successor == NIL) ? tail : prev[successor];
+        next[slot] = successor;
+        prev[slot] = predecessor;
+        if (successor == NIL) {
+            tail = slot;
+        } else {
+            prev[successor] = slot;
+        }
+        if (predecessor == NIL) {
+            head = slot;
+        } else {
+            next[predecessor] = slot;
+        }
+        size++;
+    }
+
+    /**
+     * Unlink a node and free its slot. The last node of a sequential arena holds the
+     * highest slot handed out, which is given back by lowering used instead
+     *
+     * @param slot Slot of the node
+     */
+    void unlink(int slot) {
+        if (sequential && slot == tail) {
+            unlinkLast();
+            return;
+        }
+        int predecessor = prev[slot];
+        int successor = next[slot];
+        if (predecessor == NIL) {
+            head = successor;
+        } else {
+            next[predecessor] = successor;
+        }
+        if (successor == NIL) {
+            tail = predecessor;
+        } else {
+            prev[successor] = predecessor;
+        }
+        next[slot] = free;
+        prev[slot] = NIL;
+        free = slot;
+        size--;
+        if (size == 0) {
+            reset();
+        } else {
+            sequential = false;
+        }
+    }
+
+    /**
+     * Unlink the last node when it holds the highest slot handed out, giving the slot
+     * back by lowering used instead of pushing it on the free list
+     */
+    private void unlinkLast() {
+        int slot = tail;
+        int predecessor = prev[slot];
+        if (predecessor == NIL) {
+            head = NIL;
+        } else {
+            next[predecessor] = NIL;
+        }
+        tail = predecessor;
+        used = slot;
+        size--;
+    }
+
+    /**
+     * Slot of the node at a specific position, in O(1) while the arena is sequential
+     * and walking from the closest end otherwise
+     *
+     * @param index Position of the node (0-based index)
+     * @return the slot of the node
+     */
+    int slot(int index) {
+        if (sequential)
+            return index;
+        int current;
+        if (index < size / 2) {
+            current = head;
+            for (int i = 0; i < index; i++) {
+                current = next[current];
+            }
+        } else {
+            current = tail;
+            for (int i = size - 1; i > index; i--) {
+                current = prev[current];
+            }
+        }
+        return current;
+    }
+
+    /**
+     * Whether some slot below used is free, i.e. not every slot below used is linked
+     *
+     * @return true if the free list is not empty
+     */
+    boolean hasFree() {
+        return free != NIL;
+    }
+
+    /**
+     * First slot of the free list; the following ones are chained through {@code next}
+     *
+     * @return the first free slot, or NIL if there is none
+     */
+    int firstFree() {
+        return free;
+    }
+
+    /**
+     * Whether a slot below used holds a linked node rather than a free one
+     *
+     * @param slot Slot below used
+     * @return true if the slot is linked
+     */
+    boolean isLinked(int slot) {
+        return prev[slot] != NIL || slot == head;
+    }
+
+    /**
+     * Move the payload so that slot i holds the item at position i, then link slots 0
+     * to size - 1 in order and forget the free list. Runs of consecutive slots are
+     * moved with one copy each. O(n)
+     *
+     * @param payload Payload array of the owning list, of any element type, at least
+     * as long as used
+     */
+    void compact(Object payload) {
+        if (sequential)
+            return;
+        Object source = Array.newInstance(payload.getClass().getComponentType(), used);
+        System.arraycopy(payload, 0, source, 0, used);
+        int position = 0;
+        int start = head;
+        while (start != NIL) {
+            int end = start;
+            while (next[end] == end + 1) {
+                end++;
+            }
+            System.arraycopy(source, start, payload, position, end - start + 1);
+            position += end - start + 1;
+            start = next[end];
+        }
+        relinkSequential();
+    }
+
+    /**
+     * Check that a position holds a node
+     *
+     * @param index Position to check (0-based index)
+     * @throws IndexOutOfBoundsException if there is no node at the position
+     */
+    void checkElementIndex(int index) {
+        if (index < 0 || index >= size)
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+    }
+
+    /**
+     * Check that a node can be linked at a position
+     *
+     * @param index Position to check (0-based index)
+     * @throws IndexOutOfBoundsException if the position is past the end
+     */
+    void checkPositionIndex(int index) {
+        if (index < 0 || index > size)
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+    }
+
+    /**
+     * Link slots 0 to size - 1 in order and forget the free list, once the payload was
+     * moved so that slot i holds the item at position i
+     */
+    private void relinkSequential() {
+        for (int i = 0; i < size; i++) {
+            next[i] = i + 1;
+            prev[i] = i - 1;
+        }
+        if (size > 0)
+            next[size - 1] = NIL;
+        head = (size > 0) ? 0 : NIL;
+        tail = size - 1;
+        free = NIL;
+        used = size;
+        sequential = true;
+    }
+
+    /**
+     * Unlink every node in O(1), keeping the capacity
+     */
+    void reset() {
+        head = NIL;
+        tail = NIL;
+        free = NIL;
+        size = 0;
+        used = 0;
+        sequential = true;
+    }
+
+    /**
+     * Grow the link arrays by half, or more if needed
+     *
+     * @param minCapacity Minimum capacity after growing
+     */
+    private void grow(int minCapacity) {
+        int capacity = next.length + (next.length >> 1);
+        if (capacity < minCapacity || capacity < 0)
+            capacity = minCapacity;
+        next = Arrays.copyOf(next, capacity);
+        prev = Arrays.copyOf(prev, capacity);
+    }
+}
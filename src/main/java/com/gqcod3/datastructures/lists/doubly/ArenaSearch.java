@@ -0,0 +1,98 @@
+package com.gqcod3.datastructures.lists.doubly;
+
+/**
+ * Scans over the value arrays of the primitive arena lists
+ * <p>
+ * Each scan has a scalar loop and a vectorized one in {@link VectorKernels}, which uses
+ * the incubating {@code jdk.incubator.vector} module. That module is only present when
+ * the JVM runs with {@code --add-modules jdk.incubator.vector}; otherwise
+ * {@link VectorKernels} is never touched, so it is never loaded, and the scalar loops
+ * are used.
+ * </p>
+ */
+final class ArenaSearch {
+    /**
+     * Whether the vector module was resolved at startup
+     */
+    static final boolean VECTORIZED = ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent()
+            && !Boolean.getBoolean("datastructures.scalar");
+
+    private ArenaSearch() {
+    }
+
+    /**
+     * First index of a value in a range of an array
+     *
+     * @param values Array to scan
+     * @param from First index to scan
+     * @param to Index after the last one to scan
+     * @param value Value to look for
+     * @return the first matching index, or -1
+     */
+    static int indexOf(int[] values, int from, int to, int value) {
+        if (VECTORIZED)
+            return VectorKernels.indexOf(values, from, to, value);
+        for (int i = from; i < to; i++) {
+            if (values[i] == value)
+                return i;
+        }
+        return -1;
+    }
+
+    /**
+     * First index of a value in a range of an array
+     *
+     * @param values Array to scan
+     * @param from First index to scan
+     * @param to Index after the last one to scan
+     * @param value Value to look for
+     * @return the first matching index, or -1
+     */
+    static int indexOf(long[] values, int from, int to, long value) {
+        if (VECTORIZED)
+            return VectorKernels.indexOf(values, from, to, value);
+        for (int i = from; i < to; i++) {
+            if (values[i] == value)
+                return i;
+        }
+        return -1;
+    }
+
+    /**
+     * Number of occurrences of a value in the start of an array
+     *
+     * @param values Array to scan
+     * @param to Index after the last one to scan
+     * @param value Value to count
+     * @return the number of matching indexes below to
+     */
+    static int count(int[] values, int to, int value) {
+        if (VECTORIZED)
+            return VectorKernels.count(values, to, value);
+        int count = 0;
+        for (int i = 0; i < to; i++) {
+            if (values[i] == value)
+                count++;
+        }
+        return count;
+    }
+
+    /**
+     * Number of occurrences of a value in the start of an array
+     *
+     * @param values Array to scan
+     * @param to Index after the last one to scan
+     * @param value Value to count
+     * @return the number of matching indexes below to
+     */
+    static int count(long[] values, int to, long value) {
+        if (VECTORIZED)
+            return VectorKernels.count(values, to, value);
+        int count = 0;
+        for (int i = 0; i < to; i++) {
+            if (values[i] == value)
+                count++;
+        }
+        return count;
+    }
+}
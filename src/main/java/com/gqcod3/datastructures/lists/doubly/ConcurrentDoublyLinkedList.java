@@ -0,0 +1,361 @@
+package com.gqcod3.datastructures.lists.doubly;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+/**
+ * Thread-safe doubly linked deque in Java
+ * <p>
+ * Offers the end operations of {@link DoublyLinkedList} to concurrent threads. The
+ * list sits between a head and a tail sentinel, and each end has its own lock, so a
+ * thread working on the front never waits for one working on the back.
+ * </p>
+ *
+ * <p>
+ * An operation may take only its own end's lock when it cannot touch a node the other
+ * end is touching: pushes need at least {@value #FAST_PATH_MIN} counted items, and pops
+ * first reserve an item by decrementing the count, which they only do while at least
+ * {@value #FAST_PATH_MIN} items stay counted. Pushes link before counting and pops
+ * count before unlinking, so the count never exceeds the linked items. Near-empty
+ * deques take both locks, always head first, and are then serialized.
+ * </p>
+ *
+ * <p>
+ * Null items are rejected, so that {@link #popFront()} and {@link #popBack()} can
+ * return null for an empty deque.
+ * </p>
+ *
+ * @param <T> Type of elements in the list
+ */
+public class ConcurrentDoublyLinkedList<T> {
+    /**
+     * Number of counted items from which an end may work under its own lock only
+     */
+    static final int FAST_PATH_MIN = 2;
+
+    /**
+     * Node class representing each element in the list
+     */
+    private class Node {
+        /*
+         * Item stored in the node, null for the sentinels
+         */
+        T item;
+        /*
+         * Reference to the next node in the list
+         */
+        volatile Node next;
+        /*
+         * Reference to the previous node in the list
+         */
+        volatile Node prev;
+
+        Node(T item) {
+            this.item = item;
+        }
+    }
+
+    /*
+     * Sentinel before the first node, guarded by headLock
+     */
+    private final Node head = new Node(null);
+    /*
+     * Sentinel after the last node, guarded by tailLock
+     */
+    private final Node tail = new Node(null);
+    /*
+     * Lock of the front end
+     */
+    private final ReentrantLock headLock = new ReentrantLock();
+    /*
+     * Lock of the back end
+     */
+    private final ReentrantLock tailLock = new ReentrantLock();
+    /*
+     * Number of counted items, never more than the linked ones
+     */
+    private final AtomicInteger count = new AtomicInteger();
+
+    /**
+     * Constructor to create an empty list
+     */
+    public ConcurrentDoublyLinkedList() {
+        head.next = tail;
+        tail.prev = head;
+    }
+
+    /**
+     * Check if the list is empty
+     *
+     * @return true if the list is empty, false otherwise
+     */
+    public boolean isEmpty() {
+        return count.get() == 0;
+    }
+
+    /**
+     * Current size of the list; items being pushed or popped concurrently may or may
+     * not be counted
+     *
+     * @return size of the list
+     */
+    public int size() {
+        return count.get();
+    }
+
+    /**
+     * Add an item to the front of the list
+     *
+     * @param item Item to add
+     * @throws IllegalArgumentException if the item is null
+     */
+    public void pushFront(T item) {
+        Node node = newNode(item);
+        headLock.lock();
+        try {
+            if (count.get() >= FAST_PATH_MIN) {
+                linkFirst(node);
+                return;
+            }
+            tailLock.lock();
+            try {
+                linkFirst(node);
+            } finally {
+                tailLock.unlock();
+            }
+        } finally {
+            headLock.unlock();
+        }
+    }
+
+    /**
+     * Add an item to the end of the list
+     *
+     * @param item Item to add
+     * @throws IllegalArgumentException if the item is null
+     */
+    public void pushBack(T item) {
+        Node node = newNode(item);
+        tailLock.lock();
+        try {
+            if (count.get() >= FAST_PATH_MIN) {
+                linkLast(node);
+                return;
+            }
+        } finally {
+            tailLock.unlock();
+        }
+
+        lockBoth();
+        try {
+            linkLast(node);
+        } finally {
+            unlockBoth();
+        }
+    }
+
+    /**
+     * Remove the item at the front of the list
+     *
+     * @return the removed item, or null if the list is empty
+     */
+    public T popFront() {
+        headLock.lock();
+        try {
+            if (reserve())
+                return unlinkFirst();
+            tailLock.lock();
+            try {
+                if (count.get() == 0)
+                    return null;
+                count.decrementAndGet();
+                return unlinkFirst();
+            } finally {
+                tailLock.unlock();
+            }
+        } finally {
+            headLock.unlock();
+        }
+    }
+
+    /**
+     * Remove the item at the end of the list
+     *
+     * @return the removed item, or null if the list is empty
+     */
+    public T popBack() {
+        tailLock.lock();
+        try {
+            if (reserve())
+                return unlinkLast();
+        } finally {
+            tailLock.unlock();
+        }
+
+        lockBoth();
+        try {
+            if (count.get() == 0)
+                return null;
+            count.decrementAndGet();
+            return unlinkLast();
+        } finally {
+            unlockBoth();
+        }
+    }
+
+    /**
+     * Item at the front of the list, without removing it
+     *
+     * @return the first item, or null if the list is empty
+     */
+    public T peekFirst() {
+        headLock.lock();
+        try {
+            return head.next.item;
+        } finally {
+            headLock.unlock();
+        }
+    }
+
+    /**
+     * Item at the end of the list, without removing it
+     *
+     * @return the last item, or null if the list is empty
+     */
+    public T peekLast() {
+        tailLock.lock();
+        try {
+            return tail.prev.item;
+        } finally {
+            tailLock.unlock();
+        }
+    }
+
+    /**
+     * Remove all items from the list
+     */
+    public void clear() {
+        lockBoth();
+        try {
+            head.next = tail;
+            tail.prev = head;
+            count.set(0);
+        } finally {
+            unlockBoth();
+        }
+    }
+
+    /**
+     * Iterate over the items in the list from head to tail and perform the given
+     * action on each item. Both ends stay locked during the walk, so the action sees
+     * a consistent list and must not modify it
+     *
+     * @param action Action to perform on each item
+     */
+    public void iterator(Consumer<T> action) {
+        lockBoth();
+        try {
+            for (Node current = head.next; current != tail; current = current.next) {
+                action.accept(current.item);
+            }
+        } finally {
+            unlockBoth();
+        }
+    }
+
+    /**
+     * Reserve an item for a pop under a single end lock, if enough items stay counted
+     *
+     * @return true if an item was reserved, false if both locks are needed
+     */
+    private boolean reserve() {
+        while (true) {
+            int current = count.get();
+            if (current <= FAST_PATH_MIN)
+                return false;
+            if (count.compareAndSet(current, current - 1))
+                return true;
+        }
+    }
+
+    /**
+     * Create a node for a non-null item
+     *
+     * @param item Item of the node
+     * @return the new node
+     */
+    private Node newNode(T item) {
+        if (item == null)
+            throw new IllegalArgumentException("Item must not be null");
+        return new Node(item);
+    }
+
+    /**
+     * Link a node after the head sentinel, then count it
+     *
+     * @param node Node to link
+     */
+    private void linkFirst(Node node) {
+        Node first = head.next;
+        node.prev = head;
+        node.next = first;
+        first.prev = node;
+        head.next = node;
+        count.incrementAndGet();
+    }
+
+    /**
+     * Link a node before the tail sentinel, then count it
+     *
+     * @param node Node to link
+     */
+    private void linkLast(Node node) {
+        Node last = tail.prev;
+        node.next = tail;
+        node.prev = last;
+        last.next = node;
+        tail.prev = node;
+        count.incrementAndGet();
+    }
+
+    /**
+     * Unlink the first node, already uncounted
+     *
+     * @return the item of the node
+     */
+    private T unlinkFirst() {
+        Node first = head.next;
+        Node second = first.next;
+        head.next = second;
+        second.prev = head;
+        T item = first.item;
+        first.item = null;
+        return item;
+    }
+
+    /**
+     * Unlink the last node, already uncounted
+     *
+     * @return the item of the node
+     */
+    private T unlinkLast() {
+        Node last = tail.prev;
+        Node beforeLast = last.prev;
+        tail.prev = beforeLast;
+        beforeLast.next = tail;
+        T item = last.item;
+        last.item = null;
+        return item;
+    }
+
+    private void lockBoth() {
+        headLock.lock();
+        tailLock.lock();
+    }
+
+    private void unlockBoth() {
+        tailLock.unlock();
+        headLock.unlock();
+    }
+}
@@ -1,11 +1,29 @@
 package com.gqcod3.datastructures.lists.doubly;
 
+import java.util.AbstractSequentialList;
+import java.util.Comparator;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.ListIterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+import com.gqcod3.datastructures.lists.ChainSort;
+import com.gqcod3.datastructures.lists.ListDeque;
+import com.gqcod3.datastructures.lists.ListView;
+
 /**
  * Doubly linked list implementation in Java
+ * <p>
+ * Implements {@link java.util.List} and {@link java.util.Deque} so the list can be
+ * handed to library code without copying it. Iterators are fail-fast.
+ * </p>
  * 
  * @param <T> Type of elements in the list
  */
-public class DoublyLinkedList<T> {
+public class DoublyLinkedList<T> extends AbstractSequentialList<T> implements ListDeque<T> {
     /**
      * Node class representing each element in the list
      */
@@ -48,6 +66,7 @@ public class DoublyLinkedList<T> {
      * 
      * @return true if the list is empty, false otherwise
      */
+    @Override
     public boolean isEmpty() {
         return head == null && tail == null;
     }
@@ -57,6 +76,7 @@ public class DoublyLinkedList<T> {
      * 
      * @return size of the list
      */
+    @Override
     public int size() {
         return size;
     }
@@ -79,6 +99,7 @@ public class DoublyLinkedList<T> {
                 tail = newNode;
             }
             size++;
+            modCount++;
             return true;
         } catch (Exception e) {
             return false;
@@ -92,8 +113,22 @@ public class DoublyLinkedList<T> {
      * @return true if the item was added successfully, false otherwise
      */
     public boolean pushFront(T item) {
-        // TODO: add method to add element to beginning of the list.
-        return true;
+        try {
+            Node newNode = new Node(item);
+            if (isEmpty()) {
+                head = newNode;
+                tail = newNode;
+            } else {
+                newNode.next = head;
+                head.prev = newNode;
+                head = newNode;
+            }
+            size++;
+            modCount++;
+            return true;
+        } catch (Exception e) {
+            return false;
+        }
     }
 
     /**
@@ -123,7 +158,7 @@ public class DoublyLinkedList<T> {
         } else {
             current = tail;
             i = size() - 1;
-            while (i >= pos) {
+            while (i > pos) {
                 current = current.prev;
                 i--;
             }
@@ -135,8 +170,8 @@ public class DoublyLinkedList<T> {
 
         newNode.next = current;
         current.prev = newNode;
-
         size++;
+        modCount++;
         return true;
     }
 
@@ -159,6 +194,7 @@ public class DoublyLinkedList<T> {
             current.prev = null;
         }
         size--;
+        modCount++;
         return true;
     }
 
@@ -181,6 +217,7 @@ public class DoublyLinkedList<T> {
             current.next = null;
         }
         size--;
+        modCount++;
         return true;
     }
     
@@ -221,8 +258,8 @@ public class DoublyLinkedList<T> {
 
         current.prev = null;
         current.next = null;
-
         size--;
+        modCount++;
         return true;
     }
 
@@ -244,6 +281,642 @@ public class DoublyLinkedList<T> {
         }
     }
 
+    /**
+     * Iterate over the items in the list from head to tail and perform the given
+     * action on each item
+     * 
+     * @param action Action to perform on each item
+     */
+    public void iterator(Consumer<T> action) {
+        Node current = head;
+        while (current != null) {
+            action.accept(current.item);
+            current = current.next;
+        }
+    }
+
+    /**
+     * Perform the given action on each item from head to tail, walking the nodes directly
+     * 
+     * @param action Action to perform on each item
+     */
+    @Override
+    public void forEach(Consumer<? super T> action) {
+        int expectedModCount = modCount;
+        Node current = head;
+        while (current != null) {
+            action.accept(current.item);
+            current = current.next;
+        }
+        if (modCount != expectedModCount)
+            throw new ConcurrentModificationException();
+    }
+
+    /**
+     * Lazy view over the items from head to tail. Its stages run as a single walk over
+     * the nodes when a terminal operation is called, which fails fast if the list changes
+     * 
+     * @return a view over the items
+     */
+    public ListView<T> view() {
+        return new ListView<>(sink -> {
+            int expectedModCount = modCount;
+            Node current = head;
+            while (current != null && sink.test(current.item)) {
+                current = current.next;
+            }
+            if (modCount != expectedModCount)
+                throw new ConcurrentModificationException();
+        });
+    }
+
+    /**
+     * Fail-fast iterator over the items of the list, from head to tail
+     * 
+     * @return an iterator over the items
+     */
+    @Override
+    public Iterator<T> iterator() {
+        return new ListItr(0);
+    }
+
+    /**
+     * Fail-fast list iterator starting at a specific position
+     * 
+     * @param index Position of the first item returned by next() (0-based index)
+     * @return a list iterator over the items
+     */
+    @Override
+    public ListIterator<T> listIterator(int index) {
+        checkPositionIndex(index);
+        return new ListItr(index);
+    }
+
+    /**
+     * Reverse-ordered view of the list, backed by it
+     *
+     * @return a view of the items from tail to head
+     */
+    @Override
+    public ListDeque<T> reversed() {
+        return ListDeque.reverseOf(this);
+    }
+
+    /**
+     * Fail-fast iterator over the items of the list, from tail to head
+     * 
+     * @return an iterator over the items in reverse order
+     */
+    @Override
+    public Iterator<T> descendingIterator() {
+        ListItr iterator = new ListItr(size);
+        return new Iterator<T>() {
+            public boolean hasNext() {
+                return iterator.hasPrevious();
+            }
+
+            public T next() {
+                return iterator.previous();
+            }
+
+            public void remove() {
+                iterator.remove();
+            }
+        };
+    }
+
+    /**
+     * Item at a specific position in the list
+     * 
+     * @param index Position of the item (0-based index)
+     * @return the item
+     */
+    @Override
+    public T get(int index) {
+        checkElementIndex(index);
+        return node(index).item;
+    }
+
+    /**
+     * Replace the item at a specific position in the list
+     * 
+     * @param index Position of the item (0-based index)
+     * @param item New item
+     * @return the replaced item
+     */
+    @Override
+    public T set(int index, T item) {
+        checkElementIndex(index);
+        Node node = node(index);
+        T old = node.item;
+        node.item = item;
+        return old;
+    }
+
+    /**
+     * Add an item to the end of the list
+     * 
+     * @param item Item to add
+     * @return true if the item was added successfully, false otherwise
+     */
+    @Override
+    public boolean add(T item) {
+        return pushBack(item);
+    }
+
+    /**
+     * Insert an item at a specific position in the list
+     * 
+     * @param index Position to insert the item at (0-based index)
+     * @param item Item to insert
+     */
+    @Override
+    public void add(int index, T item) {
+        checkPositionIndex(index);
+        insertAt(item, index);
+    }
+
+    /**
+     * Remove the item at a specific position in the list
+     * 
+     * @param index Position of the item (0-based index)
+     * @return the removed item
+     */
+    @Override
+    public T remove(int index) {
+        checkElementIndex(index);
+        Node node = node(index);
+        unlink(node);
+        return node.item;
+    }
+
+    /**
+     * Remove all items from the list
+     */
+    @Override
+    public void clear() {
+        head = null;
+        tail = null;
+        size = 0;
+        modCount++;
+    }
+
+    @Override
+    public void addFirst(T item) {
+        pushFront(item);
+    }
+
+    @Override
+    public void addLast(T item) {
+        pushBack(item);
+    }
+
+    @Override
+    public boolean offerFirst(T item) {
+        return pushFront(item);
+    }
+
+    @Override
+    public boolean offerLast(T item) {
+        return pushBack(item);
+    }
+
+    @Override
+    public T removeFirst() {
+        if (isEmpty())
+            throw new NoSuchElementException();
+        T item = head.item;
+        popFront();
+        return item;
+    }
+
+    @Override
+    public T removeLast() {
+        if (isEmpty())
+            throw new NoSuchElementException();
+        T item = tail.item;
+        popBack();
+        return item;
+    }
+
+    @Override
+    public T pollFirst() {
+        return isEmpty() ? null : removeFirst();
+    }
+
+    @Override
+    public T pollLast() {
+        return isEmpty() ? null : removeLast();
+    }
+
+    @Override
+    public T getFirst() {
+        if (isEmpty())
+            throw new NoSuchElementException();
+        return head.item;
+    }
+
+    @Override
+    public T getLast() {
+        if (isEmpty())
+            throw new NoSuchElementException();
+        return tail.item;
+    }
+
+    @Override
+    public T peekFirst() {
+        return isEmpty() ? null : head.item;
+    }
+
+    @Override
+    public T peekLast() {
+        return isEmpty() ? null : tail.item;
+    }
+
+    @Override
+    public boolean removeFirstOccurrence(Object item) {
+        for (Node current = head; current != null; current = current.next) {
+            if (Objects.equals(item, current.item)) {
+                unlink(current);
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public boolean removeLastOccurrence(Object item) {
+        for (Node current = tail; current != null; current = current.prev) {
+            if (Objects.equals(item, current.item)) {
+                unlink(current);
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public boolean offer(T item) {
+        return pushBack(item);
+    }
+
+    @Override
+    public T remove() {
+        return removeFirst();
+    }
+
+    @Override
+    public T poll() {
+        return pollFirst();
+    }
+
+    @Override
+    public T element() {
+        return getFirst();
+    }
+
+    @Override
+    public T peek() {
+        return peekFirst();
+    }
+
+    @Override
+    public void push(T item) {
+        pushFront(item);
+    }
+
+    @Override
+    public T pop() {
+        return removeFirst();
+    }
+
+    /**
+     * Append items to the end of the list. The items are linked into a chain first
+     * and the chain is attached at once, so the list is unchanged if the source fails
+     * 
+     * @param count Number of items to append
+     * @param source Supplier called once per item, in list order
+     */
+    public void load(int count, Supplier<? extends T> source) {
+        if (count < 0)
+            throw new IllegalArgumentException("Count must not be negative");
+        if (count == 0)
+            return;
+
+        Node first = new Node(source.get());
+        Node last = first;
+        for (int i = 1; i < count; i++) {
+            Node newNode = new Node(source.get());
+            last.next = newNode;
+            newNode.prev = last;
+            last = newNode;
+        }
+
+        if (isEmpty()) {
+            head = first;
+        } else {
+            tail.next = first;
+            first.prev = tail;
+        }
+        tail = last;
+        size += count;
+        modCount++;
+    }
+
+    /**
+     * Sort the list with a stable natural merge sort. Nodes are relinked in place,
+     * so no item is copied and only constant extra space is used
+     * 
+     * @param comparator Comparator defining the order of the items, null for their natural order
+     */
+    @Override
+    public void sort(Comparator<? super T> comparator) {
+        sortNodes(comparator, false);
+    }
+
+    /**
+     * Sort the list like {@link #sort(Comparator)}, splitting it into sublists that are
+     * sorted on the common fork-join pool and merged back together
+     * 
+     * @param comparator Comparator defining the order of the items, null for their natural order
+     */
+    public void parallelSort(Comparator<? super T> comparator) {
+        sortNodes(comparator, true);
+    }
+
+    /**
+     * Sort the nodes through {@link ChainSort}, restoring the head and tail even if the
+     * comparator throws, and rebuild the prev references
+     * 
+     * @param comparator Comparator defining the order of the items, null for their natural order
+     * @param parallel Whether to sort on the common fork-join pool
+     */
+    private void sortNodes(Comparator<? super T> comparator, boolean parallel) {
+        if (size < 2)
+            return;
+        if (comparator == null)
+            comparator = ChainSort.naturalOrder();
+
+        NodeSort sorter = new NodeSort();
+        Node dummy = new Node(null);
+        dummy.next = head;
+        try {
+            tail = sorter.sort(dummy, size, comparator, parallel);
+        } catch (RuntimeException | Error e) {
+            // The sort keeps every node on the chain when it fails, only the tail moved
+            tail = sorter.chainEnd(dummy);
+            throw e;
+        } finally {
+            head = dummy.next;
+            modCount++;
+            relinkPrev();
+        }
+    }
+
+    /**
+     * Insert an item after every item that does not compare greater than it, keeping
+     * a sorted list sorted
+     * 
+     * @param item Item to insert
+     * @param comparator Comparator the list is sorted by
+     * @return true if the item was inserted successfully, false otherwise
+     */
+    public boolean insertSorted(T item, Comparator<? super T> comparator) {
+        if (isEmpty() || comparator.compare(item, head.item) < 0)
+            return pushFront(item);
+        if (comparator.compare(item, tail.item) >= 0)
+            return pushBack(item);
+
+        Node current = head;
+        while (comparator.compare(item, current.next.item) >= 0) {
+            current = current.next;
+        }
+
+        try {
+            Node newNode = new Node(item, current.next, current);
+            current.next.prev = newNode;
+            current.next = newNode;
+            size++;
+            modCount++;
+            return true;
+        } catch (Exception e) {
+            return false;
+        }
+    }
+
+    /**
+     * Rebuild the prev references from the next references after a sort
+     */
+    private void relinkPrev() {
+        Node previous = null;
+        for (Node current = head; current != null; current = current.next) {
+            current.prev = previous;
+            previous = current;
+        }
+    }
+
+    /**
+     * Merge sort over the next references of the nodes of the list
+     */
+    private class NodeSort extends ChainSort<Node, T> {
+        @Override
+        protected Node next(Node node) {
+            return node.next;
+        }
+
+        @Override
+        protected void setNext(Node node, Node next) {
+            node.next = next;
+        }
+
+        @Override
+        protected T item(Node node) {
+            return node.item;
+        }
+
+        @Override
+        protected Node newDummy() {
+            return new Node(null);
+        }
+    }
+
+    /**
+     * Fail-fast list iterator moving along the next and prev references
+     */
+    private class ListItr implements ListIterator<T> {
+        /*
+         * Node returned by the next call to next(), null at the end of the list
+         */
+        Node next;
+        /*
+         * Node returned by the last call to next() or previous(), null once removed
+         */
+        Node lastReturned;
+        /*
+         * Position of next in the list
+         */
+        int nextIndex;
+        /*
+         * Modification count the iterator expects the list to have
+         */
+        int expectedModCount = modCount;
+
+        ListItr(int index) {
+            next = (index == size) ? null : node(index);
+            nextIndex = index;
+        }
+
+        public boolean hasNext() {
+            return nextIndex < size;
+        }
+
+        public T next() {
+            checkForComodification();
+            if (!hasNext())
+                throw new NoSuchElementException();
+            lastReturned = next;
+            next = next.next;
+            nextIndex++;
+            return lastReturned.item;
+        }
+
+        public boolean hasPrevious() {
+            return nextIndex > 0;
+        }
+
+        public T previous() {
+            checkForComodification();
+            if (!hasPrevious())
+                throw new NoSuchElementException();
+            next = (next == null) ? tail : next.prev;
+            lastReturned = next;
+            nextIndex--;
+            return lastReturned.item;
+        }
+
+        public int nextIndex() {
+            return nextIndex;
+        }
+
+        public int previousIndex() {
+            return nextIndex - 1;
+        }
+
+        public void remove() {
+            if (lastReturned == null)
+                throw new IllegalStateException();
+            checkForComodification();
+            Node following = lastReturned.next;
+            unlink(lastReturned);
+            if (next == lastReturned) {
+                next = following;
+            } else {
+                nextIndex--;
+            }
+            lastReturned = null;
+            expectedModCount = modCount;
+        }
+
+        public void set(T item) {
+            if (lastReturned == null)
+                throw new IllegalStateException();
+            checkForComodification();
+            lastReturned.item = item;
+        }
+
+        public void add(T item) {
+            checkForComodification();
+            lastReturned = null;
+            if (next == null) {
+                pushBack(item);
+            } else {
+                linkBefore(item, next);
+            }
+            nextIndex++;
+            expectedModCount = modCount;
+        }
+
+        private void checkForComodification() {
+            if (modCount != expectedModCount)
+                throw new ConcurrentModificationException();
+        }
+    }
+
+    /**
+     * Node at a specific position, walking from the closest end of the list
+     * 
+     * @param index Position of the node (0-based index)
+     * @return the node
+     */
+    private Node node(int index) {
+        Node current;
+        if (index < size / 2) {
+            current = head;
+            for (int i = 0; i < index; i++) {
+                current = current.next;
+            }
+        } else {
+            current = tail;
+            for (int i = size - 1; i > index; i--) {
+                current = current.prev;
+            }
+        }
+        return current;
+    }
+
+    /**
+     * Link a new node before a node of the list
+     * 
+     * @param item Item of the new node
+     * @param successor Node to link before
+     */
+    private void linkBefore(T item, Node successor) {
+        Node predecessor = successor.prev;
+        Node newNode = new Node(item, successor, predecessor);
+        successor.prev = newNode;
+        if (predecessor == null) {
+            head = newNode;
+        } else {
+            predecessor.next = newNode;
+        }
+        size++;
+        modCount++;
+    }
+
+    /**
+     * Unlink a node of the list
+     * 
+     * @param node Node to unlink
+     */
+    private void unlink(Node node) {
+        Node predecessor = node.prev;
+        Node successor = node.next;
+        if (predecessor == null) {
+            head = successor;
+        } else {
+            predecessor.next = successor;
+        }
+        if (successor == null) {
+            tail = predecessor;
+        } else {
+            successor.prev = predecessor;
+        }
+        node.next = null;
+        node.prev = null;
+        size--;
+        modCount++;
+    }
+
+    private void checkElementIndex(int index) {
+        if (index < 0 || index >= size)
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+    }
+
+    private void checkPositionIndex(int index) {
+        if (index < 0 || index > size)
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+    }
+
     /**
      * Reference to the head (first node) of the list
      */
@@ -0,0 +1,377 @@
+package com.gqcod3.datastructures.lists.doubly;
+
+import static com.gqcod3.datastructures.lists.doubly.ArenaLinks.NIL;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.function.IntConsumer;
+
+/**
+ * Arena-backed doubly linked list of ints
+ * <p>
+ * Same layout as {@link ArenaDoublyLinkedList}, with the items in an {@code int[]}
+ * instead of boxed in an {@code Object[]}: an element costs its value and two int
+ * links, with no object header, and is compared without {@code equals}. Because the
+ * values are contiguous, {@link #contains(int)} and {@link #count(int)} scan the used
+ * part of the array directly, and when the list has only ever been appended to (or was
+ * {@link #compact() compacted}) slot i holds position i, so {@link #indexOf(int)},
+ * {@link #search(int, int)}, {@link #get(int)} and {@link #set(int, int)} skip the
+ * links too.
+ * </p>
+ *
+ * <p>
+ * Scans are vectorized with {@code jdk.incubator.vector} when the JVM runs with
+ * {@code --add-modules jdk.incubator.vector}, comparing a whole vector of values per
+ * step, and fall back to a scalar loop otherwise; see {@link #isVectorized()}.
+ * </p>
+ *
+ * <p>
+ * {@link LongArenaList} is the same list for {@code long} values. The links, the positions
+ * and the compaction live in {@link ArenaLinks}, so each list only holds its value
+ * array and the methods reading or writing it.
+ * </p>
+ */
+public class IntArenaList {
+    /*
+     * Links of the nodes
+     */
+    private final ArenaLinks links;
+    /*
+     * Value of each slot, same length as the link arrays
+     */
+    private int[] values;
+
+    /**
+     * Constructor to create an empty list with the default capacity
+     */
+    public IntArenaList() {
+        this(ArenaLinks.DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Constructor to create an empty list able to hold a number of values before growing
+     *
+     * @param capacity Initial capacity of the arena
+     */
+    public IntArenaList(int capacity) {
+        links = new ArenaLinks(capacity);
+        values = new int[capacity];
+    }
+
+    /**
+     * Whether the scans use the vector API
+     *
+     * @return true if the {@code jdk.incubator.vector} module is present
+     */
+    public static boolean isVectorized() {
+        return ArenaSearch.VECTORIZED;
+    }
+
+    /**
+     * Check if the list is empty
+     *
+     * @return true if the list is empty, false otherwise
+     */
+    public boolean isEmpty() {
+        return links.size == 0;
+    }
+
+    /**
+     * Current size of the list
+     *
+     * @return size of the list
+     */
+    public int size() {
+        return links.size;
+    }
+
+    /**
+     * Add a value to the end of the list
+     *
+     * @param value Value to add
+     * @return true if the value was added successfully
+     */
+    public boolean pushBack(int value) {
+        linkBefore(value, NIL);
+        return true;
+    }
+
+    /**
+     * Add a value to the front of the list
+     *
+     * @param value Value to add
+     * @return true if the value was added successfully
+     */
+    public boolean pushFront(int value) {
+        linkBefore(value, links.head);
+        return true;
+    }
+
+    /**
+     * Insert a value at a specific position in the list
+     *
+     * @param value Value to insert
+     * @param pos Position to insert the value
+     * @return true if the value was inserted successfully, false otherwise
+     */
+    public boolean insertAt(int value, int pos) {
+        if (pos < 0 || pos > size())
+            return false;
+        linkBefore(value, (pos == size()) ? NIL : links.slot(pos));
+        return true;
+    }
+
+    /**
+     * Remove the value at the end of the list
+     *
+     * @return true if the value was deleted, false otherwise
+     */
+    public boolean popBack() {
+        if (isEmpty())
+            return false;
+        unlink(links.tail);
+        return true;
+    }
+
+    /**
+     * Remove the value at the front of the list
+     *
+     * @return true if the value was deleted, false otherwise
+     */
+    public boolean popFront() {
+        if (isEmpty())
+            return false;
+        unlink(links.head);
+        return true;
+    }
+
+    /**
+     * Remove a value at a specific position in the list
+     *
+     * @param pos Position of the value to remove
+     * @return true if the value was removed successfully, false otherwise
+     */
+    public boolean removeAt(int pos) {
+        if (pos < 0 || pos >= size())
+            return false;
+        unlink(links.slot(pos));
+        return true;
+    }
+
+    /**
+     * Value at a specific position in the list, in O(1) while the list is sequential
+     *
+     * @param index Position of the value (0-based index)
+     * @return the value
+     */
+    public int get(int index) {
+        links.checkElementIndex(index);
+        return values[links.slot(index)];
+    }
+
+    /**
+     * Replace the value at a specific position in the list
+     *
+     * @param index Position of the value (0-based index)
+     * @param value New value
+     * @return the replaced value
+     */
+    public int set(int index, int value) {
+        links.checkElementIndex(index);
+        int slot = links.slot(index);
+        int old = values[slot];
+        values[slot] = value;
+        return old;
+    }
+
+    /**
+     * First value of the list
+     *
+     * @return the first value
+     * @throws NoSuchElementException if the list is empty
+     */
+    public int getFirst() {
+        if (isEmpty())
+            throw new NoSuchElementException();
+        return values[links.head];
+    }
+
+    /**
+     * Last value of the list
+     *
+     * @return the last value
+     * @throws NoSuchElementException if the list is empty
+     */
+    public int getLast() {
+        if (isEmpty())
+            throw new NoSuchElementException();
+        return values[links.tail];
+    }
+
+    /**
+     * Remove and return the first value of the list
+     *
+     * @return the removed value
+     * @throws NoSuchElementException if the list is empty
+     */
+    public int removeFirst() {
+        if (isEmpty())
+            throw new NoSuchElementException();
+        return unlink(links.head);
+    }
+
+    /**
+     * Remove and return the last value of the list
+     *
+     * @return the removed value
+     * @throws NoSuchElementException if the list is empty
+     */
+    public int removeLast() {
+        if (isEmpty())
+            throw new NoSuchElementException();
+        return unlink(links.tail);
+    }
+
+    /**
+     * Check if a value is in the list by scanning the used part of the array. Freed
+     * slots keep their old value, so a hit in a freed slot is skipped
+     *
+     * @param value Value to search for
+     * @return true if the list holds the value, false otherwise
+     */
+    public boolean contains(int value) {
+        int used = links.used();
+        int slot = ArenaSearch.indexOf(values, 0, used, value);
+        if (!links.hasFree())
+            return slot >= 0;
+        while (slot >= 0 && !links.isLinked(slot)) {
+            slot = ArenaSearch.indexOf(values, slot + 1, used, value);
+        }
+        return slot >= 0;
+    }
+
+    /**
+     * Number of occurrences of a value in the list: the matches in the used part of the
+     * array, minus the ones in freed slots
+     *
+     * @param value Value to count
+     * @return the number of positions holding the value
+     */
+    public int count(int value) {
+        int count = ArenaSearch.count(values, links.used(), value);
+        int[] next = links.next;
+        for (int slot = links.firstFree(); slot != NIL; slot = next[slot]) {
+            if (values[slot] == value)
+                count--;
+        }
+        return count;
+    }
+
+    /**
+     * Position of the first occurrence of a value. The scan runs over the array while
+     * the list is sequential and walks the links otherwise
+     *
+     * @param value Value to search for
+     * @return the position of the value (0-based index), or -1 if it is not in the list
+     */
+    public int indexOf(int value) {
+        return search(value, 0);
+    }
+
+    /**
+     * Position of the first occurrence of a value at or after a position
+     *
+     * @param value Value to search for
+     * @param from Position to start searching from (0-based index)
+     * @return the position of the value (0-based index), or -1 if it is not found
+     */
+    public int search(int value, int from) {
+        if (from < 0)
+            from = 0;
+        if (from >= size())
+            return -1;
+        if (links.isSequential())
+            return ArenaSearch.indexOf(values, from, size(), value);
+
+        int[] next = links.next;
+        int index = from;
+        for (int current = links.slot(from); current != NIL; current = next[current]) {
+            if (values[current] == value)
+                return index;
+            index++;
+        }
+        return -1;
+    }
+
+    /**
+     * Perform the given action on each value from head to tail
+     *
+     * @param action Action to perform on each value
+     */
+    public void forEach(IntConsumer action) {
+        int[] next = links.next;
+        for (int current = links.head; current != NIL; current = next[current]) {
+            action.accept(values[current]);
+        }
+    }
+
+    /**
+     * Values of the list, from head to tail
+     *
+     * @return a new array with the values
+     */
+    public int[] toArray() {
+        if (links.isSequential())
+            return Arrays.copyOf(values, size());
+        int[] array = new int[size()];
+        int[] next = links.next;
+        int index = 0;
+        for (int current = links.head; current != NIL; current = next[current]) {
+            array[index++] = values[current];
+        }
+        return array;
+    }
+
+    /**
+     * Move the values so that slot i holds position i, dropping the freed slots. Makes
+     * the list sequential again after removals or inserts before the end, so the
+     * position-based methods skip the links. O(n)
+     */
+    public void compact() {
+        links.compact(values);
+    }
+
+    /**
+     * Remove all values from the list. The links are reset in O(1); the capacity is kept
+     */
+    public void clear() {
+        links.reset();
+    }
+
+    /**
+     * Link a new node before a node of the list, growing the values array along with
+     * the links
+     *
+     * @param value Value of the new node
+     * @param successor Slot to link before, or NIL to link at the end
+     */
+    private void linkBefore(int value, int successor) {
+        int slot = links.allocate();
+        if (values.length < links.capacity())
+            values = Arrays.copyOf(values, links.capacity());
+        values[slot] = value;
+        links.linkBefore(slot, successor);
+    }
+
+    /**
+     * Unlink a node from the list and free its slot
+     *
+     * @param slot Slot of the node
+     * @return the value of the node
+     */
+    private int unlink(int slot) {
+        int value = values[slot];
+        links.unlink(slot);
+        return value;
+    }
+}
@@ -0,0 +1,120 @@
+package com.gqcod3.datastructures.lists.doubly;
+
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.LongVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * Vectorized scans used by {@link ArenaSearch}
+ * <p>
+ * Compares a whole vector of values per step with the preferred species of the
+ * platform, 8 ints or 4 longs on AVX2, and finishes the range with a scalar tail. Only
+ * loaded when the {@code jdk.incubator.vector} module is present.
+ * </p>
+ */
+final class VectorKernels {
+    /**
+     * Widest int vector shape of the platform
+     */
+    private static final VectorSpecies<Integer> INTS = IntVector.SPECIES_PREFERRED;
+    /**
+     * Widest long vector shape of the platform
+     */
+    private static final VectorSpecies<Long> LONGS = LongVector.SPECIES_PREFERRED;
+
+    private VectorKernels() {
+    }
+
+    /**
+     * First index of a value in a range of an int array, a vector at a time
+     *
+     * @param values Array to scan
+     * @param from First index to scan
+     * @param to Index after the last one to scan
+     * @param value Value to look for
+     * @return the first matching index, or -1
+     */
+    static int indexOf(int[] values, int from, int to, int value) {
+        int i = from;
+        int bound = from + INTS.loopBound(to - from);
+        for (; i < bound; i += INTS.length()) {
+            VectorMask<Integer> matches = IntVector.fromArray(INTS, values, i).eq(value);
+            if (matches.anyTrue())
+                return i + matches.firstTrue();
+        }
+        for (; i < to; i++) {
+            if (values[i] == value)
+                return i;
+        }
+        return -1;
+    }
+
+    /**
+     * First index of a value in a range of a long array, a vector at a time
+     *
+     * @param values Array to scan
+     * @param from First index to scan
+     * @param to Index after the last one to scan
+     * @param value Value to look for
+     * @return the first matching index, or -1
+     */
+    static int indexOf(long[] values, int from, int to, long value) {
+        int i = from;
+        int bound = from + LONGS.loopBound(to - from);
+        for (; i < bound; i += LONGS.length()) {
+            VectorMask<Long> matches = LongVector.fromArray(LONGS, values, i).eq(value);
+            if (matches.anyTrue())
+                return i + matches.firstTrue();
+        }
+        for (; i < to; i++) {
+            if (values[i] == value)
+                return i;
+        }
+        return -1;
+    }
+
+    /**
+     * Number of occurrences of a value in the start of an int array, a vector at a time
+     *
+     * @param values Array to scan
+     * @param to Index after the last one to scan
+     * @param value Value to count
+     * @return the number of matching indexes below to
+     */
+    static int count(int[] values, int to, int value) {
+        int count = 0;
+        int i = 0;
+        int bound = INTS.loopBound(to);
+        for (; i < bound; i += INTS.length()) {
+            count += IntVector.fromArray(INTS, values, i).eq(value).trueCount();
+        }
+        for (; i < to; i++) {
+            if (values[i] == value)
+                count++;
+        }
+        return count;
+    }
+
+    /**
+     * Number of occurrences of a value in the start of a long array, a vector at a time
+     *
+     * @param values Array to scan
+     * @param to Index after the last one to scan
+     * @param value Value to count
+     * @return the number of matching indexes below to
+     */
+    static int count(long[] values, int to, long value) {
+        int count = 0;
+        int i = 0;
+        int bound = LONGS.loopBound(to);
+        for (; i < bound; i += LONGS.length()) {
+            count += LongVector.fromArray(LONGS, values, i).eq(value).trueCount();
+        }
+        for (; i < to; i++) {
+            if (values[i] == value)
+                count++;
+        }
+        return count;
+    }
+}
@@ -0,0 +1,272 @@
+package com.gqcod3.datastructures.lists.singly;
+
+import java.util.AbstractSet;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.atomic.AtomicMarkableReference;
+
+/**
+ * Lock-free sorted set over a singly linked chain
+ * <p>
+ * The items are kept in ascending order in a chain of nodes like the one of
+ * {@link SinglyLinkedList}, each holding its next reference together with a mark bit.
+ * Removal follows Harris and Michael: a node is first removed logically by marking its
+ * next reference, which also freezes it so nothing can be linked after it, and then
+ * unlinked physically by a compare-and-set on its predecessor. Threads adding or
+ * removing help unlink the marked nodes they walk past, so no operation waits for
+ * another.
+ * </p>
+ *
+ * <p>
+ * {@link #contains(Object)} is wait-free: it walks the chain once without helping or
+ * retrying and reports the item as present if its node is unmarked. Iterators are
+ * weakly consistent, returning the items in order and skipping the removed ones; they
+ * never throw {@link java.util.ConcurrentModificationException}. {@link #size()} walks
+ * the chain, so it is O(n) and only exact while the set is not modified. Null items
+ * are not allowed.
+ * </p>
+ * @param <T> Type of items in the set
+ */
+public class ConcurrentSortedLinkedSet<T> extends AbstractSet<T> {
+
+    /**
+     * Node class representing each item in the set
+     */
+    private class Node {
+        /*
+         * Item stored in the node, null for the head sentinel
+         */
+        final T item;
+        /**
+         * Reference to the next node, marked once this node is removed
+         */
+        final AtomicMarkableReference<Node> next;
+        /*
+         * Constructor to create a new node
+         */
+        Node(T item, Node next) {
+            this.item = item;
+            this.next = new AtomicMarkableReference<>(next, false);
+        }
+    }
+
+    /**
+     * Pair of adjacent unmarked nodes found by {@link #find(Object)}
+     */
+    private class Window {
+        final Node pred;
+        final Node curr;
+
+        Window(Node pred, Node curr) {
+            this.pred = pred;
+            this.curr = curr;
+        }
+    }
+
+    /**
+     * Sentinel preceding the first node; never removed
+     */
+    private final Node head = new Node(null, null);
+    /**
+     * Comparator defining the order of the items
+     */
+    private final Comparator<? super T> comparator;
+
+    /**
+     * Constructor to create an empty set ordered by the natural order of its items
+     */
+    public ConcurrentSortedLinkedSet() {
+        this(null);
+    }
+
+    /**
+     * Constructor to create an empty set
+     * @param comparator Comparator defining the order of the items, null for their natural order
+     */
+    @SuppressWarnings("unchecked")
+    public ConcurrentSortedLinkedSet(Comparator<? super T> comparator) {
+        this.comparator = (comparator != null) ? comparator
+                : (a, b) -> ((Comparable<? super T>) a).compareTo(b);
+    }
+
+    /**
+     * Add an item unless an equal one is in the set
+     * @param item Item to add
+     * @return true if the item was added, false if an equal item was present
+     * @throws IllegalArgumentException if the item is null
+     */
+    @Override
+    public boolean add(T item) {
+        if (item == null)
+            throw new IllegalArgumentException("Item must not be null");
+
+        while (true) {
+            Window window = find(item);
+            Node curr = window.curr;
+            if (curr != null && comparator.compare(curr.item, item) == 0)
+                return false;
+            Node node = new Node(item, curr);
+            if (window.pred.next.compareAndSet(curr, node, false, false))
+                return true;
+        }
+    }
+
+    /**
+     * Remove an item: mark its node, then try to unlink it
+     * @param item Item to remove
+     * @return true if the item was removed by this call, false if it was not present
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public boolean remove(Object item) {
+        if (item == null)
+            return false;
+        T key = (T) item;
+
+        while (true) {
+            Window window = find(key);
+            Node curr = window.curr;
+            if (curr == null || comparator.compare(curr.item, key) != 0)
+                return false;
+            Node succ = curr.next.getReference();
+            // Only one remover may flip the mark; a node another thread marked is gone
+            if (!curr.next.compareAndSet(succ, succ, false, true))
+                continue;
+            // Unlinking may fail if pred changed; a later find then unlinks the node
+            window.pred.next.compareAndSet(curr, succ, false, false);
+            return true;
+        }
+    }
+
+    /**
+     * Check if an item is in the set, in a single walk without helping or retrying
+     * @param item Item to search for
+     * @return true if an unremoved node holds an equal item, false otherwise
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public boolean contains(Object item) {
+        if (item == null)
+            return false;
+        T key = (T) item;
+
+        Node curr = head.next.getReference();
+        while (curr != null && comparator.compare(curr.item, key) < 0) {
+            curr = curr.next.getReference();
+        }
+        return curr != null && comparator.compare(curr.item, key) == 0 && !curr.next.isMarked();
+    }
+
+    /**
+     * Number of items in the set, counted by walking the chain
+     * @return the number of unremoved nodes
+     */
+    @Override
+    public int size() {
+        int count = 0;
+        for (Node curr = head.next.getReference(); curr != null; curr = curr.next.getReference()) {
+            if (!curr.next.isMarked())
+                count++;
+        }
+        return count;
+    }
+
+    /**
+     * Check if the set is empty
+     * @return true if no unremoved node is in the chain, false otherwise
+     */
+    @Override
+    public boolean isEmpty() {
+        for (Node curr = head.next.getReference(); curr != null; curr = curr.next.getReference()) {
+            if (!curr.next.isMarked())
+                return false;
+        }
+        return true;
+    }
+
+    /**
+     * Weakly consistent iterator over the items in ascending order. It removes through
+     * {@link #remove(Object)}
+     * @return an iterator over the items
+     */
+    @Override
+    public Iterator<T> iterator() {
+        return new Iterator<T>() {
+            Node nextNode = advance(head);
+            T lastReturned;
+
+            public boolean hasNext() {
+                return nextNode != null;
+            }
+
+            public T next() {
+                if (nextNode == null)
+                    throw new NoSuchElementException();
+                lastReturned = nextNode.item;
+                nextNode = advance(nextNode);
+                return lastReturned;
+            }
+
+            public void remove() {
+                if (lastReturned == null)
+                    throw new IllegalStateException();
+                ConcurrentSortedLinkedSet.this.remove(lastReturned);
+                lastReturned = null;
+            }
+        };
+    }
+
+    /**
+     * Comparator defining the order of the items
+     * @return the comparator of the set
+     */
+    public Comparator<? super T> comparator() {
+        return comparator;
+    }
+
+    /**
+     * Find the first unmarked node after a node
+     * @param node Node to start after
+     * @return the next unremoved node, or null at the end of the chain
+     */
+    private Node advance(Node node) {
+        Node curr = node.next.getReference();
+        while (curr != null && curr.next.isMarked()) {
+            curr = curr.next.getReference();
+        }
+        return curr;
+    }
+
+    /**
+     * Find the window around an item: pred holds a smaller item (or is the head) and curr
+     * the first item not smaller, or null. Marked nodes met on the way are unlinked, and
+     * the walk restarts from the head when an unlink fails
+     * @param item Item to locate
+     * @return the unmarked pair of adjacent nodes around the item
+     */
+    private Window find(T item) {
+        boolean[] marked = { false };
+        retry:
+        while (true) {
+            Node pred = head;
+            Node curr = pred.next.getReference();
+            while (curr != null) {
+                Node succ = curr.next.get(marked);
+                while (marked[0]) {
+                    if (!pred.next.compareAndSet(curr, succ, false, false))
+                        continue retry;
+                    curr = succ;
+                    if (curr == null)
+                        return new Window(pred, null);
+                    succ = curr.next.get(marked);
+                }
+                if (comparator.compare(curr.item, item) >= 0)
+                    return new Window(pred, curr);
+                pred = curr;
+                curr = succ;
+            }
+            return new Window(pred, null);
+        }
+    }
+}
@@ -1,10 +1,36 @@
 package com.gqcod3.datastructures.lists.singly;
 
+import java.lang.reflect.Array;
+import java.util.AbstractSequentialList;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.ConcurrentModificationException;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.ListIterator;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+import com.gqcod3.datastructures.filter.CountingBloomFilter;
+import com.gqcod3.datastructures.lists.ChainSort;
+import com.gqcod3.datastructures.lists.ListView;
+
 /**
  * Singly linked list implementation in Java
+ * <p>
+ * Implements {@link java.util.List} so the list can be handed to library code without
+ * copying it. Iterators are fail-fast; since nodes only link forward, moving a list
+ * iterator backwards walks again from the head of the list.
+ * </p>
  * @param <T> Type of elements in the list
  */
-public class SinglyLinkedList<T> {
+public class SinglyLinkedList<T> extends AbstractSequentialList<T> {
 
     /**
      * Node class representing each element in the list
@@ -48,6 +74,7 @@ public class SinglyLinkedList<T> {
      * Check if the list is empty
      * @return true if the list is empty, false otherwise
      */
+    @Override
     public boolean isEmpty() {
         return head == null && tail == null;
     }
@@ -56,6 +83,7 @@ public class SinglyLinkedList<T> {
      * Current size of the list
      * @return size of the list
      */
+    @Override
     public int size() {
         return size;
     }
@@ -76,6 +104,9 @@ public class SinglyLinkedList<T> {
                 tail = newNode;
             }
             size++;
+            modCount++;
+            if (filter != null)
+                filter.add(item);
             return true;
         } catch (Exception e) {
             return false;
@@ -98,6 +129,9 @@ public class SinglyLinkedList<T> {
                 head = newNode;
             }
             size++;
+            modCount++;
+            if (filter != null)
+                filter.add(item);
             return true;
         } catch (Exception e) {
             return false;
@@ -128,6 +162,9 @@ public class SinglyLinkedList<T> {
             Node newNode = new Node(item, current.next);
             current.next = newNode;
             size++;
+            modCount++;
+            if (filter != null)
+                filter.add(item);
             return true;
         } catch (Exception e) {
             return false;
@@ -140,6 +177,9 @@ public class SinglyLinkedList<T> {
      * @return The item if found, null otherwise
      */
     public T search(T item) {
+        if (filter != null && !filter.mightContain(item))
+            return null;
+
         Node current = head;
         while (current != null) {
             if (current.item.equals(item)) {
@@ -147,18 +187,769 @@ public class SinglyLinkedList<T> {
             }
             current = current.next;
         }
+        if (filter != null)
+            filter.recordFalsePositive();
         return null;
     }
 
-    public void iterator() {
+    /**
+     * Fail-fast iterator over the items of the list, from head to tail
+     * @return an iterator over the items
+     */
+    @Override
+    public Iterator<T> iterator() {
+        return new ListItr(0);
+    }
+
+    /**
+     * Fail-fast list iterator starting at a specific position. Moving it backwards
+     * walks again from the head of the list
+     * @param index Position of the first item returned by next() (0-based index)
+     * @return a list iterator over the items
+     */
+    @Override
+    public ListIterator<T> listIterator(int index) {
+        if (index < 0 || index > size)
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        return new ListItr(index);
+    }
+
+    /**
+     * Perform the given action on each item, walking the nodes directly
+     * @param action Action to perform on each item
+     */
+    @Override
+    public void forEach(Consumer<? super T> action) {
+        int expectedModCount = modCount;
+        Node current = head;
+        while (current != null) {
+            action.accept(current.item);
+            current = current.next;
+        }
+        if (modCount != expectedModCount)
+            throw new ConcurrentModificationException();
+    }
+
+    /**
+     * Lazy view over the items from head to tail. Its stages run as a single walk over
+     * the nodes when a terminal operation is called, which fails fast if the list changes
+     * @return a view over the items
+     */
+    public ListView<T> view() {
+        return new ListView<>(sink -> {
+            int expectedModCount = modCount;
+            Node current = head;
+            while (current != null && sink.test(current.item)) {
+                current = current.next;
+            }
+            if (modCount != expectedModCount)
+                throw new ConcurrentModificationException();
+        });
+    }
+
+    /**
+     * Add an item to the end of the list
+     * @param item Item to add
+     * @return true if the item was added successfully, false otherwise
+     */
+    @Override
+    public boolean add(T item) {
+        return pushBack(item);
+    }
+
+    /**
+     * Insert an item at a specific position in the list
+     * @param index Position to insert the item at (0-based index)
+     * @param item Item to insert
+     */
+    @Override
+    public void add(int index, T item) {
+        if (index < 0 || index > size)
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        insertAt(item, index);
+    }
+
+    /**
+     * Remove all items from the list
+     */
+    @Override
+    public void clear() {
+        head = null;
+        tail = null;
+        size = 0;
+        modCount++;
+        if (filter != null)
+            filter.clear();
+    }
+
+    /**
+     * Iterate over the items in the list and perform the given action on each item
+     * @param action Action to perform on each item
+     */
+    public void iterator(Consumer<T> action) {
         Node current = head;
         while (current != null) {
-            System.out.print(current.item + " -> ");
+            action.accept(current.item);
             current = current.next;
         }
-        System.out.println("null");
     }
 
+    /**
+     * Append items to the end of the list. The items are linked into a chain first
+     * and the chain is attached at once, so the list is unchanged if the source fails
+     * @param count Number of items to append
+     * @param source Supplier called once per item, in list order
+     */
+    public void load(int count, Supplier<? extends T> source) {
+        if (count < 0)
+            throw new IllegalArgumentException("Count must not be negative");
+        if (count == 0)
+            return;
+
+        Node first = new Node(source.get());
+        Node last = first;
+        for (int i = 1; i < count; i++) {
+            last.next = new Node(source.get());
+            last = last.next;
+        }
+
+        if (isEmpty()) {
+            head = first;
+        } else {
+            tail.next = first;
+        }
+        tail = last;
+        size += count;
+        modCount++;
+        if (filter != null) {
+            for (Node current = first; current != null; current = current.next) {
+                filter.add(current.item);
+            }
+        }
+    }
+
+    /**
+     * Enable a counting Bloom filter that lets {@link #search(Object)} reject most absent
+     * items without walking the list. The filter is built from the current items and kept
+     * up to date by every operation; its metrics are available from {@link #filter()}.
+     * Items must not change their hash code while in the list
+     * @param expectedItems Number of items the list is expected to hold
+     * @param falsePositiveRate Target share of absent items that still need a walk
+     */
+    public void enableFilter(int expectedItems, double falsePositiveRate) {
+        CountingBloomFilter newFilter = new CountingBloomFilter(expectedItems, falsePositiveRate);
+        for (Node current = head; current != null; current = current.next) {
+            newFilter.add(current.item);
+        }
+        filter = newFilter;
+    }
+
+    /**
+     * Disable the filter of {@link #search(Object)}
+     */
+    public void disableFilter() {
+        filter = null;
+    }
+
+    /**
+     * Filter of {@link #search(Object)}, to read its metrics
+     * @return the filter, or null if it is disabled
+     */
+    public CountingBloomFilter filter() {
+        return filter;
+    }
+
+    /**
+     * Sort the list with a stable natural merge sort. Nodes are relinked in place,
+     * so no item is copied and only constant extra space is used
+     * @param comparator Comparator defining the order of the items, null for their natural order
+     */
+    @Override
+    public void sort(Comparator<? super T> comparator) {
+        sortNodes(comparator, false);
+    }
+
+    /**
+     * Sort the list like {@link #sort(Comparator)}, splitting it into sublists that are
+     * sorted on the common fork-join pool and merged back together
+     * @param comparator Comparator defining the order of the items, null for their natural order
+     */
+    public void parallelSort(Comparator<? super T> comparator) {
+        sortNodes(comparator, true);
+    }
+
+    /**
+     * Sort the nodes through {@link ChainSort}, restoring the head and tail even if the
+     * comparator throws
+     * @param comparator Comparator defining the order of the items, null for their natural order
+     * @param parallel Whether to sort on the common fork-join pool
+     */
+    private void sortNodes(Comparator<? super T> comparator, boolean parallel) {
+        if (size < 2)
+            return;
+        if (comparator == null)
+            comparator = ChainSort.naturalOrder();
+
+        NodeSort sorter = new NodeSort();
+        Node dummy = new Node(null);
+        dummy.next = head;
+        try {
+            tail = sorter.sort(dummy, size, comparator, parallel);
+        } catch (RuntimeException | Error e) {
+            // The sort keeps every node on the chain when it fails, only the tail moved
+            tail = sorter.chainEnd(dummy);
+            throw e;
+        } finally {
+            head = dummy.next;
+            modCount++;
+        }
+    }
+
+    /**
+     * Merge sorted lists into a new sorted list. Nodes are relinked through a min-heap
+     * of the current heads, in O(n log k) for k lists and n items, without copying any
+     * item. The merge is stable: equal items keep the order of their lists and, within
+     * a list, their own order. The given lists are left empty, or untouched if the
+     * comparator throws
+     * @param comparator Comparator the lists are sorted by, null for their natural order
+     * @param lists Lists to merge, each sorted by the comparator
+     * @param <T> Type of elements in the lists
+     * @return a list holding the nodes of every given list
+     * @throws IllegalArgumentException if a list is null or given twice
+     */
+    @SafeVarargs
+    public static <T> SinglyLinkedList<T> merge(Comparator<? super T> comparator, SinglyLinkedList<T>... lists) {
+        // Copied element by element, so the generic array itself never escapes
+        List<SinglyLinkedList<T>> inputs = new ArrayList<>(lists.length);
+        for (SinglyLinkedList<T> list : lists) {
+            inputs.add(list);
+        }
+        SinglyLinkedList<T> result = new SinglyLinkedList<>();
+        result.mergeFrom(comparator, inputs, false);
+        return result;
+    }
+
+    /**
+     * Merge sorted lists like {@link #merge(Comparator, SinglyLinkedList[])}, as a
+     * tournament on the common fork-join pool: halves of the lists are merged in
+     * parallel and their results merged pairwise, down to groups small enough to be
+     * merged through a heap. Worth it for many large lists
+     * @param comparator Comparator the lists are sorted by, null for their natural order
+     * @param lists Lists to merge, each sorted by the comparator
+     * @param <T> Type of elements in the lists
+     * @return a list holding the nodes of every given list
+     * @throws IllegalArgumentException if a list is null or given twice
+     */
+    @SafeVarargs
+    public static <T> SinglyLinkedList<T> parallelMerge(Comparator<? super T> comparator, SinglyLinkedList<T>... lists) {
+        // Copied element by element, so the generic array itself never escapes
+        List<SinglyLinkedList<T>> inputs = new ArrayList<>(lists.length);
+        for (SinglyLinkedList<T> list : lists) {
+            inputs.add(list);
+        }
+        SinglyLinkedList<T> result = new SinglyLinkedList<>();
+        result.mergeFrom(comparator, inputs, true);
+        return result;
+    }
+
+    /**
+     * Take the nodes of sorted lists into this empty list, merging them, and leave the
+     * lists empty. The lists are only detached once the merge succeeded: if the
+     * comparator throws, their nodes are relinked in their original order
+     * @param comparator Comparator the lists are sorted by, null for their natural order
+     * @param lists Lists to merge
+     * @param parallel Whether to merge on the common fork-join pool
+     */
+    private void mergeFrom(Comparator<? super T> comparator, List<SinglyLinkedList<T>> lists, boolean parallel) {
+        Set<SinglyLinkedList<T>> seen = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (SinglyLinkedList<T> list : lists) {
+            if (list == null)
+                throw new IllegalArgumentException("List must not be null");
+            if (!seen.add(list))
+                throw new IllegalArgumentException("List must not be given twice");
+        }
+        if (comparator == null)
+            comparator = ChainSort.naturalOrder();
+
+        List<Node> chains = new ArrayList<>(lists.size());
+        List<Integer> counts = new ArrayList<>(lists.size());
+        int total = 0;
+        for (SinglyLinkedList<T> list : lists) {
+            if (list.isEmpty())
+                continue;
+            chains.add(list.head);
+            counts.add(list.size);
+            total += list.size;
+        }
+        if (chains.isEmpty())
+            return;
+
+        // The merge relinks nodes as it goes, so keep their original order to undo it
+        @SuppressWarnings("unchecked")
+        Node[] original = (Node[]) Array.newInstance(Node.class, total);
+        int index = 0;
+        for (Node chain : chains) {
+            for (Node node = chain; node != null; node = node.next) {
+                original[index++] = node;
+            }
+        }
+
+        try {
+            if (parallel && chains.size() > MERGE_FAN_IN && total > ChainSort.PARALLEL_THRESHOLD) {
+                int[] sizes = counts.stream().mapToInt(Integer::intValue).toArray();
+                MergeTask task = new MergeTask(chains, sizes, 0, chains.size(), comparator);
+                ForkJoinPool.commonPool().invoke(task);
+                head = task.first;
+                tail = task.last;
+            } else {
+                Node dummy = new Node(null);
+                tail = heapMerge(dummy, chains, 0, chains.size(), comparator);
+                head = dummy.next;
+            }
+        } catch (RuntimeException | Error e) {
+            relink(original, counts);
+            head = null;
+            tail = null;
+            throw e;
+        }
+        size = total;
+        modCount++;
+
+        for (SinglyLinkedList<T> list : lists) {
+            if (list.isEmpty())
+                continue;
+            list.head = null;
+            list.tail = null;
+            list.size = 0;
+            list.modCount++;
+            if (list.filter != null)
+                list.filter.clear();
+        }
+    }
+
+    /**
+     * Relink nodes into their original chains after a failed merge
+     * @param original Nodes of every chain, one chain after the other, in their original order
+     * @param counts Number of nodes of each chain
+     */
+    private void relink(Node[] original, List<Integer> counts) {
+        int index = 0;
+        for (int count : counts) {
+            int end = index + count - 1;
+            for (; index < end; index++) {
+                original[index].next = original[index + 1];
+            }
+            original[index++].next = null;
+        }
+    }
+
+    /**
+     * Merge sorted null-terminated chains after a node through a min-heap of their
+     * current heads. Ties go to the chain given first, so the merge is stable
+     * @param last Node the merged chain is linked after
+     * @param chains Chains to merge
+     * @param from Index of the first chain to merge
+     * @param to Index after the last chain to merge
+     * @param comparator Comparator defining the order of the items
+     * @return the last node of the merged chain
+     */
+    private Node heapMerge(Node last, List<Node> chains, int from, int to, Comparator<? super T> comparator) {
+        // heap[i] is the current head of chain source[i]; the order is by item, then by source
+        @SuppressWarnings("unchecked")
+        Node[] heap = (Node[]) Array.newInstance(Node.class, to - from);
+        int[] source = new int[to - from];
+        int count = 0;
+        for (int i = from; i < to; i++) {
+            heap[count] = chains.get(i);
+            source[count] = i;
+            siftUp(heap, source, count++, comparator);
+        }
+
+        while (count > 0) {
+            Node min = heap[0];
+            last.next = min;
+            last = min;
+            if (min.next != null) {
+                heap[0] = min.next;
+            } else {
+                count--;
+                heap[0] = heap[count];
+                source[0] = source[count];
+                heap[count] = null;
+            }
+            siftDown(heap, source, count, comparator);
+        }
+        last.next = null;
+        return last;
+    }
+
+    /**
+     * Move the heap entry at an index up until its parent is not greater
+     * @param heap Heads of the chains
+     * @param source Chain of each head
+     * @param index Index of the entry to move
+     * @param comparator Comparator defining the order of the items
+     */
+    private void siftUp(Node[] heap, int[] source, int index, Comparator<? super T> comparator) {
+        while (index > 0) {
+            int parent = (index - 1) / 2;
+            if (!heapLess(heap, source, index, parent, comparator))
+                return;
+            swap(heap, source, index, parent);
+            index = parent;
+        }
+    }
+
+    /**
+     * Move the root heap entry down until no child is smaller
+     * @param heap Heads of the chains
+     * @param source Chain of each head
+     * @param count Number of entries in the heap
+     * @param comparator Comparator defining the order of the items
+     */
+    private void siftDown(Node[] heap, int[] source, int count, Comparator<? super T> comparator) {
+        int index = 0;
+        while (true) {
+            int smallest = index;
+            int left = 2 * index + 1;
+            int right = left + 1;
+            if (left < count && heapLess(heap, source, left, smallest, comparator))
+                smallest = left;
+            if (right < count && heapLess(heap, source, right, smallest, comparator))
+                smallest = right;
+            if (smallest == index)
+                return;
+            swap(heap, source, index, smallest);
+            index = smallest;
+        }
+    }
+
+    /**
+     * Compare two heap entries by item, then by chain
+     * @param heap Heads of the chains
+     * @param source Chain of each head
+     * @param i Index of the first entry
+     * @param j Index of the second entry
+     * @param comparator Comparator defining the order of the items
+     * @return true if the entry at i comes before the entry at j
+     */
+    private boolean heapLess(Node[] heap, int[] source, int i, int j, Comparator<? super T> comparator) {
+        int order = comparator.compare(heap[i].item, heap[j].item);
+        return order < 0 || (order == 0 && source[i] < source[j]);
+    }
+
+    /**
+     * Swap two heap entries
+     * @param heap Heads of the chains
+     * @param source Chain of each head
+     * @param i Index of the first entry
+     * @param j Index of the second entry
+     */
+    private static void swap(Object[] heap, int[] source, int i, int j) {
+        Object node = heap[i];
+        heap[i] = heap[j];
+        heap[j] = node;
+        int chain = source[i];
+        source[i] = source[j];
+        source[j] = chain;
+    }
+
+    /**
+     * Insert an item after every item that does not compare greater than it, keeping
+     * a sorted list sorted
+     * @param item Item to insert
+     * @param comparator Comparator the list is sorted by
+     * @return true if the item was inserted successfully, false otherwise
+     */
+    public boolean insertSorted(T item, Comparator<? super T> comparator) {
+        if (isEmpty() || comparator.compare(item, head.item) < 0)
+            return pushFront(item);
+        if (comparator.compare(item, tail.item) >= 0)
+            return pushBack(item);
+
+        Node current = head;
+        while (comparator.compare(item, current.next.item) >= 0) {
+            current = current.next;
+        }
+
+        try {
+            Node newNode = new Node(item, current.next);
+            current.next = newNode;
+            size++;
+            modCount++;
+            if (filter != null)
+                filter.add(item);
+            return true;
+        } catch (Exception e) {
+            return false;
+        }
+    }
+
+    /**
+     * Fork-join task merging a range of sorted chains: small ranges go through a heap,
+     * larger ones are split in halves merged in parallel and then merged together
+     */
+    @SuppressWarnings("serial") // never serialized, only run on the fork-join pool
+    private class MergeTask extends RecursiveAction {
+        /*
+         * First node of the merged chain once the task completed
+         */
+        Node first;
+        /*
+         * Last node of the merged chain once the task completed
+         */
+        Node last;
+        /*
+         * Chains to merge, and their number of nodes
+         */
+        final List<Node> chains;
+        final int[] counts;
+        /*
+         * Range of chains merged by this task
+         */
+        final int from;
+        final int to;
+        /*
+         * Comparator defining the order of the items
+         */
+        final Comparator<? super T> comparator;
+
+        MergeTask(List<Node> chains, int[] counts, int from, int to, Comparator<? super T> comparator) {
+            this.chains = chains;
+            this.counts = counts;
+            this.from = from;
+            this.to = to;
+            this.comparator = comparator;
+        }
+
+        @Override
+        protected void compute() {
+            Node dummy = new Node(null);
+            int total = 0;
+            for (int i = from; i < to; i++) {
+                total += counts[i];
+            }
+            if (to - from <= MERGE_FAN_IN || total <= ChainSort.PARALLEL_THRESHOLD) {
+                last = heapMerge(dummy, chains, from, to, comparator);
+                first = dummy.next;
+                return;
+            }
+
+            int middle = (from + to) >>> 1;
+            MergeTask left = new MergeTask(chains, counts, from, middle, comparator);
+            MergeTask right = new MergeTask(chains, counts, middle, to, comparator);
+            ChainSort.invokeBoth(left, right);
+            last = new NodeSort().mergeRuns(dummy, left.first, right.first, comparator);
+            first = dummy.next;
+        }
+    }
+
+    /**
+     * Merge sort over the next references of the nodes of the list
+     */
+    private class NodeSort extends ChainSort<Node, T> {
+        @Override
+        protected Node next(Node node) {
+            return node.next;
+        }
+
+        @Override
+        protected void setNext(Node node, Node next) {
+            node.next = next;
+        }
+
+        @Override
+        protected T item(Node node) {
+            return node.item;
+        }
+
+        @Override
+        protected Node newDummy() {
+            return new Node(null);
+        }
+    }
+
+    /**
+     * Fail-fast list iterator. Besides the node returned by the next call to next(), it
+     * keeps the two nodes before it, which is what removing the last returned node needs
+     */
+    private class ListItr implements ListIterator<T> {
+        /*
+         * Node returned by the next call to next(), null at the end of the list
+         */
+        Node next;
+        /*
+         * Node before next, null at the start of the list
+         */
+        Node prev;
+        /*
+         * Node before prev, only valid right after a call to next()
+         */
+        Node prevPrev;
+        /*
+         * Node returned by the last call to next() or previous(), null once removed
+         */
+        Node lastReturned;
+        /*
+         * Whether lastReturned came from next() rather than previous()
+         */
+        boolean lastFromNext;
+        /*
+         * Position of next in the list
+         */
+        int nextIndex;
+        /*
+         * Modification count the iterator expects the list to have
+         */
+        int expectedModCount = modCount;
+
+        ListItr(int index) {
+            seek(index);
+        }
+
+        /*
+         * Position the iterator before the item at a specific position, from the head
+         */
+        private void seek(int index) {
+            prevPrev = null;
+            prev = null;
+            next = head;
+            for (int i = 0; i < index; i++) {
+                prevPrev = prev;
+                prev = next;
+                next = next.next;
+            }
+            nextIndex = index;
+        }
+
+        public boolean hasNext() {
+            return nextIndex < size;
+        }
+
+        public T next() {
+            checkForComodification();
+            if (!hasNext())
+                throw new NoSuchElementException();
+            lastReturned = next;
+            lastFromNext = true;
+            prevPrev = prev;
+            prev = next;
+            next = next.next;
+            nextIndex++;
+            return lastReturned.item;
+        }
+
+        public boolean hasPrevious() {
+            return nextIndex > 0;
+        }
+
+        public T previous() {
+            checkForComodification();
+            if (!hasPrevious())
+                throw new NoSuchElementException();
+            seek(nextIndex - 1);
+            lastReturned = next;
+            lastFromNext = false;
+            return lastReturned.item;
+        }
+
+        public int nextIndex() {
+            return nextIndex;
+        }
+
+        public int previousIndex() {
+            return nextIndex - 1;
+        }
+
+        public void remove() {
+            if (lastReturned == null)
+                throw new IllegalStateException();
+            checkForComodification();
+            if (lastFromNext) {
+                unlinkAfter(prevPrev, lastReturned);
+                prev = prevPrev;
+                prevPrev = null;
+                nextIndex--;
+            } else {
+                unlinkAfter(prev, lastReturned);
+                next = next.next;
+            }
+            lastReturned = null;
+            expectedModCount = modCount;
+        }
+
+        public void set(T item) {
+            if (lastReturned == null)
+                throw new IllegalStateException();
+            checkForComodification();
+            if (filter != null) {
+                filter.remove(lastReturned.item);
+                filter.add(item);
+            }
+            lastReturned.item = item;
+        }
+
+        public void add(T item) {
+            checkForComodification();
+            prevPrev = prev;
+            prev = linkAfter(prev, item);
+            nextIndex++;
+            lastReturned = null;
+            expectedModCount = modCount;
+        }
+
+        private void checkForComodification() {
+            if (modCount != expectedModCount)
+                throw new ConcurrentModificationException();
+        }
+    }
+
+    /**
+     * Link a new node after a node of the list
+     * @param before Node to link after, null to link at the head
+     * @param item Item of the new node
+     * @return the new node
+     */
+    private Node linkAfter(Node before, T item) {
+        Node newNode = new Node(item, (before == null) ? head : before.next);
+        if (before == null) {
+            head = newNode;
+        } else {
+            before.next = newNode;
+        }
+        if (newNode.next == null)
+            tail = newNode;
+        size++;
+        modCount++;
+        if (filter != null)
+            filter.add(item);
+        return newNode;
+    }
+
+    /**
+     * Unlink a node of the list
+     * @param before Node preceding the node, null if the node is the head
+     * @param node Node to unlink
+     */
+    private void unlinkAfter(Node before, Node node) {
+        if (before == null) {
+            head = node.next;
+        } else {
+            before.next = node.next;
+        }
+        if (node == tail)
+            tail = before;
+        size--;
+        modCount++;
+        if (filter != null)
+            filter.remove(node.item);
+    }
+
+    /**
+     * Groups of at most this many chains are merged through a heap rather than split
+     */
+    private static final int MERGE_FAN_IN = 4;
+
     /**
      * Reference to the head (first node) of the list
      */
@@ -171,4 +962,8 @@ public class SinglyLinkedList<T> {
      * Current size of the list
      */
     private int size = 0;
+    /**
+     * Optional filter of the items, rejecting most absent ones in {@link #search(Object)}
+     */
+    private CountingBloomFilter filter;
 };
\ No newline at end of file
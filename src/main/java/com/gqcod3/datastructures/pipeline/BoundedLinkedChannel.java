@@ -0,0 +1,216 @@
+package com.gqcod3.datastructures.pipeline;
+
+import com.gqcod3.datastructures.queue.LinkedQueue;
+
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Bounded Linked Channel
+ * <p>
+ * A blocking FIFO channel between pipeline stages, backed by a {@link LinkedQueue}
+ * and bounded to a capacity: {@link #put(Object)} waits while the channel is full
+ * and {@link #take()} waits while it is empty. Closing the channel marks the end of
+ * the stream; takers drain what is left and then receive null, which is why null
+ * elements are not allowed.
+ * </p>
+ *
+ * <p>
+ * The channel counts the elements put into it and taken from it, which the pipeline
+ * reports as the queue depth and throughput of each stage.
+ * </p>
+ *
+ * <ul>
+ * <li>{@link #put(Object)}: Adds an element, waiting for room.</li>
+ * <li>{@link #take()}: Removes the next element, waiting for one, or returns null at the end.</li>
+ * <li>{@link #close()}: Marks the end of the stream.</li>
+ * <li>{@link #abort()}: Closes the channel and drops its elements.</li>
+ * <li>{@link #size()}: Returns the number of elements in the channel.</li>
+ * <li>{@link #capacity()}: Returns the maximum number of elements in the channel.</li>
+ * <li>{@link #putCount()}: Returns the number of elements put so far.</li>
+ * <li>{@link #takeCount()}: Returns the number of elements taken so far.</li>
+ * </ul>
+ */
+public class BoundedLinkedChannel<T> {
+
+    /**
+     * Elements in the channel, guarded by the lock.
+     */
+    private final LinkedQueue<T> queue = new LinkedQueue<>();
+    /**
+     * Lock guarding the queue and the counters.
+     */
+    private final ReentrantLock lock = new ReentrantLock();
+    /**
+     * Condition signalled when an element is added or the channel is closed.
+     */
+    private final Condition notEmpty = lock.newCondition();
+    /**
+     * Condition signalled when an element is removed or the channel is closed.
+     */
+    private final Condition notFull = lock.newCondition();
+    /**
+     * Maximum number of elements in the channel.
+     */
+    private final int capacity;
+    /**
+     * Whether the end of the stream was reached, guarded by the lock.
+     */
+    private boolean closed;
+    /**
+     * Number of elements put so far, guarded by the lock.
+     */
+    private long putCount;
+    /**
+     * Number of elements taken so far, guarded by the lock.
+     */
+    private long takeCount;
+
+    /**
+     * Constructor to create an empty channel.
+     * @param capacity The maximum number of elements in the channel.
+     * @throws IllegalArgumentException if the capacity is not positive.
+     */
+    public BoundedLinkedChannel(int capacity) {
+        if (capacity <= 0)
+            throw new IllegalArgumentException("Capacity must be positive");
+        this.capacity = capacity;
+    }
+
+    /**
+     * Adds an element to the channel, waiting while it is full.
+     * @param element The element to add.
+     * @throws IllegalArgumentException if the element is null.
+     * @throws IllegalStateException if the channel is closed.
+     * @throws InterruptedException if interrupted while waiting.
+     */
+    public void put(T element) throws InterruptedException {
+        if (element == null)
+            throw new IllegalArgumentException("Element must not be null");
+
+        lock.lockInterruptibly();
+        try {
+            while (!closed && queue.size() >= capacity) {
+                notFull.await();
+            }
+            if (closed)
+                throw new IllegalStateException("Channel is closed");
+            queue.enqueue(element);
+            putCount++;
+            notEmpty.signal();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Removes and returns the next element, waiting while the channel is empty.
+     * @return the next element, or null once the channel is closed and empty.
+     * @throws InterruptedException if interrupted while waiting.
+     */
+    public T take() throws InterruptedException {
+        lock.lockInterruptibly();
+        try {
+            while (queue.isEmpty()) {
+                if (closed)
+                    return null;
+                notEmpty.await();
+            }
+            T element = queue.dequeue();
+            takeCount++;
+            notFull.signal();
+            return element;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Marks the end of the stream: takers receive the remaining elements, then null.
+     */
+    public void close() {
+        lock.lock();
+        try {
+            closed = true;
+            notEmpty.signalAll();
+            notFull.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Closes the channel and drops its elements, so every taker receives null.
+     */
+    public void abort() {
+        lock.lock();
+        try {
+            queue.clear();
+            closed = true;
+            notEmpty.signalAll();
+            notFull.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Checks if the channel was closed.
+     * @return true if the end of the stream was marked, false otherwise.
+     */
+    public boolean isClosed() {
+        lock.lock();
+        try {
+            return closed;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Returns the number of elements in the channel.
+     * @return the queue depth.
+     */
+    public int size() {
+        lock.lock();
+        try {
+            return queue.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Returns the maximum number of elements in the channel.
+     * @return the capacity.
+     */
+    public int capacity() {
+        return capacity;
+    }
+
+    /**
+     * Returns the number of elements put into the channel so far.
+     * @return the put count.
+     */
+    public long putCount() {
+        lock.lock();
+        try {
+            return putCount;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Returns the number of elements taken from the channel so far.
+     * @return the take count.
+     */
+    public long takeCount() {
+        lock.lock();
+        try {
+            return takeCount;
+        } finally {
+            lock.unlock();
+        }
+    }
+}
@@ -0,0 +1,267 @@
+package com.gqcod3.datastructures.pipeline;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+
+/**
+ * Pipeline
+ * <p>
+ * A chain of {@link Stage}s connected by {@link BoundedLinkedChannel}s. Elements are
+ * submitted at the head, flow through each stage function and come out at the tail.
+ * Every channel is bounded, so a slow stage blocks the ones before it instead of
+ * letting its input grow. Each stage has its own number of workers, and can keep or
+ * relax the input order.
+ * </p>
+ *
+ * <p>
+ * Each worker is a task that blocks on the channels, so workers run on virtual threads
+ * by default when the runtime provides them, which lets stages doing blocking I/O use
+ * thousands of workers cheaply. Otherwise they run on a shared cached pool of daemon
+ * threads. A custom executor can be given instead; it must run every task
+ * concurrently, since a worker only returns at the end of the stream.
+ * </p>
+ *
+ * <p>
+ * The first exception thrown by a stage function fails the pipeline: every channel is
+ * aborted, so all workers stop, and {@link #take()} reports the error.
+ * </p>
+ *
+ * <pre>{@code
+ * Pipeline<String, Integer> pipeline = Pipeline.<String>source(256)
+ *         .stage("parse", 4, true, Integer::parseInt)
+ *         .stage("square", 2, false, x -> x * x);
+ * pipeline.start();
+ * }</pre>
+ *
+ * <ul>
+ * <li>{@link #stage(String, int, boolean, Function)}: Appends a stage.</li>
+ * <li>{@link #start()}: Starts the workers of every stage.</li>
+ * <li>{@link #submit(Object)}: Adds an element at the head, waiting for room.</li>
+ * <li>{@link #close()}: Marks the end of the input.</li>
+ * <li>{@link #take()}: Removes the next result at the tail, or returns null at the end.</li>
+ * <li>{@link #cancel()}: Stops every stage, dropping the elements in flight.</li>
+ * <li>{@link #stages()}: Returns the stages, for their depth and throughput.</li>
+ * <li>{@link #error()}: Returns the error that failed the pipeline, if any.</li>
+ * </ul>
+ */
+public class Pipeline<I, O> implements AutoCloseable {
+
+    /**
+     * Executor used when none is given: virtual threads if available, daemon threads otherwise.
+     */
+    private static final Executor DEFAULT_EXECUTOR = defaultExecutor();
+
+    /**
+     * Capacity of every channel.
+     */
+    private final int capacity;
+    /**
+     * Executor running the workers.
+     */
+    private final Executor executor;
+    /**
+     * Channel the elements are submitted to.
+     */
+    private final BoundedLinkedChannel<I> head;
+    /**
+     * Every channel, from head to tail.
+     */
+    private final List<BoundedLinkedChannel<?>> channels = new ArrayList<>();
+    /**
+     * Stages in order.
+     */
+    private final List<Stage<?, ?>> stages = new ArrayList<>();
+    /**
+     * First error thrown by a stage, or a cancellation.
+     */
+    private final AtomicReference<Throwable> failure = new AtomicReference<>();
+    /**
+     * Channel the results are taken from.
+     */
+    private BoundedLinkedChannel<?> tail;
+    /**
+     * Whether the workers were started.
+     */
+    private boolean started;
+
+    /**
+     * Constructor to create a pipeline without stages.
+     * @param capacity The capacity of every channel.
+     * @param executor The executor running the workers.
+     */
+    private Pipeline(int capacity, Executor executor) {
+        if (capacity <= 0)
+            throw new IllegalArgumentException("Capacity must be positive");
+        if (executor == null)
+            throw new IllegalArgumentException("Executor must not be null");
+        this.capacity = capacity;
+        this.executor = executor;
+        this.head = new BoundedLinkedChannel<>(capacity);
+        this.tail = head;
+        channels.add(head);
+    }
+
+    /**
+     * Creates a pipeline without stages, running its workers on the default executor.
+     * @param capacity The capacity of every channel.
+     * @param <T> Type of the submitted elements.
+     * @return the pipeline, whose results are the submitted elements until stages are added.
+     * @throws IllegalArgumentException if the capacity is not positive.
+     */
+    public static <T> Pipeline<T, T> source(int capacity) {
+        return new Pipeline<>(capacity, DEFAULT_EXECUTOR);
+    }
+
+    /**
+     * Creates a pipeline without stages.
+     * @param capacity The capacity of every channel.
+     * @param executor The executor running the workers, one long-lived task per worker.
+     * @param <T> Type of the submitted elements.
+     * @return the pipeline, whose results are the submitted elements until stages are added.
+     * @throws IllegalArgumentException if the capacity is not positive or the executor is null.
+     */
+    public static <T> Pipeline<T, T> source(int capacity, Executor executor) {
+        return new Pipeline<>(capacity, executor);
+    }
+
+    /**
+     * Appends a stage applying a function to every result of this pipeline. The
+     * pipeline itself is extended and returned with its new result type.
+     * @param name The name of the stage, used in reports.
+     * @param parallelism The number of workers of the stage.
+     * @param ordered Whether the stage emits its results in input order.
+     * @param function The function applied to each element; a null result drops it.
+     * @param <R> Type of the results of the stage.
+     * @return this pipeline, producing the results of the new stage.
+     * @throws IllegalArgumentException if the function is null or parallelism is not positive.
+     * @throws IllegalStateException if the pipeline was started.
+     */
+    @SuppressWarnings("unchecked")
+    public synchronized <R> Pipeline<I, R> stage(String name, int parallelism, boolean ordered,
+            Function<? super O, ? extends R> function) {
+        if (function == null)
+            throw new IllegalArgumentException("Function must not be null");
+        if (parallelism <= 0)
+            throw new IllegalArgumentException("Parallelism must be positive");
+        if (started)
+            throw new IllegalStateException("Pipeline is started");
+
+        BoundedLinkedChannel<R> output = new BoundedLinkedChannel<>(capacity);
+        stages.add(new Stage<>(name, parallelism, ordered, function, (BoundedLinkedChannel<O>) tail, output));
+        channels.add(output);
+        tail = output;
+        return (Pipeline<I, R>) this;
+    }
+
+    /**
+     * Starts the workers of every stage.
+     * @throws IllegalStateException if the pipeline was started.
+     */
+    public synchronized void start() {
+        if (started)
+            throw new IllegalStateException("Pipeline is started");
+        started = true;
+        for (Stage<?, ?> stage : stages) {
+            stage.start(executor, this::fail);
+        }
+    }
+
+    /**
+     * Adds an element at the head of the pipeline, waiting while the first channel is full.
+     * @param element The element to process.
+     * @throws IllegalArgumentException if the element is null.
+     * @throws IllegalStateException if the input was closed or the pipeline failed.
+     * @throws InterruptedException if interrupted while waiting.
+     */
+    public void submit(I element) throws InterruptedException {
+        head.put(element);
+    }
+
+    /**
+     * Marks the end of the input; the stages finish the elements in flight and the
+     * tail then returns null.
+     */
+    @Override
+    public void close() {
+        head.close();
+    }
+
+    /**
+     * Removes and returns the next result, waiting for one.
+     * @return the next result, or null once every result was taken.
+     * @throws IllegalStateException if the pipeline failed or was cancelled.
+     * @throws InterruptedException if interrupted while waiting.
+     */
+    @SuppressWarnings("unchecked")
+    public O take() throws InterruptedException {
+        O result = (O) tail.take();
+        if (result == null && failure.get() != null)
+            throw new IllegalStateException("Pipeline failed", failure.get());
+        return result;
+    }
+
+    /**
+     * Stops every stage: channels are aborted, so workers stop after their current
+     * element, and {@link #take()} reports a cancellation.
+     */
+    public void cancel() {
+        fail(new CancellationException("Pipeline cancelled"));
+    }
+
+    /**
+     * Returns the stages, whose depth and throughput can be read while running.
+     * @return the stages, in order.
+     */
+    public synchronized List<Stage<?, ?>> stages() {
+        return Collections.unmodifiableList(new ArrayList<>(stages));
+    }
+
+    /**
+     * Returns the error that failed the pipeline.
+     * @return the first error thrown by a stage, a cancellation, or null.
+     */
+    public Throwable error() {
+        return failure.get();
+    }
+
+    /**
+     * Records the first failure and aborts every channel.
+     * @param error The error that failed a stage.
+     */
+    private void fail(Throwable error) {
+        if (failure.compareAndSet(null, error)) {
+            for (BoundedLinkedChannel<?> channel : channels) {
+                channel.abort();
+            }
+        }
+    }
+
+    /**
+     * Looks up {@code Executors.newVirtualThreadPerTaskExecutor()}, which only exists on
+     * runtimes with virtual threads, falling back to a cached pool of daemon threads.
+     * @return the default executor.
+     */
+    private static Executor defaultExecutor() {
+        try {
+            return (Executor) MethodHandles.publicLookup()
+                    .findStatic(Executors.class, "newVirtualThreadPerTaskExecutor",
+                            MethodType.methodType(ExecutorService.class))
+                    .invoke();
+        } catch (Throwable e) {
+            return Executors.newCachedThreadPool(task -> {
+                Thread thread = new Thread(task, "pipeline-worker");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+    }
+}
@@ -0,0 +1,296 @@
+package com.gqcod3.datastructures.pipeline;
+
+import java.util.HashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Pipeline Stage
+ * <p>
+ * A step of a {@link Pipeline}: a number of workers taking elements from the input
+ * channel, applying the stage function and putting the results into the output
+ * channel. A null result drops the element, so a stage can also filter. When the
+ * input channel is closed and drained, the last worker to finish closes the output
+ * channel, which propagates the end of the stream down the pipeline.
+ * </p>
+ *
+ * <p>
+ * With several workers, results are unordered by default: each is emitted as soon
+ * as it is ready. An ordered stage numbers the elements as they are taken and emits
+ * the results in that order, holding back results that finish early. The number of
+ * elements in flight is bounded to twice the parallelism, so a slow element cannot
+ * make the held-back results grow without limit.
+ * </p>
+ *
+ * <ul>
+ * <li>{@link #name()}: Returns the name of the stage.</li>
+ * <li>{@link #parallelism()}: Returns the number of workers.</li>
+ * <li>{@link #isOrdered()}: Checks if results keep the input order.</li>
+ * <li>{@link #depth()}: Returns the number of elements waiting in the input channel.</li>
+ * <li>{@link #processed()}: Returns the number of elements processed.</li>
+ * <li>{@link #throughput()}: Returns the processed elements per second since the start.</li>
+ * </ul>
+ */
+public final class Stage<I, O> {
+
+    /**
+     * Placeholder for a dropped result in the reorder buffer.
+     */
+    private static final Object DROPPED = new Object();
+
+    /**
+     * Name of the stage, used in reports.
+     */
+    private final String name;
+    /**
+     * Number of workers.
+     */
+    private final int parallelism;
+    /**
+     * Whether results keep the input order.
+     */
+    private final boolean ordered;
+    /**
+     * Function applied to each element.
+     */
+    private final Function<? super I, ? extends O> function;
+    /**
+     * Channel the workers take from.
+     */
+    private final BoundedLinkedChannel<I> input;
+    /**
+     * Channel the workers put into.
+     */
+    private final BoundedLinkedChannel<O> output;
+    /**
+     * Number of elements processed.
+     */
+    private final LongAdder processed = new LongAdder();
+    /**
+     * Number of workers still running.
+     */
+    private final AtomicInteger alive = new AtomicInteger();
+    /**
+     * Lock making the take and the numbering of an element atomic, in ordered mode.
+     */
+    private final ReentrantLock takeLock = new ReentrantLock();
+    /**
+     * Lock guarding the reorder buffer, in ordered mode.
+     */
+    private final ReentrantLock orderLock = new ReentrantLock();
+    /**
+     * Permits for the elements in flight, in ordered mode.
+     */
+    private final Semaphore window;
+    /**
+     * Results that finished before an earlier one, by number, guarded by the order lock.
+     */
+    private final HashMap<Long, Object> held = new HashMap<>();
+    /**
+     * Number of the next element to take, guarded by the take lock.
+     */
+    private long nextTaken;
+    /**
+     * Number of the next result to emit, guarded by the order lock.
+     */
+    private long nextEmitted;
+    /**
+     * Time the stage started, in nanoseconds.
+     */
+    private volatile long startNanos;
+
+    /**
+     * Constructor to create a stage between two channels.
+     * @param name The name of the stage.
+     * @param parallelism The number of workers.
+     * @param ordered Whether results keep the input order.
+     * @param function The function applied to each element.
+     * @param input The channel the workers take from.
+     * @param output The channel the workers put into.
+     */
+    Stage(String name, int parallelism, boolean ordered, Function<? super I, ? extends O> function,
+            BoundedLinkedChannel<I> input, BoundedLinkedChannel<O> output) {
+        this.name = name;
+        this.parallelism = parallelism;
+        this.ordered = ordered;
+        this.function = function;
+        this.input = input;
+        this.output = output;
+        this.window = ordered ? new Semaphore(2 * parallelism) : null;
+    }
+
+    /**
+     * Starts the workers.
+     * @param executor The executor running the workers, one task per worker.
+     * @param onFailure The action called when the function or a channel fails.
+     */
+    void start(Executor executor, Consumer<Throwable> onFailure) {
+        startNanos = System.nanoTime();
+        alive.set(parallelism);
+        for (int i = 0; i < parallelism; i++) {
+            executor.execute(() -> work(onFailure));
+        }
+    }
+
+    /**
+     * Processes elements until the input ends, then closes the output if this is the
+     * last worker.
+     * @param onFailure The action called when the function or a channel fails, or the worker is interrupted.
+     */
+    private void work(Consumer<Throwable> onFailure) {
+        try {
+            if (ordered) {
+                workOrdered();
+            } else {
+                workUnordered();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            onFailure.accept(e);
+        } catch (RuntimeException | Error e) {
+            onFailure.accept(e);
+        } finally {
+            if (alive.decrementAndGet() == 0)
+                output.close();
+        }
+    }
+
+    /**
+     * Worker loop emitting each result as soon as it is ready.
+     * @throws InterruptedException if interrupted while waiting on a channel.
+     */
+    private void workUnordered() throws InterruptedException {
+        I element;
+        while ((element = input.take()) != null) {
+            O result = function.apply(element);
+            processed.increment();
+            if (result != null)
+                output.put(result);
+        }
+    }
+
+    /**
+     * Worker loop numbering each element and emitting the results in that order.
+     * @throws InterruptedException if interrupted while waiting on a channel.
+     */
+    private void workOrdered() throws InterruptedException {
+        while (true) {
+            window.acquire();
+            I element;
+            long number = 0;
+            takeLock.lockInterruptibly();
+            try {
+                element = input.take();
+                if (element != null)
+                    number = nextTaken++;
+            } finally {
+                takeLock.unlock();
+            }
+            if (element == null) {
+                window.release();
+                return;
+            }
+
+            O result;
+            try {
+                result = function.apply(element);
+            } catch (RuntimeException | Error e) {
+                // Still settle the number, or every later result and its permit is held forever
+                emit(number, DROPPED);
+                throw e;
+            }
+            processed.increment();
+            emit(number, (result == null) ? DROPPED : result);
+        }
+    }
+
+    /**
+     * Records the result of a numbered element and emits every result that is now in order.
+     * <p>
+     * The order lock is taken uninterruptibly, so a taken number is always settled and a
+     * worker interrupted here cannot leave a gap that stalls the other workers.
+     * </p>
+     * @param number The number of the element.
+     * @param result The result, or {@link #DROPPED} if there is none.
+     * @throws InterruptedException if interrupted while waiting on the output channel.
+     */
+    @SuppressWarnings("unchecked")
+    private void emit(long number, Object result) throws InterruptedException {
+        orderLock.lock();
+        try {
+            held.put(number, result);
+            Object ready;
+            while ((ready = held.remove(nextEmitted)) != null) {
+                nextEmitted++;
+                window.release();
+                if (ready != DROPPED)
+                    output.put((O) ready);
+            }
+        } finally {
+            orderLock.unlock();
+        }
+    }
+
+    /**
+     * Returns the name of the stage.
+     * @return the name.
+     */
+    public String name() {
+        return name;
+    }
+
+    /**
+     * Returns the number of workers.
+     * @return the parallelism.
+     */
+    public int parallelism() {
+        return parallelism;
+    }
+
+    /**
+     * Checks if the results keep the input order.
+     * @return true if the stage is ordered, false otherwise.
+     */
+    public boolean isOrdered() {
+        return ordered;
+    }
+
+    /**
+     * Returns the number of elements waiting in the input channel.
+     * @return the input queue depth.
+     */
+    public int depth() {
+        return input.size();
+    }
+
+    /**
+     * Returns the number of elements processed by the function.
+     * @return the processed count.
+     */
+    public long processed() {
+        return processed.sum();
+    }
+
+    /**
+     * Returns the average number of elements processed per second since the start.
+     * @return the throughput, or 0 if the stage did not start.
+     */
+    public double throughput() {
+        long start = startNanos;
+        if (start == 0)
+            return 0;
+        long elapsed = System.nanoTime() - start;
+        return (elapsed <= 0) ? 0 : processed.sum() * 1e9 / elapsed;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s[parallelism=%d, depth=%d, processed=%d, throughput=%.1f/s]",
+                name, parallelism, depth(), processed(), throughput());
+    }
+}
@@ -0,0 +1,496 @@
+package com.gqcod3.datastructures.queue;
+
+import java.util.AbstractQueue;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.function.Consumer;
+
+/**
+ * Adaptive Queue
+ * <p>
+ * A queue with the API of {@link LinkedQueue} that changes its layout with its size.
+ * While small it is a ring buffer: a single power-of-two array, doubled when full and
+ * halved when a quarter full, so a queue sitting near empty stays a few dozen bytes.
+ * Once it holds threshold elements it moves to linked fixed-size chunks, like
+ * {@link com.gqcod3.datastructures.stack.ChunkedArrayStack}: growing then allocates
+ * one chunk at a time instead of copying ever larger arrays, and no huge contiguous
+ * array is needed however far the queue spikes.
+ * </p>
+ *
+ * <p>
+ * When the queue drains to a quarter of the threshold it moves back to a ring. The
+ * gap between the two points keeps a queue hovering around the threshold from
+ * switching back and forth, and makes each migration, which copies the elements
+ * once, amortized over the operations since the previous one. Migrations happen
+ * within the operation crossing the point, since the queue is not thread-safe.
+ * </p>
+ *
+ * <ul>
+ * <li>{@link #enqueue(Object)}: Adds an element to the rear of the queue.</li>
+ * <li>{@link #dequeue()}: Removes and returns the front element of the queue.</li>
+ * <li>{@link #dequeue(int, Object[])}: Removes up to n front elements into an array.</li>
+ * <li>{@link #drain(Consumer, int)}: Removes up to max front elements, passing each to an action.</li>
+ * <li>{@link #peek()}: Returns the front element without removing it, or null if the queue is empty.</li>
+ * <li>{@link #isEmpty()}: Checks if the queue is empty.</li>
+ * <li>{@link #size()}: Returns the number of elements in the queue.</li>
+ * <li>{@link #clear()}: Removes all elements from the queue.</li>
+ * <li>{@link #contains(Object)}: Checks if a specific element is in the queue.</li>
+ * <li>{@link #iterator(Consumer)}: Iterates through the queue elements from front to rear.</li>
+ * <li>{@link #iterator()}: Returns a fail-fast iterator from front to rear.</li>
+ * <li>{@link #isChunked()}: Checks which layout the queue currently uses.</li>
+ * <li>{@link #migrations()}: Returns the number of layout changes.</li>
+ * </ul>
+ */
+public class AdaptiveQueue<T> extends AbstractQueue<T> {
+
+    /**
+     * Size at which the queue moves to chunks when none is given.
+     */
+    public static final int DEFAULT_THRESHOLD = 1 << 16;
+    /**
+     * Number of elements per chunk used when none is given.
+     */
+    public static final int DEFAULT_CHUNK_SIZE = 1024;
+    /**
+     * Smallest ring capacity.
+     */
+    private static final int MIN_RING_CAPACITY = 16;
+
+    /**
+     * Size at which the queue moves to chunks.
+     */
+    private final int threshold;
+    /**
+     * Number of elements per chunk.
+     */
+    private final int chunkSize;
+    /**
+     * Whether the queue currently uses chunks rather than the ring.
+     */
+    private boolean chunked;
+    /**
+     * Ring holding the elements, with a power-of-two length, or null while chunked.
+     */
+    private Object[] ring;
+    /**
+     * Index of the front element in the ring.
+     */
+    private int ringFront;
+    /**
+     * Chunk holding the front element, or null while in a ring.
+     */
+    private Chunk frontChunk;
+    /**
+     * Index of the front element in the front chunk.
+     */
+    private int frontIndex;
+    /**
+     * Chunk holding the rear element, or null while in a ring.
+     */
+    private Chunk rearChunk;
+    /**
+     * Number of elements in the rear chunk, i.e. index of the next enqueued element.
+     */
+    private int rearIndex;
+    /**
+     * Empty chunk kept for reuse, or null.
+     */
+    private Chunk spare;
+    /**
+     * Represents the number of elements in the queue.
+     */
+    private int size;
+    /**
+     * Number of structural modifications, used by iterators to fail fast.
+     */
+    private int modCount;
+    /**
+     * Number of layout changes.
+     */
+    private int migrations;
+
+    /**
+     * Chunk class holding a fixed-size array of elements.
+     * <p>
+     * Each chunk contains its elements, front first, and a reference to the next chunk towards the rear.
+     * </p>
+     */
+    private class Chunk {
+        final Object[] items;
+        Chunk next;
+
+        /**
+         * Constructor to create an empty chunk.
+         */
+        Chunk() {
+            this.items = new Object[chunkSize];
+            this.next = null;
+        }
+    }
+
+    /**
+     * Constructor to initialize an empty queue with the default threshold and chunk size.
+     */
+    public AdaptiveQueue() {
+        this(DEFAULT_THRESHOLD, DEFAULT_CHUNK_SIZE);
+    }
+
+    /**
+     * Constructor to initialize an empty queue.
+     * @param threshold The size at which the queue moves to chunks; it moves back at a quarter of it.
+     * @param chunkSize The number of elements per chunk.
+     * @throws IllegalArgumentException if the threshold or the chunk size is not positive.
+     */
+    public AdaptiveQueue(int threshold, int chunkSize) {
+        if (threshold <= 0)
+            throw new IllegalArgumentException("Threshold must be positive");
+        if (chunkSize <= 0)
+            throw new IllegalArgumentException("Chunk size must be positive");
+        this.threshold = threshold;
+        this.chunkSize = chunkSize;
+        this.ring = new Object[MIN_RING_CAPACITY];
+    }
+
+    /**
+     * Checks if the queue is empty.
+     * @return true if the queue is empty, false otherwise.
+     */
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Returns the number of elements in the queue.
+     * @return the size of the queue.
+     */
+    @Override
+    public int size() {
+        return this.size;
+    }
+
+    /**
+     * Clears the queue by removing all elements. The queue goes back to a small ring.
+     */
+    @Override
+    public void clear() {
+        if (chunked)
+            migrations++;
+        chunked = false;
+        ring = new Object[MIN_RING_CAPACITY];
+        ringFront = 0;
+        frontChunk = rearChunk = spare = null;
+        frontIndex = rearIndex = 0;
+        size = 0;
+        modCount++;
+    }
+
+    /**
+     * Adds an element to the rear of the queue, moving to chunks if the queue reached
+     * the threshold.
+     * @param element The element to be added to the queue.
+     * @return true if the element was added successfully.
+     */
+    public boolean enqueue(T element) {
+        if (!chunked && size >= threshold)
+            toChunks();
+
+        if (chunked) {
+            if (rearIndex == chunkSize) {
+                Chunk chunk = (spare != null) ? spare : new Chunk();
+                spare = null;
+                rearChunk.next = chunk;
+                rearChunk = chunk;
+                rearIndex = 0;
+            }
+            rearChunk.items[rearIndex++] = element;
+        } else {
+            if (size == ring.length)
+                resizeRing(ring.length * 2);
+            ring[(ringFront + size) & (ring.length - 1)] = element;
+        }
+        size++;
+        modCount++;
+        return true;
+    }
+
+    /**
+     * Removes and returns the element at the front of the queue, moving back to a ring
+     * or shrinking the ring once the queue is small enough.
+     * @return the front element of the queue.
+     * @throws IllegalStateException if the queue is empty.
+     */
+    @SuppressWarnings("unchecked")
+    public T dequeue() {
+        if (isEmpty())
+            throw new IllegalStateException("Queue is empty");
+
+        T data;
+        if (chunked) {
+            data = (T) frontChunk.items[frontIndex];
+            frontChunk.items[frontIndex++] = null;
+            if (frontIndex == chunkSize && frontChunk != rearChunk) {
+                Chunk drained = frontChunk;
+                frontChunk = drained.next;
+                drained.next = null;
+                spare = drained;
+                frontIndex = 0;
+            }
+        } else {
+            data = (T) ring[ringFront];
+            ring[ringFront] = null;
+            ringFront = (ringFront + 1) & (ring.length - 1);
+        }
+        size--;
+        modCount++;
+
+        if (chunked) {
+            if (size <= threshold / 4)
+                toRing();
+        } else if (ring.length > MIN_RING_CAPACITY && size <= ring.length / 4) {
+            resizeRing(ring.length / 2);
+        }
+        return data;
+    }
+
+    /**
+     * Removes up to n elements from the front of the queue into an array.
+     * <p>
+     * The elements are stored from index 0 in queue order.
+     * </p>
+     * @param n The maximum number of elements to remove.
+     * @param out The array receiving the elements; at most its length are removed.
+     * @return the number of elements removed.
+     * @throws IllegalArgumentException if n is negative.
+     */
+    public int dequeue(int n, T[] out) {
+        if (n < 0)
+            throw new IllegalArgumentException("Count must not be negative");
+
+        int count = Math.min(Math.min(n, out.length), size);
+        for (int i = 0; i < count; i++) {
+            out[i] = dequeue();
+        }
+        return count;
+    }
+
+    /**
+     * Removes up to max elements from the front of the queue, passing each to an action
+     * in queue order. Each element is removed before the action sees it.
+     * @param action The action to perform on each removed element.
+     * @param max The maximum number of elements to remove.
+     * @return the number of elements removed.
+     * @throws IllegalArgumentException if max is negative.
+     */
+    public int drain(Consumer<? super T> action, int max) {
+        if (max < 0)
+            throw new IllegalArgumentException("Count must not be negative");
+
+        int count = 0;
+        while (count < max && !isEmpty()) {
+            action.accept(dequeue());
+            count++;
+        }
+        return count;
+    }
+
+    /**
+     * Adds an element to the rear of the queue.
+     * @param element The element to be added to the queue.
+     * @return true if the element was added successfully.
+     */
+    @Override
+    public boolean offer(T element) {
+        return enqueue(element);
+    }
+
+    /**
+     * Removes and returns the element at the front of the queue.
+     * @return the front element of the queue, or null if the queue is empty.
+     */
+    @Override
+    public T poll() {
+        return isEmpty() ? null : dequeue();
+    }
+
+    /**
+     * Returns the element at the front of the queue without removing it.
+     * @return the front element of the queue, or null if the queue is empty.
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public T peek() {
+        if (isEmpty())
+            return null;
+        return (T) (chunked ? frontChunk.items[frontIndex] : ring[ringFront]);
+    }
+
+    /**
+     * Checks if a specific element is in the queue.
+     * @param element The element to check for.
+     * @return true if the element is found, false otherwise.
+     */
+    @Override
+    public boolean contains(Object element) {
+        for (T item : this) {
+            if ((element == null && item == null) || (element != null && element.equals(item)))
+                return true;
+        }
+        return false;
+    }
+
+    /**
+     * Iterates through the queue elements from front to rear.
+     * @param action The action to perform on each element.
+     */
+    public void iterator(Consumer<T> action) {
+        forEach(action);
+    }
+
+    /**
+     * Performs the given action on each element from front to rear, scanning the
+     * arrays directly.
+     * @param action The action to perform on each element.
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public void forEach(Consumer<? super T> action) {
+        int expectedModCount = modCount;
+        if (chunked) {
+            int start = frontIndex;
+            for (Chunk chunk = frontChunk; chunk != null; chunk = chunk.next) {
+                int end = (chunk == rearChunk) ? rearIndex : chunkSize;
+                for (int i = start; i < end; i++) {
+                    action.accept((T) chunk.items[i]);
+                }
+                start = 0;
+            }
+        } else {
+            int mask = ring.length - 1;
+            for (int i = 0; i < size; i++) {
+                action.accept((T) ring[(ringFront + i) & mask]);
+            }
+        }
+        if (modCount != expectedModCount)
+            throw new ConcurrentModificationException();
+    }
+
+    /**
+     * Returns a fail-fast iterator over the queue elements from front to rear.
+     * <p>
+     * The iterator does not support {@link Iterator#remove()}, since removing from the
+     * middle of an array would shift every element behind it.
+     * </p>
+     * @return an iterator over the elements of the queue.
+     */
+    @Override
+    public Iterator<T> iterator() {
+        return new Iterator<T>() {
+            Chunk chunk = frontChunk;
+            int index = chunked ? frontIndex : ringFront;
+            int remaining = size;
+            final int expectedModCount = modCount;
+
+            public boolean hasNext() {
+                return remaining > 0;
+            }
+
+            @SuppressWarnings("unchecked")
+            public T next() {
+                if (modCount != expectedModCount)
+                    throw new ConcurrentModificationException();
+                if (remaining == 0)
+                    throw new NoSuchElementException();
+                remaining--;
+                if (!chunked) {
+                    T item = (T) ring[index];
+                    index = (index + 1) & (ring.length - 1);
+                    return item;
+                }
+                if (index == chunkSize) {
+                    chunk = chunk.next;
+                    index = 0;
+                }
+                return (T) chunk.items[index++];
+            }
+        };
+    }
+
+    /**
+     * Checks which layout the queue currently uses.
+     * @return true if the elements are in linked chunks, false if they are in a ring.
+     */
+    public boolean isChunked() {
+        return chunked;
+    }
+
+    /**
+     * Returns the number of times the queue moved between the ring and the chunks.
+     * @return the number of layout changes.
+     */
+    public int migrations() {
+        return migrations;
+    }
+
+    /**
+     * Copies the ring into a new ring of a power-of-two capacity, front first.
+     * @param capacity The new capacity, at least the size.
+     */
+    private void resizeRing(int capacity) {
+        Object[] resized = new Object[capacity];
+        int mask = ring.length - 1;
+        for (int i = 0; i < size; i++) {
+            resized[i] = ring[(ringFront + i) & mask];
+        }
+        ring = resized;
+        ringFront = 0;
+    }
+
+    /**
+     * Moves the elements of the ring into linked chunks.
+     */
+    private void toChunks() {
+        frontChunk = rearChunk = new Chunk();
+        frontIndex = rearIndex = 0;
+        int mask = ring.length - 1;
+        for (int i = 0; i < size; i++) {
+            if (rearIndex == chunkSize) {
+                rearChunk.next = new Chunk();
+                rearChunk = rearChunk.next;
+                rearIndex = 0;
+            }
+            rearChunk.items[rearIndex++] = ring[(ringFront + i) & mask];
+        }
+        ring = null;
+        ringFront = 0;
+        chunked = true;
+        migrations++;
+    }
+
+    /**
+     * Moves the elements of the chunks into a ring with room to grow.
+     */
+    private void toRing() {
+        int capacity = MIN_RING_CAPACITY;
+        while (capacity < size * 2) {
+            capacity <<= 1;
+        }
+        Object[] items = new Object[capacity];
+        int count = 0;
+        int start = frontIndex;
+        for (Chunk chunk = frontChunk; chunk != null; chunk = chunk.next) {
+            int end = (chunk == rearChunk) ? rearIndex : chunkSize;
+            for (int i = start; i < end; i++) {
+                items[count++] = chunk.items[i];
+            }
+            start = 0;
+        }
+        ring = items;
+        ringFront = 0;
+        frontChunk = rearChunk = spare = null;
+        frontIndex = rearIndex = 0;
+        chunked = false;
+        migrations++;
+    }
+}
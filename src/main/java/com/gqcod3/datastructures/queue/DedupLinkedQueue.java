@@ -0,0 +1,297 @@
+package com.gqcod3.datastructures.queue;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BinaryOperator;
+import java.util.function.Consumer;
+
+/**
+ * Dedup Linked Queue
+ * <p>
+ * A thread-safe FIFO queue with set semantics: enqueuing an element equal to one that
+ * is still pending does not add it again. The linked chain keeps the order and a
+ * concurrent map from each pending element to its node answers membership in O(1),
+ * so {@link #contains(Object)} never takes the lock.
+ * </p>
+ *
+ * <p>
+ * An optional coalesce function merges the payload of a duplicate into the pending
+ * entry instead of dropping it; the entry keeps its place in the queue. Elements are
+ * compared with {@code equals}, and a merged entry stays keyed by the element that was
+ * first enqueued, so the merged element need not be equal to it. Null elements are not
+ * allowed.
+ * </p>
+ *
+ * <ul>
+ * <li>{@link #enqueue(Object)}: Adds an element unless an equal one is pending.</li>
+ * <li>{@link #dequeue()}: Removes and returns the front element of the queue.</li>
+ * <li>{@link #poll()}: Removes and returns the front element, or null if the queue is empty.</li>
+ * <li>{@link #peek()}: Returns the front element without removing it, or null if the queue is empty.</li>
+ * <li>{@link #drain(Consumer, int)}: Removes up to max front elements, passing each to an action.</li>
+ * <li>{@link #isEmpty()}: Checks if the queue is empty.</li>
+ * <li>{@link #size()}: Returns the number of elements in the queue.</li>
+ * <li>{@link #clear()}: Removes all elements from the queue.</li>
+ * <li>{@link #contains(Object)}: Checks if an element is pending, without locking.</li>
+ * <li>{@link #iterator(Consumer)}: Iterates through the queue elements from front to rear.</li>
+ * <li>{@link #coalesced()}: Returns the number of duplicate enqueues absorbed.</li>
+ * </ul>
+ */
+public class DedupLinkedQueue<T> {
+
+    /**
+     * Reference to the front node of the queue, guarded by the lock.
+     */
+    private Node front;
+    /**
+     * Reference to the rear node of the queue, guarded by the lock.
+     */
+    private Node rear;
+    /**
+     * Node of every pending element, updated under the lock and read without it.
+     */
+    private final ConcurrentHashMap<T, Node> pending = new ConcurrentHashMap<>();
+    /**
+     * Lock guarding the chain and the updates of the pending map.
+     */
+    private final ReentrantLock lock = new ReentrantLock();
+    /**
+     * Function merging a duplicate into the pending element, or null to drop duplicates.
+     */
+    private final BinaryOperator<T> coalesce;
+    /**
+     * Number of duplicate enqueues absorbed, guarded by the lock.
+     */
+    private long coalesced;
+
+    /**
+     * Node class representing each element in the queue.
+     * <p>
+     * Each node contains data, the key it is pending under and a reference to the next
+     * node in the queue.
+     * </p>
+     */
+    private class Node {
+        final T key;
+        T data;
+        Node next;
+
+        /**
+         * Constructor to create a new node with the given data.
+         * @param data The data to be stored in the node, also its key.
+         */
+        Node(T data) {
+            this.key = data;
+            this.data = data;
+            this.next = null;
+        }
+    }
+
+    /**
+     * Constructor to initialize an empty queue that drops duplicates.
+     */
+    public DedupLinkedQueue() {
+        this(null);
+    }
+
+    /**
+     * Constructor to initialize an empty queue that merges duplicates.
+     * @param coalesce The function merging a duplicate (second argument) into the pending
+     *                 element (first argument), returning the new pending element; null to
+     *                 drop duplicates.
+     */
+    public DedupLinkedQueue(BinaryOperator<T> coalesce) {
+        this.coalesce = coalesce;
+        this.front = null;
+        this.rear = null;
+    }
+
+    /**
+     * Checks if the queue is empty.
+     * @return true if the queue is empty, false otherwise.
+     */
+    public boolean isEmpty() {
+        return pending.isEmpty();
+    }
+
+    /**
+     * Returns the number of elements in the queue.
+     * @return the size of the queue.
+     */
+    public int size() {
+        return pending.size();
+    }
+
+    /**
+     * Clears the queue by removing all elements.
+     */
+    public void clear() {
+        lock.lock();
+        try {
+            front = null;
+            rear = null;
+            pending.clear();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Adds an element to the rear of the queue unless an equal element is pending, in
+     * which case the pending element is coalesced with it or left unchanged.
+     * @param element The element to be added to the queue.
+     * @return true if the element was added, false if it was a duplicate.
+     * @throws IllegalArgumentException if the element, or the result of coalescing it, is null.
+     */
+    public boolean enqueue(T element) {
+        if (element == null)
+            throw new IllegalArgumentException("Element must not be null");
+
+        lock.lock();
+        try {
+            Node existing = pending.get(element);
+            if (existing != null) {
+                if (coalesce != null) {
+                    T merged = coalesce.apply(existing.data, element);
+                    if (merged == null)
+                        throw new IllegalArgumentException("Coalesced element must not be null");
+                    existing.data = merged;
+                }
+                coalesced++;
+                return false;
+            }
+
+            Node newNode = new Node(element);
+            if (rear == null) {
+                front = rear = newNode;
+            } else {
+                rear.next = newNode;
+                rear = newNode;
+            }
+            pending.put(element, newNode);
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Removes and returns the element at the front of the queue. An equal element
+     * enqueued afterwards is added again.
+     * @return the front element of the queue.
+     * @throws IllegalStateException if the queue is empty.
+     */
+    public T dequeue() {
+        lock.lock();
+        try {
+            if (front == null)
+                throw new IllegalStateException("Queue is empty");
+            return unlinkFront();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Removes and returns the element at the front of the queue.
+     * @return the front element of the queue, or null if the queue is empty.
+     */
+    public T poll() {
+        lock.lock();
+        try {
+            return (front == null) ? null : unlinkFront();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Returns the element at the front of the queue without removing it.
+     * @return the front element of the queue, or null if the queue is empty.
+     */
+    public T peek() {
+        lock.lock();
+        try {
+            return (front == null) ? null : front.data;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Removes up to max elements from the front of the queue, then passes each to an
+     * action outside the lock, in queue order.
+     * @param action The action to perform on each removed element.
+     * @param max The maximum number of elements to remove.
+     * @return the number of elements removed.
+     * @throws IllegalArgumentException if max is negative.
+     */
+    public int drain(Consumer<? super T> action, int max) {
+        if (max < 0)
+            throw new IllegalArgumentException("Count must not be negative");
+
+        LinkedQueue<T> batch = new LinkedQueue<>();
+        lock.lock();
+        try {
+            while (batch.size() < max && front != null) {
+                batch.enqueue(unlinkFront());
+            }
+        } finally {
+            lock.unlock();
+        }
+        int count = batch.size();
+        batch.forEach(action);
+        return count;
+    }
+
+    /**
+     * Checks if an element is pending, reading the membership map without locking.
+     * @param element The element to check for.
+     * @return true if an equal element is pending, false otherwise.
+     */
+    public boolean contains(Object element) {
+        return element != null && pending.containsKey(element);
+    }
+
+    /**
+     * Iterates through the queue elements from front to rear, holding the lock.
+     * @param action The action to perform on each element; it must not modify the queue.
+     */
+    public void iterator(Consumer<T> action) {
+        lock.lock();
+        try {
+            Node current = front;
+            while (current != null) {
+                action.accept(current.data);
+                current = current.next;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Returns the number of enqueues absorbed by a pending element, merged or dropped.
+     * @return the number of duplicate enqueues.
+     */
+    public long coalesced() {
+        lock.lock();
+        try {
+            return coalesced;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Unlinks the front node and forgets its element, holding the lock.
+     * @return the element of the front node.
+     */
+    private T unlinkFront() {
+        Node node = front;
+        front = node.next;
+        if (front == null)
+            rear = null;
+        pending.remove(node.key, node);
+        return node.data;
+    }
+}
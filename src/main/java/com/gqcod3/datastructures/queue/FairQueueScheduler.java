@@ -0,0 +1,296 @@
+package com.gqcod3.datastructures.queue;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Set;
+import java.util.function.BiConsumer;
+
+/**
+ * Fair Queue Scheduler
+ * <p>
+ * A multi-tenant queue holding one {@link LinkedQueue} per tenant and dequeuing across
+ * them by deficit round robin, so a tenant enqueuing much more than the others cannot
+ * starve them. Tenants with pending elements take turns in a ring; on each turn a
+ * tenant is credited its weight and may dequeue one element per credit, so over a
+ * round every busy tenant is served in proportion to its weight. A tenant whose queue
+ * empties leaves the ring and loses its remaining credit, which keeps idle tenants
+ * from saving up a burst.
+ * </p>
+ *
+ * <p>
+ * The ring only holds tenants with pending elements, so a dequeue costs O(1) however
+ * many tenants are registered. Each tenant reports its queue depth, the number of
+ * elements dequeued and the time they waited, measured from enqueue to dequeue. The
+ * scheduler is not thread-safe.
+ * </p>
+ *
+ * <ul>
+ * <li>{@link #setWeight(Object, int)}: Sets the share of a tenant.</li>
+ * <li>{@link #enqueue(Object, Object)}: Adds an element to the queue of a tenant.</li>
+ * <li>{@link #dequeue()}: Removes and returns the next element in fair order.</li>
+ * <li>{@link #poll()}: Removes and returns the next element, or null if every queue is empty.</li>
+ * <li>{@link #drain(BiConsumer, int)}: Removes up to max elements, passing each with its tenant to an action.</li>
+ * <li>{@link #isEmpty()}: Checks if every queue is empty.</li>
+ * <li>{@link #size()}: Returns the number of elements across all tenants.</li>
+ * <li>{@link #depth(Object)}: Returns the number of elements of a tenant.</li>
+ * <li>{@link #dequeued(Object)}: Returns the number of elements dequeued for a tenant.</li>
+ * <li>{@link #averageLatencyNanos(Object)}: Returns the average wait of a tenant's elements.</li>
+ * <li>{@link #maxLatencyNanos(Object)}: Returns the longest wait of a tenant's elements.</li>
+ * </ul>
+ */
+public class FairQueueScheduler<K, T> {
+
+    /**
+     * Weight of the tenants created without one.
+     */
+    public static final int DEFAULT_WEIGHT = 1;
+
+    /**
+     * Tenants by key.
+     */
+    private final HashMap<K, Tenant> tenants = new HashMap<>();
+    /**
+     * Tenants with pending elements, in turn order; the front tenant is being served.
+     */
+    private final LinkedQueue<Tenant> active = new LinkedQueue<>();
+    /**
+     * Number of elements across all tenants.
+     */
+    private int size;
+    /**
+     * Tenant of the element last dequeued.
+     */
+    private K lastTenant;
+
+    /**
+     * Tenant class holding the queue, share and metrics of a tenant.
+     */
+    private class Tenant {
+        final K key;
+        final LinkedQueue<Entry<T>> queue = new LinkedQueue<>();
+        int weight = DEFAULT_WEIGHT;
+        int deficit;
+        boolean inRing;
+        long dequeued;
+        long totalLatency;
+        long maxLatency;
+
+        /**
+         * Constructor to create a tenant with an empty queue.
+         * @param key The key of the tenant.
+         */
+        Tenant(K key) {
+            this.key = key;
+        }
+    }
+
+    /**
+     * Element stamped with the time it was enqueued.
+     */
+    private static final class Entry<T> {
+        final T element;
+        final long enqueuedAt;
+
+        Entry(T element, long enqueuedAt) {
+            this.element = element;
+            this.enqueuedAt = enqueuedAt;
+        }
+    }
+
+    /**
+     * Sets the weight of a tenant, registering it if needed: on each turn the tenant may
+     * dequeue up to weight elements. The new weight applies from the tenant's next turn.
+     * @param tenant The key of the tenant.
+     * @param weight The number of elements per turn.
+     * @throws IllegalArgumentException if the weight is not positive.
+     */
+    public void setWeight(K tenant, int weight) {
+        if (weight <= 0)
+            throw new IllegalArgumentException("Weight must be positive");
+        tenant(tenant).weight = weight;
+    }
+
+    /**
+     * Returns the weight of a tenant.
+     * @param tenant The key of the tenant.
+     * @return the number of elements per turn, or the default weight if the tenant is unknown.
+     */
+    public int weight(K tenant) {
+        Tenant t = tenants.get(tenant);
+        return (t == null) ? DEFAULT_WEIGHT : t.weight;
+    }
+
+    /**
+     * Returns the registered tenants.
+     * @return an unmodifiable view of the tenant keys.
+     */
+    public Set<K> tenants() {
+        return Collections.unmodifiableSet(tenants.keySet());
+    }
+
+    /**
+     * Adds an element to the rear of a tenant's queue, registering the tenant with the
+     * default weight if needed.
+     * @param tenant The key of the tenant.
+     * @param element The element to be added.
+     * @return true if the element was added successfully.
+     */
+    public boolean enqueue(K tenant, T element) {
+        Tenant t = tenant(tenant);
+        t.queue.enqueue(new Entry<>(element, System.nanoTime()));
+        if (!t.inRing) {
+            t.inRing = true;
+            t.deficit = 0;
+            active.enqueue(t);
+        }
+        size++;
+        return true;
+    }
+
+    /**
+     * Removes and returns the next element in deficit round robin order.
+     * @return the next element.
+     * @throws IllegalStateException if every queue is empty.
+     */
+    public T dequeue() {
+        if (isEmpty())
+            throw new IllegalStateException("Queue is empty");
+
+        Tenant t = active.peek();
+        if (t.deficit == 0)
+            t.deficit = t.weight;
+
+        Entry<T> entry = t.queue.dequeue();
+        t.deficit--;
+        size--;
+
+        long latency = System.nanoTime() - entry.enqueuedAt;
+        t.dequeued++;
+        t.totalLatency += latency;
+        t.maxLatency = Math.max(t.maxLatency, latency);
+        lastTenant = t.key;
+
+        if (t.queue.isEmpty()) {
+            active.dequeue();
+            t.inRing = false;
+            t.deficit = 0;
+        } else if (t.deficit == 0) {
+            active.enqueue(active.dequeue());
+        }
+        return entry.element;
+    }
+
+    /**
+     * Removes and returns the next element in deficit round robin order.
+     * @return the next element, or null if every queue is empty.
+     */
+    public T poll() {
+        return isEmpty() ? null : dequeue();
+    }
+
+    /**
+     * Removes up to max elements in fair order, passing each with its tenant to an action.
+     * @param action The action to perform on each tenant and element.
+     * @param max The maximum number of elements to remove.
+     * @return the number of elements removed.
+     * @throws IllegalArgumentException if max is negative.
+     */
+    public int drain(BiConsumer<? super K, ? super T> action, int max) {
+        if (max < 0)
+            throw new IllegalArgumentException("Count must not be negative");
+
+        int count = 0;
+        while (count < max && !isEmpty()) {
+            T element = dequeue();
+            action.accept(lastTenant, element);
+            count++;
+        }
+        return count;
+    }
+
+    /**
+     * Returns the tenant of the element last dequeued.
+     * @return the tenant key, or null if nothing was dequeued yet.
+     */
+    public K lastTenant() {
+        return lastTenant;
+    }
+
+    /**
+     * Checks if every queue is empty.
+     * @return true if no element is pending, false otherwise.
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Returns the number of elements across all tenants.
+     * @return the total size.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns the number of pending elements of a tenant.
+     * @param tenant The key of the tenant.
+     * @return the depth of the tenant's queue, 0 if the tenant is unknown.
+     */
+    public int depth(K tenant) {
+        Tenant t = tenants.get(tenant);
+        return (t == null) ? 0 : t.queue.size();
+    }
+
+    /**
+     * Returns the number of elements dequeued for a tenant.
+     * @param tenant The key of the tenant.
+     * @return the dequeued count, 0 if the tenant is unknown.
+     */
+    public long dequeued(K tenant) {
+        Tenant t = tenants.get(tenant);
+        return (t == null) ? 0 : t.dequeued;
+    }
+
+    /**
+     * Returns the average time the dequeued elements of a tenant waited in its queue.
+     * @param tenant The key of the tenant.
+     * @return the average latency in nanoseconds, 0 if none was dequeued.
+     */
+    public double averageLatencyNanos(K tenant) {
+        Tenant t = tenants.get(tenant);
+        return (t == null || t.dequeued == 0) ? 0 : (double) t.totalLatency / t.dequeued;
+    }
+
+    /**
+     * Returns the longest time a dequeued element of a tenant waited in its queue.
+     * @param tenant The key of the tenant.
+     * @return the maximum latency in nanoseconds, 0 if none was dequeued.
+     */
+    public long maxLatencyNanos(K tenant) {
+        Tenant t = tenants.get(tenant);
+        return (t == null) ? 0 : t.maxLatency;
+    }
+
+    /**
+     * Clears every queue. Tenants keep their weights and metrics.
+     */
+    public void clear() {
+        for (Tenant t : tenants.values()) {
+            t.queue.clear();
+            t.inRing = false;
+            t.deficit = 0;
+        }
+        active.clear();
+        size = 0;
+    }
+
+    /**
+     * Returns a tenant, registering it with the default weight if needed.
+     * @param key The key of the tenant.
+     * @return the tenant.
+     */
+    private Tenant tenant(K key) {
+        return tenants.computeIfAbsent(key, Tenant::new);
+    }
+}
@@ -1,25 +1,41 @@
 package com.gqcod3.datastructures.queue;
 
+import java.util.AbstractQueue;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
 import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+import com.gqcod3.datastructures.filter.CountingBloomFilter;
 
 /**
  * Linked Queue
  * <p>
- * A queue data structure implemented using a linked list.
+ * A queue data structure implemented using a linked list. It implements
+ * {@link java.util.Queue}, so it can be handed to library code without copying it;
+ * as that interface requires, {@link #peek()} and {@link #poll()} return null on an
+ * empty queue while {@link #dequeue()} throws.
  * </p>
  * 
  * <ul>
  * <li>{@link #enqueue(Object)}: Adds an element to the rear of the queue.</li>
  * <li>{@link #dequeue()}: Removes and returns the front element of the queue.</li>
- * <li>{@link #peek()}: Returns the front element without removing it.</li>
+ * <li>{@link #dequeue(int, Object[])}: Removes up to n front elements into an array.</li>
+ * <li>{@link #drain(Consumer, int)}: Removes up to max front elements, passing each to an action.</li>
+ * <li>{@link #takeAll()}: Detaches every element as a new queue in O(1).</li>
+ * <li>{@link #peek()}: Returns the front element without removing it, or null if the queue is empty.</li>
  * <li>{@link #isEmpty()}: Checks if the queue is empty.</li>
  * <li>{@link #size()}: Returns the number of elements in the queue.</li>
  * <li>{@link #clear()}: Removes all elements from the queue.</li>
  * <li>{@link #contains(Object)}: Checks if a specific element is in the queue.</li>
  * <li>{@link #iterator(Consumer)}: Iterates through the queue elements from front to rear.</li>
+ * <li>{@link #iterator()}: Returns a fail-fast iterator from front to rear.</li>
+ * <li>{@link #load(int, Supplier)}: Adds a batch of elements to the rear of the queue.</li>
+ * <li>{@link #enableFilter(int, double)}: Answers most misses of contains() without a scan.</li>
  * </ul>
  */
-public class LinkedQueue<T> {
+public class LinkedQueue<T> extends AbstractQueue<T> {
 
     /**
      * Reference to the front node of the queue.
@@ -33,6 +49,14 @@ public class LinkedQueue<T> {
      * Represents the number of elements in the queue.
      */
     private int size;
+    /**
+     * Number of structural modifications, used by iterators to fail fast.
+     */
+    private int modCount;
+    /**
+     * Optional filter of the elements, rejecting most absent ones in {@link #contains(Object)}.
+     */
+    private CountingBloomFilter filter;
 
 
     /**
@@ -71,6 +95,7 @@ public class LinkedQueue<T> {
      * Checks if the queue is empty.
      * @return true if the queue is empty, false otherwise.
      */
+    @Override
     public boolean isEmpty() {
         return front == null;
     }
@@ -79,6 +104,7 @@ public class LinkedQueue<T> {
      * Returns the number of elements in the queue.
      * @return the size of the queue.
      */
+    @Override
     public int size() {
         return this.size;
     }
@@ -86,10 +112,14 @@ public class LinkedQueue<T> {
     /**
      * Clears the queue by removing all elements.
      */
+    @Override
     public void clear() {
         front = null;
         rear = null;
         size = 0;
+        modCount++;
+        if (filter != null)
+            filter.clear();
     }
 
     /**
@@ -107,6 +137,9 @@ public class LinkedQueue<T> {
             rear = newNode;
         }
         size++;
+        modCount++;
+        if (filter != null)
+            filter.add(element);
         return true;
     }
 
@@ -126,17 +159,125 @@ public class LinkedQueue<T> {
             rear = null;
         
         size--;
+        modCount++;
+        if (filter != null)
+            filter.remove(data);
         return data;
     }
 
+    /**
+     * Removes up to n elements from the front of the queue into an array.
+     * <p>
+     * The elements are stored from index 0 in queue order. The queue size is updated
+     * once for the whole batch.
+     * </p>
+     * @param n The maximum number of elements to remove.
+     * @param out The array receiving the elements; at most its length are removed.
+     * @return the number of elements removed.
+     * @throws IllegalArgumentException if n is negative.
+     */
+    public int dequeue(int n, T[] out) {
+        if (n < 0)
+            throw new IllegalArgumentException("Count must not be negative");
+
+        int count = Math.min(Math.min(n, out.length), size);
+        if (count == 0)
+            return 0;
+
+        Node current = front;
+        for (int i = 0; i < count; i++) {
+            out[i] = current.data;
+            if (filter != null)
+                filter.remove(current.data);
+            current = current.next;
+        }
+        front = current;
+        if (front == null)
+            rear = null;
+        size -= count;
+        modCount++;
+        return count;
+    }
+
+    /**
+     * Removes up to max elements from the front of the queue, passing each to an action.
+     * <p>
+     * Every element is unlinked before the action receives it, so the action may enqueue
+     * into this queue; elements it adds are drained too while max is not reached. If the
+     * action throws, the element it was given is no longer in the queue.
+     * </p>
+     * @param action The action to perform on each removed element, in queue order.
+     * @param max The maximum number of elements to remove.
+     * @return the number of elements removed.
+     * @throws IllegalArgumentException if max is negative.
+     */
+    public int drain(Consumer<? super T> action, int max) {
+        if (max < 0)
+            throw new IllegalArgumentException("Count must not be negative");
+
+        int count = 0;
+        try {
+            while (count < max && front != null) {
+                T data = front.data;
+                front = front.next;
+                if (front == null)
+                    rear = null;
+                count++;
+                size--;
+                if (filter != null)
+                    filter.remove(data);
+                action.accept(data);
+            }
+        } finally {
+            if (count > 0)
+                modCount++;
+        }
+        return count;
+    }
+
+    /**
+     * Detaches every element of the queue and returns them as a new queue in O(1).
+     * <p>
+     * This queue is left empty; the returned queue holds the elements in the same order.
+     * </p>
+     * @return a queue holding every element that was in this queue.
+     */
+    public LinkedQueue<T> takeAll() {
+        LinkedQueue<T> batch = new LinkedQueue<>();
+        batch.front = front;
+        batch.rear = rear;
+        batch.size = size;
+        clear();
+        return batch;
+    }
+
+    /**
+     * Adds an element to the rear of the queue.
+     * @param element The element to be added to the queue.
+     * @return true if the element was added successfully.
+     */
+    @Override
+    public boolean offer(T element) {
+        return enqueue(element);
+    }
+
+    /**
+     * Removes and returns the element at the front of the queue.
+     * @return the front element of the queue, or null if the queue is empty.
+     */
+    @Override
+    public T poll() {
+        return isEmpty() ? null : dequeue();
+    }
+
     /**
      * Returns the element at the front of the queue without removing it.
-     * @return the front element of the queue.
-     * @throws IllegalStateException if the queue is empty.
+     * @return the front element of the queue, or null if the queue is empty.
      */
+    @Override
     public T peek() {
         if (isEmpty()) 
-            throw new IllegalStateException("Queue is empty");
+            return null;
         return front.data;
     }
 
@@ -145,7 +286,11 @@ public class LinkedQueue<T> {
      * @param element The element to check for.
      * @return true if the element is found, false otherwise.
      */
-    public boolean contains(T element) {
+    @Override
+    public boolean contains(Object element) {
+        if (filter != null && !filter.mightContain(element))
+            return false;
+
         Node current = front;
         while (current != null) {
             if ((element == null && current.data == null) || 
@@ -154,6 +299,8 @@ public class LinkedQueue<T> {
             }
             current = current.next;
         }
+        if (filter != null)
+            filter.recordFalsePositive();
         return false;
     }
 
@@ -168,4 +315,150 @@ public class LinkedQueue<T> {
             current = current.next;
         }
     }
+
+    /**
+     * Performs the given action on each element from front to rear, walking the nodes directly.
+     * @param action The action to perform on each element.
+     */
+    @Override
+    public void forEach(Consumer<? super T> action) {
+        int expectedModCount = modCount;
+        Node current = front;
+        while (current != null) {
+            action.accept(current.data);
+            current = current.next;
+        }
+        if (modCount != expectedModCount)
+            throw new ConcurrentModificationException();
+    }
+
+    /**
+     * Returns a fail-fast iterator over the queue elements from front to rear.
+     * <p>
+     * The iterator supports {@link Iterator#remove()}.
+     * </p>
+     * @return an iterator over the elements of the queue.
+     */
+    @Override
+    public Iterator<T> iterator() {
+        return new Itr();
+    }
+
+    /**
+     * Fail-fast iterator keeping the node before the last returned one, which is
+     * what unlinking that node needs.
+     */
+    private class Itr implements Iterator<T> {
+        Node next = front;
+        Node lastReturned;
+        Node beforeLast;
+        int expectedModCount = modCount;
+
+        public boolean hasNext() {
+            return next != null;
+        }
+
+        public T next() {
+            if (modCount != expectedModCount)
+                throw new ConcurrentModificationException();
+            if (next == null)
+                throw new NoSuchElementException();
+            if (lastReturned != null)
+                beforeLast = lastReturned;
+            lastReturned = next;
+            next = next.next;
+            return lastReturned.data;
+        }
+
+        public void remove() {
+            if (lastReturned == null)
+                throw new IllegalStateException();
+            if (modCount != expectedModCount)
+                throw new ConcurrentModificationException();
+
+            if (beforeLast == null) {
+                front = lastReturned.next;
+            } else {
+                beforeLast.next = lastReturned.next;
+            }
+            if (lastReturned == rear)
+                rear = beforeLast;
+            size--;
+            modCount++;
+            if (filter != null)
+                filter.remove(lastReturned.data);
+            lastReturned = null;
+            expectedModCount = modCount;
+        }
+    }
+
+    /**
+     * Adds a batch of elements to the rear of the queue.
+     * <p>
+     * The elements are linked into a chain first and the chain is attached at once,
+     * so the queue is left unchanged if the source fails.
+     * </p>
+     * @param count The number of elements to add.
+     * @param source The supplier called once per element, in queue order.
+     * @throws IllegalArgumentException if count is negative.
+     */
+    public void load(int count, Supplier<? extends T> source) {
+        if (count < 0)
+            throw new IllegalArgumentException("Count must not be negative");
+        if (count == 0)
+            return;
+
+        Node first = new Node(source.get());
+        Node last = first;
+        for (int i = 1; i < count; i++) {
+            last.next = new Node(source.get());
+            last = last.next;
+        }
+
+        if (rear == null) {
+            front = first;
+        } else {
+            rear.next = first;
+        }
+        rear = last;
+        size += count;
+        modCount++;
+        if (filter != null) {
+            for (Node current = first; current != null; current = current.next) {
+                filter.add(current.data);
+            }
+        }
+    }
+
+    /**
+     * Enables a counting Bloom filter that lets {@link #contains(Object)} reject most
+     * absent elements without scanning the queue. The filter is built from the current
+     * elements and kept up to date by every operation; its metrics are available from
+     * {@link #filter()}. Elements must not change their hash code while in the queue.
+     * @param expectedElements The number of elements the queue is expected to hold.
+     * @param falsePositiveRate The target share of absent elements that still need a scan.
+     * @throws IllegalArgumentException if the filter parameters are out of range.
+     */
+    public void enableFilter(int expectedElements, double falsePositiveRate) {
+        CountingBloomFilter newFilter = new CountingBloomFilter(expectedElements, falsePositiveRate);
+        for (Node current = front; current != null; current = current.next) {
+            newFilter.add(current.data);
+        }
+        filter = newFilter;
+    }
+
+    /**
+     * Disables the filter of {@link #contains(Object)}.
+     */
+    public void disableFilter() {
+        filter = null;
+    }
+
+    /**
+     * Returns the filter of {@link #contains(Object)}, to read its metrics.
+     * @return the filter, or null if it is disabled.
+     */
+    public CountingBloomFilter filter() {
+        return filter;
+    }
 }
@@ -0,0 +1,362 @@
+package com.gqcod3.datastructures.queue;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Linked Queue Publisher
+ * <p>
+ * A {@link Flow.Publisher} draining a {@link LinkedQueue}. Producers {@link #offer(Object)}
+ * elements into the queue, which holds them until the subscriber requests them; nothing
+ * is delivered beyond the outstanding demand. The queue is bounded, so a slow subscriber
+ * pushes back on producers instead of letting the queue grow.
+ * </p>
+ *
+ * <p>
+ * Delivery runs on an executor, by default on a virtual thread per drain when the
+ * runtime provides them and on the common fork-join pool otherwise. A work-in-progress
+ * counter makes sure a single drain runs at a time: offers and requests arriving while
+ * it runs only bump the counter, and the running drain loops again instead of a new
+ * task being scheduled. Each pass takes up to {@link #BATCH_SIZE} elements out of the
+ * queue under one lock acquisition.
+ * </p>
+ *
+ * <p>
+ * The publisher is unicast, since each element of the queue is consumed once: a second
+ * subscriber is rejected with {@code onError}.
+ * </p>
+ *
+ * <ul>
+ * <li>{@link #subscribe(Flow.Subscriber)}: Attaches the subscriber.</li>
+ * <li>{@link #offer(Object)}: Adds an element unless the queue is full.</li>
+ * <li>{@link #size()}: Returns the number of elements waiting for demand.</li>
+ * <li>{@link #close()}: Completes the subscriber once the queue is drained.</li>
+ * <li>{@link #closeExceptionally(Throwable)}: Fails the subscriber, dropping the queue.</li>
+ * </ul>
+ */
+public class LinkedQueuePublisher<T> implements Flow.Publisher<T>, AutoCloseable {
+
+    /**
+     * Maximum number of elements taken out of the queue per lock acquisition.
+     */
+    public static final int BATCH_SIZE = 64;
+
+    /**
+     * Executor used when none is given: virtual threads if available, the common pool otherwise.
+     */
+    private static final Executor DEFAULT_EXECUTOR = defaultExecutor();
+
+    /**
+     * Elements waiting for demand, guarded by its own monitor.
+     */
+    private final LinkedQueue<T> queue = new LinkedQueue<>();
+    /**
+     * Maximum number of elements waiting for demand.
+     */
+    private final int capacity;
+    /**
+     * Executor running the drains.
+     */
+    private final Executor executor;
+    /**
+     * Whether a subscriber was attached, guarded by the publisher's monitor.
+     */
+    private boolean subscribed;
+    /**
+     * Subscription of the subscriber, or null until its onSubscribe returned.
+     */
+    private volatile QueueSubscription subscription;
+    /**
+     * Whether no more elements will be offered, guarded by the queue's monitor so that
+     * no offer can slip in after a drain saw the publisher closed and empty.
+     */
+    private boolean closed;
+    /**
+     * Error to signal instead of completion, or null.
+     */
+    private volatile Throwable failure;
+
+    /**
+     * Constructor to create an unbounded publisher delivering on the default executor.
+     */
+    public LinkedQueuePublisher() {
+        this(DEFAULT_EXECUTOR, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Constructor to create a publisher.
+     * @param executor The executor running the deliveries.
+     * @param capacity The maximum number of elements waiting for demand.
+     * @throws IllegalArgumentException if the executor is null or the capacity is not positive.
+     */
+    public LinkedQueuePublisher(Executor executor, int capacity) {
+        if (executor == null)
+            throw new IllegalArgumentException("Executor must not be null");
+        if (capacity <= 0)
+            throw new IllegalArgumentException("Capacity must be positive");
+        this.executor = executor;
+        this.capacity = capacity;
+    }
+
+    /**
+     * Attaches the subscriber; elements offered before are kept for it.
+     * @param subscriber The subscriber receiving the elements.
+     */
+    @Override
+    public void subscribe(Flow.Subscriber<? super T> subscriber) {
+        if (subscriber == null)
+            throw new NullPointerException("Subscriber must not be null");
+
+        boolean first;
+        synchronized (this) {
+            first = !subscribed;
+            subscribed = true;
+        }
+        if (!first) {
+            subscriber.onSubscribe(new Flow.Subscription() {
+                public void request(long n) {
+                }
+
+                public void cancel() {
+                }
+            });
+            subscriber.onError(new IllegalStateException("Publisher already has a subscriber"));
+            return;
+        }
+
+        // The subscription starts with a pending signal, so requests made inside
+        // onSubscribe cannot start a drain before it returns
+        QueueSubscription newSubscription = new QueueSubscription(subscriber);
+        subscriber.onSubscribe(newSubscription);
+        subscription = newSubscription;
+        newSubscription.schedule();
+    }
+
+    /**
+     * Adds an element to the queue, to be delivered once requested.
+     * @param element The element to publish.
+     * @return true if the element was queued, false if the queue is full.
+     * @throws IllegalArgumentException if the element is null.
+     * @throws IllegalStateException if the publisher was closed.
+     */
+    public boolean offer(T element) {
+        if (element == null)
+            throw new IllegalArgumentException("Element must not be null");
+
+        synchronized (queue) {
+            if (closed)
+                throw new IllegalStateException("Publisher is closed");
+            if (queue.size() >= capacity)
+                return false;
+            queue.enqueue(element);
+        }
+        QueueSubscription current = subscription;
+        if (current != null)
+            current.signal();
+        return true;
+    }
+
+    /**
+     * Returns the number of elements waiting for demand.
+     * @return the size of the queue.
+     */
+    public int size() {
+        synchronized (queue) {
+            return queue.size();
+        }
+    }
+
+    /**
+     * Stops accepting elements; the subscriber completes after receiving the queued ones.
+     */
+    @Override
+    public void close() {
+        synchronized (queue) {
+            closed = true;
+        }
+        QueueSubscription current = subscription;
+        if (current != null)
+            current.signal();
+    }
+
+    /**
+     * Stops accepting elements and fails the subscriber, dropping the queued elements.
+     * @param error The error passed to {@code onError}.
+     */
+    public void closeExceptionally(Throwable error) {
+        if (error == null)
+            throw new IllegalArgumentException("Error must not be null");
+        failure = error;
+        close();
+    }
+
+    /**
+     * Subscription delivering the queue against the subscriber's demand.
+     */
+    private final class QueueSubscription implements Flow.Subscription {
+        /**
+         * Subscriber receiving the elements.
+         */
+        final Flow.Subscriber<? super T> subscriber;
+        /**
+         * Outstanding demand, saturating at Long.MAX_VALUE.
+         */
+        final AtomicLong demand = new AtomicLong();
+        /**
+         * Number of signals not yet handled by a drain; a drain runs while it is positive.
+         */
+        final AtomicInteger wip = new AtomicInteger();
+        /**
+         * Whether the subscription was cancelled or terminated.
+         */
+        volatile boolean cancelled;
+        /**
+         * Error to signal for an invalid request, or null.
+         */
+        volatile Throwable requestError;
+
+        QueueSubscription(Flow.Subscriber<? super T> subscriber) {
+            this.subscriber = subscriber;
+            this.wip.set(1);
+        }
+
+        @Override
+        public void request(long n) {
+            if (n <= 0) {
+                requestError = new IllegalArgumentException("Request must be positive: " + n);
+            } else {
+                demand.getAndUpdate(current -> (current + n < 0) ? Long.MAX_VALUE : current + n);
+            }
+            signal();
+        }
+
+        @Override
+        public void cancel() {
+            cancelled = true;
+        }
+
+        /**
+         * Schedules a drain, unless one is running and will see this signal.
+         */
+        void signal() {
+            if (wip.getAndIncrement() == 0)
+                schedule();
+        }
+
+        /**
+         * Hands a drain to the executor, failing the subscriber if it is rejected.
+         */
+        void schedule() {
+            try {
+                executor.execute(this::drain);
+            } catch (RuntimeException e) {
+                cancelled = true;
+                subscriber.onError(e);
+            }
+        }
+
+        /**
+         * Delivers queued elements while there is demand, then terminates the subscriber
+         * if the publisher was closed and the queue is empty. Loops for signals received
+         * while running.
+         */
+        @SuppressWarnings("unchecked")
+        void drain() {
+            T[] batch = (T[]) new Object[BATCH_SIZE];
+            int missed = 1;
+            do {
+                if (cancelled)
+                    return;
+                if (requestError != null || failure != null) {
+                    terminate(requestError != null ? requestError : failure);
+                    return;
+                }
+
+                long requested = demand.get();
+                long delivered = 0;
+                while (delivered < requested && !cancelled) {
+                    int count;
+                    synchronized (queue) {
+                        count = queue.dequeue((int) Math.min(BATCH_SIZE, requested - delivered), batch);
+                    }
+                    if (count == 0)
+                        break;
+                    for (int i = 0; i < count; i++) {
+                        T element = batch[i];
+                        batch[i] = null;
+                        if (!cancelled && !deliver(element))
+                            return;
+                    }
+                    delivered += count;
+                }
+                if (delivered > 0 && requested != Long.MAX_VALUE)
+                    demand.addAndGet(-delivered);
+
+                if (!cancelled) {
+                    // Closure and emptiness are read together, so no offer lands in between
+                    boolean done;
+                    synchronized (queue) {
+                        done = closed && (queue.isEmpty() || failure != null);
+                    }
+                    if (done) {
+                        terminate(failure);
+                        return;
+                    }
+                }
+                missed = wip.addAndGet(-missed);
+            } while (missed != 0);
+        }
+
+        /**
+         * Hands an element to the subscriber, cancelling if it throws.
+         * @param element The element to deliver.
+         * @return true if the subscriber accepted it, false if it threw.
+         */
+        private boolean deliver(T element) {
+            try {
+                subscriber.onNext(element);
+                return true;
+            } catch (RuntimeException e) {
+                cancelled = true;
+                return false;
+            }
+        }
+
+        /**
+         * Completes or fails the subscriber once and drops what is left in the queue.
+         * @param error The error to signal, or null to complete.
+         */
+        private void terminate(Throwable error) {
+            cancelled = true;
+            if (error != null) {
+                synchronized (queue) {
+                    queue.clear();
+                }
+                subscriber.onError(error);
+            } else {
+                subscriber.onComplete();
+            }
+        }
+    }
+
+    /**
+     * Looks up {@code Executors.newVirtualThreadPerTaskExecutor()}, which only exists on
+     * runtimes with virtual threads, falling back to the common fork-join pool.
+     * @return the default executor.
+     */
+    private static Executor defaultExecutor() {
+        try {
+            return (Executor) MethodHandles.publicLookup()
+                    .findStatic(java.util.concurrent.Executors.class, "newVirtualThreadPerTaskExecutor",
+                            MethodType.methodType(java.util.concurrent.ExecutorService.class))
+                    .invoke();
+        } catch (Throwable e) {
+            return ForkJoinPool.commonPool();
+        }
+    }
+}
@@ -0,0 +1,232 @@
+package com.gqcod3.datastructures.queue;
+
+import java.util.concurrent.Flow;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Linked Queue Subscriber
+ * <p>
+ * A {@link Flow.Subscriber} buffering what it receives in a {@link LinkedQueue} for a
+ * consumer calling {@link #poll()} or {@link #take()}. The buffer is bounded by the
+ * demand: the subscriber requests its capacity up front and then requests again only
+ * as the consumer frees room, in batches of half the capacity, so the buffer never
+ * holds more than capacity elements however fast the publisher is.
+ * </p>
+ *
+ * <ul>
+ * <li>{@link #poll()}: Removes and returns the next element, or null if none is buffered.</li>
+ * <li>{@link #take()}: Waits for the next element, returning null once the stream ended.</li>
+ * <li>{@link #size()}: Returns the number of buffered elements.</li>
+ * <li>{@link #isDone()}: Checks if the stream ended and the buffer is empty.</li>
+ * <li>{@link #error()}: Returns the error that ended the stream, if any.</li>
+ * <li>{@link #cancel()}: Cancels the subscription.</li>
+ * </ul>
+ */
+public class LinkedQueueSubscriber<T> implements Flow.Subscriber<T> {
+
+    /**
+     * Buffered elements, guarded by the lock.
+     */
+    private final LinkedQueue<T> buffer = new LinkedQueue<>();
+    /**
+     * Lock guarding the buffer and the stream state.
+     */
+    private final ReentrantLock lock = new ReentrantLock();
+    /**
+     * Condition signalled when an element arrives or the stream ends.
+     */
+    private final Condition notEmpty = lock.newCondition();
+    /**
+     * Maximum number of buffered elements, which is the initial request.
+     */
+    private final int capacity;
+    /**
+     * Number of consumed elements after which demand is renewed.
+     */
+    private final int replenish;
+    /**
+     * Number of elements consumed since demand was last renewed, guarded by the lock.
+     */
+    private int consumed;
+    /**
+     * Subscription received from the publisher, or null before onSubscribe.
+     */
+    private volatile Flow.Subscription subscription;
+    /**
+     * Whether the publisher completed or failed, guarded by the lock.
+     */
+    private boolean done;
+    /**
+     * Error that ended the stream, or null, guarded by the lock.
+     */
+    private Throwable error;
+
+    /**
+     * Constructor to create a subscriber.
+     * @param capacity The maximum number of buffered elements.
+     * @throws IllegalArgumentException if the capacity is not positive.
+     */
+    public LinkedQueueSubscriber(int capacity) {
+        if (capacity <= 0)
+            throw new IllegalArgumentException("Capacity must be positive");
+        this.capacity = capacity;
+        this.replenish = Math.max(1, capacity / 2);
+    }
+
+    @Override
+    public void onSubscribe(Flow.Subscription subscription) {
+        if (this.subscription != null) {
+            subscription.cancel();
+            return;
+        }
+        this.subscription = subscription;
+        subscription.request(capacity);
+    }
+
+    @Override
+    public void onNext(T item) {
+        lock.lock();
+        try {
+            buffer.enqueue(item);
+            notEmpty.signal();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void onError(Throwable throwable) {
+        finish(throwable);
+    }
+
+    @Override
+    public void onComplete() {
+        finish(null);
+    }
+
+    /**
+     * Removes and returns the next buffered element.
+     * @return the next element, or null if none is buffered.
+     */
+    public T poll() {
+        T element;
+        lock.lock();
+        try {
+            if (buffer.isEmpty())
+                return null;
+            element = buffer.dequeue();
+        } finally {
+            lock.unlock();
+        }
+        consumed();
+        return element;
+    }
+
+    /**
+     * Removes and returns the next element, waiting for one to arrive.
+     * @return the next element, or null if the stream ended and the buffer is empty.
+     * @throws InterruptedException if interrupted while waiting.
+     */
+    public T take() throws InterruptedException {
+        T element;
+        lock.lockInterruptibly();
+        try {
+            while (buffer.isEmpty()) {
+                if (done)
+                    return null;
+                notEmpty.await();
+            }
+            element = buffer.dequeue();
+        } finally {
+            lock.unlock();
+        }
+        consumed();
+        return element;
+    }
+
+    /**
+     * Returns the number of buffered elements.
+     * @return the size of the buffer.
+     */
+    public int size() {
+        lock.lock();
+        try {
+            return buffer.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Checks if the stream ended and every buffered element was consumed.
+     * @return true if no element will be returned anymore, false otherwise.
+     */
+    public boolean isDone() {
+        lock.lock();
+        try {
+            return done && buffer.isEmpty();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Returns the error that ended the stream.
+     * @return the error passed to onError, or null if the stream did not fail.
+     */
+    public Throwable error() {
+        lock.lock();
+        try {
+            return error;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Cancels the subscription; elements already buffered can still be consumed.
+     */
+    public void cancel() {
+        Flow.Subscription current = subscription;
+        if (current != null)
+            current.cancel();
+        finish(null);
+    }
+
+    /**
+     * Counts a consumed element and renews the demand once a batch was consumed; the
+     * request is made outside the lock, since the publisher may deliver synchronously.
+     */
+    private void consumed() {
+        int request = 0;
+        lock.lock();
+        try {
+            if (!done && ++consumed >= replenish) {
+                request = consumed;
+                consumed = 0;
+            }
+        } finally {
+            lock.unlock();
+        }
+        if (request > 0)
+            subscription.request(request);
+    }
+
+    /**
+     * Ends the stream and wakes up the waiting consumers.
+     * @param throwable The error that ended the stream, or null.
+     */
+    private void finish(Throwable throwable) {
+        lock.lock();
+        try {
+            if (!done) {
+                done = true;
+                error = throwable;
+            }
+            notEmpty.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+}
@@ -0,0 +1,182 @@
+package com.gqcod3.datastructures.queue;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.function.Consumer;
+
+/**
+ * MPSC Linked Queue
+ * <p>
+ * An intrusive multi-producer, single-consumer FIFO queue after Dmitry Vyukov's
+ * non-blocking design, meant for mailboxes with many senders and one consumer.
+ * Elements extend {@link Node}, which carries the link, so enqueuing allocates
+ * nothing.
+ * </p>
+ *
+ * <p>
+ * A producer pays a single atomic exchange on the rear and then links the previous
+ * rear to its node; the consumer only uses plain and acquiring reads, never a CAS.
+ * A stub node keeps the chain from ever being empty, so producers never need to
+ * touch the front. Between the exchange and the link, the node is not reachable
+ * from the front yet: the consumer then sees the queue as empty, and the element
+ * shows up on its next poll.
+ * </p>
+ *
+ * <p>
+ * {@link #poll()} and {@link #drain(Consumer, int)} must only be called by one thread
+ * at a time. A node must not be enqueued again before it was polled, and can only be
+ * in one queue at a time.
+ * </p>
+ *
+ * <ul>
+ * <li>{@link #enqueue(Node)}: Adds a node to the rear of the queue, from any thread.</li>
+ * <li>{@link #poll()}: Removes and returns the front node, or null if none is available.</li>
+ * <li>{@link #drain(Consumer, int)}: Removes up to max front nodes, passing each to an action.</li>
+ * <li>{@link #isEmpty()}: Checks if the queue is empty, from the consumer's point of view.</li>
+ * </ul>
+ */
+public class MpscLinkedQueue<E extends MpscLinkedQueue.Node> {
+
+    /**
+     * Link of an element of the queue.
+     * <p>
+     * Elements extend this class, so that the queue links them directly.
+     * </p>
+     */
+    public static class Node {
+        /**
+         * Next node towards the rear, written by producers and read by the consumer.
+         */
+        private volatile Node next;
+    }
+
+    /**
+     * Handle on {@link Node#next}, for release writes and acquire reads.
+     */
+    private static final VarHandle NEXT;
+    /**
+     * Handle on {@link #rear}, for the producers' exchange.
+     */
+    private static final VarHandle REAR;
+
+    static {
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.lookup();
+            NEXT = lookup.findVarHandle(Node.class, "next", Node.class);
+            REAR = lookup.findVarHandle(MpscLinkedQueue.class, "rear", Node.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    /**
+     * Placeholder node; re-enqueued when the consumer would otherwise take the last node.
+     */
+    private final Node stub = new Node();
+    /**
+     * Last node of the chain, exchanged by producers.
+     */
+    private volatile Node rear;
+    /**
+     * First node of the chain, only touched by the consumer.
+     */
+    private Node front;
+
+    /**
+     * Constructor to initialize an empty queue.
+     */
+    public MpscLinkedQueue() {
+        this.rear = stub;
+        this.front = stub;
+    }
+
+    /**
+     * Adds a node to the rear of the queue. Safe to call from any number of threads.
+     * @param node The node to be added to the queue.
+     * @throws IllegalArgumentException if the node is null.
+     */
+    public void enqueue(E node) {
+        if (node == null)
+            throw new IllegalArgumentException("Node must not be null");
+        link(node);
+    }
+
+    /**
+     * Removes and returns the node at the front of the queue. Consumer only.
+     * @return the front node, or null if none is available yet.
+     */
+    @SuppressWarnings("unchecked")
+    public E poll() {
+        Node first = front;
+        Node next = (Node) NEXT.getAcquire(first);
+
+        if (first == stub) {
+            if (next == null)
+                return null;
+            // Skip the stub; it is re-enqueued when the last node is taken
+            front = next;
+            first = next;
+            next = (Node) NEXT.getAcquire(next);
+        }
+
+        if (next != null) {
+            front = next;
+            NEXT.setOpaque(first, null);
+            return (E) first;
+        }
+
+        // first is the last linked node: taking it would leave the chain empty, unless
+        // a producer already swapped the rear and has yet to link to it
+        if (first != rear)
+            return null;
+        link(stub);
+        next = (Node) NEXT.getAcquire(first);
+        if (next != null) {
+            front = next;
+            NEXT.setOpaque(first, null);
+            return (E) first;
+        }
+        return null;
+    }
+
+    /**
+     * Removes up to max nodes from the front of the queue, passing each to an action in
+     * queue order. Consumer only; stops early at the first node not yet linked.
+     * @param action The action to perform on each removed node.
+     * @param max The maximum number of nodes to remove.
+     * @return the number of nodes removed.
+     * @throws IllegalArgumentException if max is negative.
+     */
+    public int drain(Consumer<? super E> action, int max) {
+        if (max < 0)
+            throw new IllegalArgumentException("Count must not be negative");
+
+        int count = 0;
+        E node;
+        while (count < max && (node = poll()) != null) {
+            action.accept(node);
+            count++;
+        }
+        return count;
+    }
+
+    /**
+     * Checks if the queue is empty. Consumer only; nodes being enqueued concurrently
+     * may not be seen yet.
+     * @return true if no node is available to poll, false otherwise.
+     */
+    public boolean isEmpty() {
+        Node first = front;
+        return first == stub && NEXT.getAcquire(first) == null;
+    }
+
+    /**
+     * Appends a node: one exchange on the rear, then a release write of the link.
+     * @param node The node to append.
+     */
+    private void link(Node node) {
+        NEXT.setRelease(node, null);
+        Node previous = (Node) REAR.getAndSet(this, node);
+        NEXT.setRelease(previous, node);
+    }
+}
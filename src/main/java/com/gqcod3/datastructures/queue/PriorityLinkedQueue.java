@@ -0,0 +1,473 @@
+package com.gqcod3.datastructures.queue;
+
+import java.util.Comparator;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+import com.gqcod3.datastructures.stack.LinkedStack;
+
+/**
+ * Priority Linked Queue
+ * <p>
+ * A priority queue implemented as a pairing heap: a tree of linked nodes in which
+ * every node holds an element no greater than those of its children. The smallest
+ * element according to the queue comparator is always at the root.
+ * </p>
+ *
+ * <p>
+ * Inserting and melding link a single tree under the root in O(1). Dequeuing
+ * combines the children of the root in two passes, which takes O(log n) amortized.
+ * Every enqueue returns a {@link Handle} that can later be used to lower the priority
+ * of the element or to remove it without searching the queue.
+ * </p>
+ *
+ * <ul>
+ * <li>{@link #enqueue(Object)}: Adds an element and returns its handle.</li>
+ * <li>{@link #dequeue()}: Removes and returns the smallest element of the queue.</li>
+ * <li>{@link #peek()}: Returns the smallest element without removing it.</li>
+ * <li>{@link #decreaseKey(Handle, Object)}: Replaces an element with a smaller one.</li>
+ * <li>{@link #remove(Handle)}: Removes the element of a handle.</li>
+ * <li>{@link #meld(PriorityLinkedQueue)}: Moves every element of another queue into this one.</li>
+ * <li>{@link #isEmpty()}: Checks if the queue is empty.</li>
+ * <li>{@link #size()}: Returns the number of elements in the queue.</li>
+ * <li>{@link #clear()}: Removes all elements from the queue.</li>
+ * <li>{@link #contains(Object)}: Checks if a specific element is in the queue.</li>
+ * <li>{@link #iterator(Consumer)}: Iterates through the queue elements in no particular order.</li>
+ * </ul>
+ */
+public class PriorityLinkedQueue<T> {
+
+    /**
+     * Handle to an element of a priority queue.
+     * <p>
+     * A handle stays valid until its element is dequeued, removed or cleared. Melding
+     * moves the handles of the absorbed queue to the receiving queue. A queue rejects
+     * the handles of elements it does not hold.
+     * </p>
+     */
+    public interface Handle<T> {
+        /**
+         * Returns the element of the handle.
+         * @return the element.
+         */
+        T get();
+
+        /**
+         * Checks if the element is still in a queue.
+         * @return true if the element was neither dequeued, removed nor cleared, false otherwise.
+         */
+        boolean isQueued();
+    }
+
+    /**
+     * Reference to the root node of the heap.
+     */
+    private Node root;
+    /**
+     * Represents the number of elements in the queue.
+     */
+    private int size;
+    /**
+     * Comparator defining the priority order, smallest first.
+     */
+    private final Comparator<? super T> comparator;
+    /**
+     * Owner of the nodes enqueued into this queue.
+     */
+    private Owner owner;
+
+    /**
+     * Owner token shared by the nodes of a queue.
+     * <p>
+     * Melding links the owner of the absorbed queue under the owner of the receiving
+     * one, so the handles move in O(1); the root of an owner chain refers to the queue
+     * holding the nodes, or to null once the queue dropped them in {@link #clear()}.
+     * </p>
+     */
+    private static final class Owner {
+        Owner parent;
+        PriorityLinkedQueue<?> queue;
+
+        Owner(PriorityLinkedQueue<?> queue) {
+            this.queue = queue;
+        }
+
+        /**
+         * Returns the root of the owner chain, halving the path on the way.
+         * @return the root owner.
+         */
+        Owner root() {
+            Owner current = this;
+            while (current.parent != null) {
+                if (current.parent.parent != null)
+                    current.parent = current.parent.parent;
+                current = current.parent;
+            }
+            return current;
+        }
+    }
+
+    /**
+     * Node class representing each element in the queue.
+     * <p>
+     * Children of a node form a list through the sibling reference. The prev reference
+     * points to the left sibling, or to the parent for the first child.
+     * </p>
+     */
+    private class Node implements Handle<T> {
+        T data;
+        Node child;
+        Node sibling;
+        Node prev;
+        Owner owner;
+        boolean queued;
+
+        /**
+         * Constructor to create a new node with the given data.
+         * @param data The data to be stored in the node.
+         */
+        Node(T data) {
+            this.data = data;
+            this.owner = PriorityLinkedQueue.this.owner;
+            this.queued = true;
+        }
+
+        public T get() {
+            return data;
+        }
+
+        public boolean isQueued() {
+            return queued && queue() != null;
+        }
+
+        /**
+         * Returns the queue holding the node.
+         * @return the queue, or null if the node was dropped by a clear.
+         */
+        PriorityLinkedQueue<?> queue() {
+            owner = owner.root();
+            return owner.queue;
+        }
+    }
+
+    /**
+     * Constructor to initialize an empty queue ordered by the natural order of its elements.
+     * <p>
+     * Elements must implement {@link Comparable}.
+     * </p>
+     */
+    @SuppressWarnings("unchecked")
+    public PriorityLinkedQueue() {
+        this((a, b) -> ((Comparable<? super T>) a).compareTo(b));
+    }
+
+    /**
+     * Constructor to initialize an empty queue.
+     * @param comparator The comparator defining the priority order, smallest first.
+     */
+    public PriorityLinkedQueue(Comparator<? super T> comparator) {
+        if (comparator == null)
+            throw new IllegalArgumentException("Comparator must not be null");
+        this.comparator = comparator;
+        this.owner = new Owner(this);
+        this.root = null;
+        this.size = 0;
+    }
+
+    /**
+     * Checks if the queue is empty.
+     * @return true if the queue is empty, false otherwise.
+     */
+    public boolean isEmpty() {
+        return root == null;
+    }
+
+    /**
+     * Returns the number of elements in the queue.
+     * @return the size of the queue.
+     */
+    public int size() {
+        return this.size;
+    }
+
+    /**
+     * Clears the queue by removing all elements.
+     * <p>
+     * Handles of the removed elements are released in O(1): they report themselves as
+     * no longer queued and are rejected by {@link #decreaseKey(Handle, Object)} and
+     * {@link #remove(Handle)}.
+     * </p>
+     */
+    public void clear() {
+        owner.queue = null;
+        owner = new Owner(this);
+        root = null;
+        size = 0;
+    }
+
+    /**
+     * Adds an element to the queue.
+     * @param element The element to be added to the queue.
+     * @return the handle of the element.
+     * @throws IllegalArgumentException if the element is null.
+     */
+    public Handle<T> enqueue(T element) {
+        if (element == null)
+            throw new IllegalArgumentException("Element must not be null");
+
+        Node newNode = new Node(element);
+        root = (root == null) ? newNode : link(root, newNode);
+        size++;
+        return newNode;
+    }
+
+    /**
+     * Removes and returns the smallest element of the queue.
+     * @return the smallest element of the queue.
+     * @throws IllegalStateException if the queue is empty.
+     */
+    public T dequeue() {
+        if (isEmpty())
+            throw new IllegalStateException("Queue is empty");
+
+        Node removed = root;
+        root = combine(removed.child);
+        release(removed);
+        size--;
+        return removed.data;
+    }
+
+    /**
+     * Returns the smallest element of the queue without removing it.
+     * @return the smallest element of the queue.
+     * @throws IllegalStateException if the queue is empty.
+     */
+    public T peek() {
+        if (isEmpty())
+            throw new IllegalStateException("Queue is empty");
+        return root.data;
+    }
+
+    /**
+     * Replaces the element of a handle with one of higher or equal priority.
+     * @param handle The handle of the element to replace.
+     * @param element The new element, no greater than the current one.
+     * @throws IllegalArgumentException if the handle is not queued in this queue, the
+     *                                  element is null or the element is greater than the
+     *                                  current one.
+     */
+    public void decreaseKey(Handle<T> handle, T element) {
+        Node node = nodeOf(handle);
+        if (element == null)
+            throw new IllegalArgumentException("Element must not be null");
+        if (comparator.compare(element, node.data) > 0)
+            throw new IllegalArgumentException("New element is greater than the current one");
+
+        node.data = element;
+        if (node == root)
+            return;
+        cut(node);
+        root = link(root, node);
+    }
+
+    /**
+     * Removes the element of a handle from the queue.
+     * @param handle The handle of the element to remove.
+     * @return the removed element.
+     * @throws IllegalArgumentException if the handle is not queued in this queue.
+     */
+    public T remove(Handle<T> handle) {
+        Node node = nodeOf(handle);
+        if (node == root)
+            return dequeue();
+
+        cut(node);
+        Node subtree = combine(node.child);
+        if (subtree != null)
+            root = link(root, subtree);
+        release(node);
+        size--;
+        return node.data;
+    }
+
+    /**
+     * Moves every element of another queue into this one in O(1).
+     * <p>
+     * Both queues must order their elements the same way. The other queue is left
+     * empty and the handles of its elements now refer to this queue.
+     * </p>
+     * @param other The queue whose elements are moved.
+     */
+    public void meld(PriorityLinkedQueue<T> other) {
+        if (other == this || other.isEmpty())
+            return;
+
+        root = (root == null) ? other.root : link(root, other.root);
+        size += other.size;
+        other.owner.parent = owner;
+        other.owner.queue = null;
+        other.owner = new Owner(other);
+        other.root = null;
+        other.size = 0;
+    }
+
+    /**
+     * Checks if a specific element is in the queue.
+     * @param element The element to check for.
+     * @return true if the element is found, false otherwise.
+     */
+    public boolean contains(T element) {
+        return element != null && traverse(element::equals);
+    }
+
+    /**
+     * Iterates through the queue elements in no particular order.
+     * @param action The action to perform on each element.
+     */
+    public void iterator(Consumer<T> action) {
+        traverse(data -> {
+            action.accept(data);
+            return false;
+        });
+    }
+
+    /**
+     * Walks the heap depth-first until the visitor returns true.
+     * <p>
+     * Siblings are followed in a loop and only children are pushed on an explicit
+     * stack, so deep heaps do not overflow the call stack.
+     * </p>
+     * @param visitor The test applied to each element.
+     * @return true if the visitor accepted an element, false otherwise.
+     */
+    private boolean traverse(Predicate<T> visitor) {
+        if (isEmpty())
+            return false;
+
+        LinkedStack<Node> pending = new LinkedStack<>();
+        pending.push(root);
+        while (!pending.isEmpty()) {
+            Node current = pending.pop();
+            while (current != null) {
+                if (visitor.test(current.data))
+                    return true;
+                if (current.child != null)
+                    pending.push(current.child);
+                current = current.sibling;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Links two heap roots, making the larger one the first child of the smaller one.
+     * @param a The first root.
+     * @param b The second root.
+     * @return the root of the linked heap.
+     */
+    private Node link(Node a, Node b) {
+        if (comparator.compare(b.data, a.data) < 0) {
+            Node swap = a;
+            a = b;
+            b = swap;
+        }
+
+        b.sibling = a.child;
+        if (a.child != null)
+            a.child.prev = b;
+        b.prev = a;
+        a.child = b;
+        a.sibling = null;
+        a.prev = null;
+        return a;
+    }
+
+    /**
+     * Combines a list of sibling heaps into one heap using the two-pass method.
+     * <p>
+     * The first pass links siblings in pairs from left to right and stacks the results
+     * through their sibling references. The second pass links the stacked heaps from
+     * right to left into a single heap.
+     * </p>
+     * @param first The first heap of the sibling list, or null.
+     * @return the root of the combined heap, or null if the list was empty.
+     */
+    private Node combine(Node first) {
+        if (first == null)
+            return null;
+
+        Node pairs = null;
+        Node current = first;
+        while (current != null) {
+            Node second = current.sibling;
+            Node next = (second == null) ? null : second.sibling;
+
+            current.sibling = null;
+            current.prev = null;
+            if (second != null) {
+                second.sibling = null;
+                second.prev = null;
+                current = link(current, second);
+            }
+            current.sibling = pairs;
+            pairs = current;
+            current = next;
+        }
+
+        Node result = pairs;
+        pairs = pairs.sibling;
+        result.sibling = null;
+        while (pairs != null) {
+            Node next = pairs.sibling;
+            pairs.sibling = null;
+            result = link(result, pairs);
+            pairs = next;
+        }
+        return result;
+    }
+
+    /**
+     * Detaches a non-root node, together with its subtree, from its parent.
+     * @param node The node to detach.
+     */
+    private void cut(Node node) {
+        if (node.prev.child == node) {
+            node.prev.child = node.sibling;
+        } else {
+            node.prev.sibling = node.sibling;
+        }
+        if (node.sibling != null)
+            node.sibling.prev = node.prev;
+        node.sibling = null;
+        node.prev = null;
+    }
+
+    /**
+     * Clears the links of a node leaving the queue and invalidates its handle.
+     * @param node The node leaving the queue.
+     */
+    private void release(Node node) {
+        node.child = null;
+        node.sibling = null;
+        node.prev = null;
+        node.queued = false;
+    }
+
+    /**
+     * Resolves a handle to its node.
+     * @param handle The handle to resolve.
+     * @return the node of the handle.
+     * @throws IllegalArgumentException if the handle is not queued in this queue.
+     */
+    @SuppressWarnings("unchecked")
+    private Node nodeOf(Handle<T> handle) {
+        if (!(handle instanceof PriorityLinkedQueue.Node))
+            throw new IllegalArgumentException("Handle is not queued");
+        Node node = (Node) handle;
+        if (!node.queued || node.queue() == null)
+            throw new IllegalArgumentException("Handle is not queued");
+        if (node.queue() != this)
+            throw new IllegalArgumentException("Handle belongs to another queue");
+        return node;
+    }
+}
@@ -0,0 +1,279 @@
+package com.gqcod3.datastructures.queue;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+/**
+ * Snapshot Linked Queue
+ * <p>
+ * A thread-safe queue implemented using a linked list with a dummy front node and
+ * separate locks for each end, so producers and consumers do not block each other.
+ * Inspections ({@link #iterator(Consumer)} and {@link #contains(Object)}) never take
+ * those locks for longer than it takes to read the ends of the queue, so monitoring
+ * threads do not stall the hot path.
+ * </p>
+ *
+ * <p>
+ * Linked nodes are never modified after they are published: a dequeue only moves the
+ * front reference forward. A traversal between a captured front and rear therefore
+ * sees exactly the elements that were in the queue at the moment of the capture.
+ * </p>
+ *
+ * <ul>
+ * <li>{@link #enqueue(Object)}: Adds an element to the rear of the queue.</li>
+ * <li>{@link #dequeue()}: Removes and returns the front element of the queue.</li>
+ * <li>{@link #peek()}: Returns the front element without removing it.</li>
+ * <li>{@link #isEmpty()}: Checks if the queue is empty.</li>
+ * <li>{@link #size()}: Returns the number of elements in the queue.</li>
+ * <li>{@link #clear()}: Removes all elements from the queue.</li>
+ * <li>{@link #contains(Object)}: Checks if a specific element is in the queue.</li>
+ * <li>{@link #iterator(Consumer)}: Iterates through the queue elements from front to rear.</li>
+ * </ul>
+ */
+public class SnapshotLinkedQueue<T> {
+
+    /**
+     * Consistency guarantee offered by {@link #iterator(Consumer)} and {@link #contains(Object)}.
+     */
+    public enum IterationMode {
+        /**
+         * Visits exactly the elements present when the traversal started, regardless of
+         * concurrent enqueues and dequeues.
+         */
+        SNAPSHOT,
+        /**
+         * Visits the elements present when the traversal started and may also visit
+         * elements enqueued while it runs. No lock is taken at all.
+         */
+        WEAKLY_CONSISTENT
+    }
+
+    /**
+     * Dummy node preceding the front element of the queue.
+     */
+    private volatile Node front;
+    /**
+     * Reference to the rear node of the queue.
+     */
+    private volatile Node rear;
+    /**
+     * Represents the number of elements in the queue. A dequeue may briefly run
+     * ahead of the matching enqueue's increment, so the counter can dip below zero.
+     */
+    private final AtomicInteger size = new AtomicInteger();
+    /**
+     * Lock held by consumers while moving the front of the queue.
+     */
+    private final ReentrantLock takeLock = new ReentrantLock();
+    /**
+     * Lock held by producers while linking a new rear node.
+     */
+    private final ReentrantLock putLock = new ReentrantLock();
+    /**
+     * Consistency guarantee of the inspection methods.
+     */
+    private final IterationMode mode;
+
+    /**
+     * Node class representing each element in the queue.
+     * <p>
+     * The data of a node is final and its next reference is written once, when the
+     * following node is enqueued.
+     * </p>
+     */
+    private class Node {
+        final T data;
+        volatile Node next;
+
+        /**
+         * Constructor to create a new node with the given data.
+         * @param data The data to be stored in the node.
+         */
+        Node(T data) {
+            this.data = data;
+            this.next = null;
+        }
+    }
+
+    /**
+     * Constructor to initialize an empty queue with snapshot iteration.
+     */
+    public SnapshotLinkedQueue() {
+        this(IterationMode.SNAPSHOT);
+    }
+
+    /**
+     * Constructor to initialize an empty queue.
+     * <p>
+     * Sets the front and rear of the queue to the same dummy node.
+     * </p>
+     * @param mode Consistency guarantee of the inspection methods.
+     */
+    public SnapshotLinkedQueue(IterationMode mode) {
+        if (mode == null)
+            throw new IllegalArgumentException("Iteration mode must not be null");
+        this.mode = mode;
+        this.front = this.rear = new Node(null);
+    }
+
+    /**
+     * Returns the consistency guarantee of the inspection methods.
+     * @return the iteration mode of the queue.
+     */
+    public IterationMode mode() {
+        return mode;
+    }
+
+    /**
+     * Checks if the queue is empty.
+     * @return true if the queue is empty, false otherwise.
+     */
+    public boolean isEmpty() {
+        return front.next == null;
+    }
+
+    /**
+     * Returns the number of elements in the queue.
+     * @return the size of the queue.
+     */
+    public int size() {
+        return Math.max(size.get(), 0);
+    }
+
+    /**
+     * Clears the queue by removing all elements.
+     * <p>
+     * Traversals that already started keep seeing the elements they captured.
+     * </p>
+     */
+    public void clear() {
+        takeLock.lock();
+        putLock.lock();
+        try {
+            front = rear = new Node(null);
+            size.set(0);
+        } finally {
+            putLock.unlock();
+            takeLock.unlock();
+        }
+    }
+
+    /**
+     * Adds an element to the rear of the queue.
+     * @param element The element to be added to the queue.
+     * @return true if the element was added successfully.
+     */
+    public boolean enqueue(T element) {
+        Node newNode = new Node(element);
+
+        putLock.lock();
+        try {
+            rear.next = newNode;
+            rear = newNode;
+            size.incrementAndGet();
+        } finally {
+            putLock.unlock();
+        }
+        return true;
+    }
+
+    /**
+     * Removes and returns the element at the front of the queue.
+     * <p>
+     * The removed node becomes the new dummy node and keeps its data until the
+     * next dequeue, so snapshot traversals started before this call can still read it.
+     * </p>
+     * @return the front element of the queue.
+     * @throws IllegalStateException if the queue is empty.
+     */
+    public T dequeue() {
+        takeLock.lock();
+        try {
+            Node first = front.next;
+            if (first == null)
+                throw new IllegalStateException("Queue is empty");
+
+            front = first;
+            size.decrementAndGet();
+            return first.data;
+        } finally {
+            takeLock.unlock();
+        }
+    }
+
+    /**
+     * Returns the element at the front of the queue without removing it.
+     * @return the front element of the queue.
+     * @throws IllegalStateException if the queue is empty.
+     */
+    public T peek() {
+        Node first = front.next;
+        if (first == null)
+            throw new IllegalStateException("Queue is empty");
+        return first.data;
+    }
+
+    /**
+     * Checks if a specific element is in the queue.
+     * @param element The element to check for.
+     * @return true if the element is found, false otherwise.
+     */
+    public boolean contains(T element) {
+        return traverse(data -> (element == null && data == null) ||
+                                (element != null && element.equals(data)));
+    }
+
+    /**
+     * Iterates through the queue elements from front to rear.
+     * @param action The action to perform on each element.
+     */
+    public void iterator(Consumer<T> action) {
+        traverse(data -> {
+            action.accept(data);
+            return false;
+        });
+    }
+
+    /**
+     * Walks the queue from front to rear until the visitor returns true.
+     * <p>
+     * In snapshot mode both locks are held just long enough to read the front and
+     * rear references, which makes the pair a consistent cut of the queue; the walk
+     * itself runs without any lock and stops at the captured rear. In weakly
+     * consistent mode no lock is taken and the walk runs until the end of the chain.
+     * </p>
+     * @param visitor The test applied to each element.
+     * @return true if the visitor accepted an element, false otherwise.
+     */
+    private boolean traverse(Predicate<T> visitor) {
+        Node start;
+        Node last = null;
+        if (mode == IterationMode.SNAPSHOT) {
+            takeLock.lock();
+            putLock.lock();
+            try {
+                start = front;
+                last = rear;
+            } finally {
+                putLock.unlock();
+                takeLock.unlock();
+            }
+            if (start == last)
+                return false;
+        } else {
+            start = front;
+        }
+
+        Node current = start.next;
+        while (current != null) {
+            if (visitor.test(current.data))
+                return true;
+            if (current == last)
+                break;
+            current = current.next;
+        }
+        return false;
+    }
+}
@@ -0,0 +1,395 @@
+package com.gqcod3.datastructures.queue;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.function.Consumer;
+
+import com.gqcod3.datastructures.io.ChannelDecoder;
+import com.gqcod3.datastructures.io.ChannelEncoder;
+import com.gqcod3.datastructures.io.ElementCodec;
+
+/**
+ * Spilling Linked Queue
+ * <p>
+ * A FIFO queue that keeps at most a budget of elements in memory and spills the rest
+ * to a local file. The queue is made of a hot head, the elements about to be
+ * dequeued, a hot tail, the elements last enqueued, and between them the spilled
+ * segments. Both ends are {@link LinkedQueue}s of at most half the budget. When the
+ * tail reaches its half, the whole tail is appended to the spill file as a segment
+ * with a {@link ChannelEncoder}; when the head runs out, the next segment is read back
+ * sequentially with a {@link ChannelDecoder}. The file is created on the first spill,
+ * truncated whenever every segment was read back, and deleted by {@link #close()}.
+ * </p>
+ *
+ * <p>
+ * Elements are written with an {@link ElementCodec}, so {@link #enqueue(Object)}
+ * rejects null elements when the codec is fixed-size and cannot encode them. Failures
+ * of the file surface as {@link UncheckedIOException}, keeping the signatures of
+ * {@link LinkedQueue}. A spill that fails is rolled back: the file is truncated to its
+ * previous end and the elements stay in the tail, to be spilled again by a later
+ * enqueue.
+ * </p>
+ *
+ * <ul>
+ * <li>{@link #enqueue(Object)}: Adds an element to the rear of the queue.</li>
+ * <li>{@link #dequeue()}: Removes and returns the front element of the queue.</li>
+ * <li>{@link #poll()}: Removes and returns the front element, or null if the queue is empty.</li>
+ * <li>{@link #peek()}: Returns the front element without removing it, or null if the queue is empty.</li>
+ * <li>{@link #drain(Consumer, int)}: Removes up to max front elements, passing each to an action.</li>
+ * <li>{@link #isEmpty()}: Checks if the queue is empty.</li>
+ * <li>{@link #size()}: Returns the number of elements in the queue.</li>
+ * <li>{@link #inMemory()}: Returns the number of elements held in memory.</li>
+ * <li>{@link #spilled()}: Returns the number of elements in the spill file.</li>
+ * <li>{@link #clear()}: Removes all elements from the queue.</li>
+ * <li>{@link #close()}: Deletes the spill file.</li>
+ * </ul>
+ */
+public class SpillingLinkedQueue<T> implements AutoCloseable {
+
+    /**
+     * Codec writing the elements to the spill file.
+     */
+    private final ElementCodec<T> codec;
+    /**
+     * Directory the spill file is created in.
+     */
+    private final Path directory;
+    /**
+     * Number of elements of the tail at which it is spilled.
+     */
+    private final int tailBudget;
+    /**
+     * Elements to dequeue first.
+     */
+    private LinkedQueue<T> head = new LinkedQueue<>();
+    /**
+     * Elements last enqueued, after every spilled segment.
+     */
+    private LinkedQueue<T> tail = new LinkedQueue<>();
+    /**
+     * Number of segments in the spill file not read back yet.
+     */
+    private int segments;
+    /**
+     * Number of elements in those segments.
+     */
+    private long spilled;
+    /**
+     * Spill file, or null before the first spill.
+     */
+    private Path file;
+    /**
+     * Channel appending segments to the spill file.
+     */
+    private FileChannel writeChannel;
+    /**
+     * Channel reading segments back, in the order they were written.
+     */
+    private FileChannel readChannel;
+    /**
+     * Encoder writing to the write channel.
+     */
+    private ChannelEncoder encoder;
+    /**
+     * Decoder reading from the read channel.
+     */
+    private ChannelDecoder decoder;
+    /**
+     * Whether the queue was closed.
+     */
+    private boolean closed;
+
+    /**
+     * Constructor to initialize an empty queue spilling to the default temporary directory.
+     * @param codec The codec writing the elements to the spill file.
+     * @param memoryBudget The maximum number of elements held in memory.
+     * @throws IllegalArgumentException if the codec is null or the budget is less than 2.
+     */
+    public SpillingLinkedQueue(ElementCodec<T> codec, int memoryBudget) {
+        this(codec, memoryBudget, Path.of(System.getProperty("java.io.tmpdir")));
+    }
+
+    /**
+     * Constructor to initialize an empty queue.
+     * @param codec The codec writing the elements to the spill file.
+     * @param memoryBudget The maximum number of elements held in memory.
+     * @param directory The directory the spill file is created in.
+     * @throws IllegalArgumentException if the codec or directory is null or the budget is less than 2.
+     */
+    public SpillingLinkedQueue(ElementCodec<T> codec, int memoryBudget, Path directory) {
+        if (codec == null)
+            throw new IllegalArgumentException("Codec must not be null");
+        if (directory == null)
+            throw new IllegalArgumentException("Directory must not be null");
+        if (memoryBudget < 2)
+            throw new IllegalArgumentException("Memory budget must be at least 2");
+        this.codec = codec;
+        this.directory = directory;
+        this.tailBudget = memoryBudget / 2;
+    }
+
+    /**
+     * Checks if the queue is empty.
+     * @return true if the queue is empty, false otherwise.
+     */
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    /**
+     * Returns the number of elements in the queue, in memory and spilled.
+     * @return the size of the queue.
+     */
+    public long size() {
+        return head.size() + spilled + tail.size();
+    }
+
+    /**
+     * Returns the number of elements held in memory.
+     * @return the size of the head and the tail.
+     */
+    public int inMemory() {
+        return head.size() + tail.size();
+    }
+
+    /**
+     * Returns the number of elements in the spill file.
+     * @return the number of spilled elements not read back yet.
+     */
+    public long spilled() {
+        return spilled;
+    }
+
+    /**
+     * Clears the queue by removing all elements, truncating the spill file.
+     * @throws IllegalStateException if the queue was closed.
+     * @throws UncheckedIOException if the spill file fails.
+     */
+    public void clear() {
+        ensureOpen();
+        head.clear();
+        tail.clear();
+        segments = 0;
+        spilled = 0;
+        resetFile();
+    }
+
+    /**
+     * Adds an element to the rear of the queue, spilling the tail once it reached its budget.
+     * If the spill fails, the element is still queued and the tail is spilled again later.
+     * @param element The element to be added to the queue.
+     * @return true if the element was added successfully.
+     * @throws IllegalArgumentException if the element is null and the codec is fixed-size.
+     * @throws IllegalStateException if the queue was closed.
+     * @throws UncheckedIOException if the spill file fails.
+     */
+    public boolean enqueue(T element) {
+        ensureOpen();
+        if (element == null && codec.fixedSize() != ElementCodec.VARIABLE)
+            throw new IllegalArgumentException("Fixed-size codecs cannot encode null elements");
+        tail.enqueue(element);
+        if (tail.size() >= tailBudget) {
+            if (head.isEmpty() && segments == 0) {
+                swapEnds();
+            } else {
+                spill();
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Removes and returns the element at the front of the queue, reading the next
+     * segment back if the head ran out.
+     * @return the front element of the queue.
+     * @throws IllegalStateException if the queue is empty or was closed.
+     * @throws UncheckedIOException if the spill file fails.
+     */
+    public T dequeue() {
+        ensureOpen();
+        if (isEmpty())
+            throw new IllegalStateException("Queue is empty");
+        refill();
+        return head.dequeue();
+    }
+
+    /**
+     * Removes and returns the element at the front of the queue.
+     * @return the front element of the queue, or null if the queue is empty.
+     * @throws IllegalStateException if the queue was closed.
+     * @throws UncheckedIOException if the spill file fails.
+     */
+    public T poll() {
+        return isEmpty() ? null : dequeue();
+    }
+
+    /**
+     * Returns the element at the front of the queue without removing it.
+     * @return the front element of the queue, or null if the queue is empty.
+     * @throws IllegalStateException if the queue was closed.
+     * @throws UncheckedIOException if the spill file fails.
+     */
+    public T peek() {
+        ensureOpen();
+        if (isEmpty())
+            return null;
+        refill();
+        return head.peek();
+    }
+
+    /**
+     * Removes up to max elements from the front of the queue, passing each to an action
+     * in queue order.
+     * @param action The action to perform on each removed element.
+     * @param max The maximum number of elements to remove.
+     * @return the number of elements removed.
+     * @throws IllegalArgumentException if max is negative.
+     * @throws IllegalStateException if the queue was closed.
+     * @throws UncheckedIOException if the spill file fails.
+     */
+    public int drain(Consumer<? super T> action, int max) {
+        if (max < 0)
+            throw new IllegalArgumentException("Count must not be negative");
+        ensureOpen();
+
+        int count = 0;
+        while (count < max && !isEmpty()) {
+            refill();
+            count += head.drain(action, max - count);
+        }
+        return count;
+    }
+
+    /**
+     * Closes the spill file and deletes it. The spilled elements are lost and the queue
+     * cannot be used anymore.
+     * @throws IOException if the file cannot be closed or deleted.
+     */
+    @Override
+    public void close() throws IOException {
+        if (closed)
+            return;
+        closed = true;
+        head.clear();
+        tail.clear();
+        segments = 0;
+        spilled = 0;
+        if (file != null) {
+            try {
+                writeChannel.close();
+                readChannel.close();
+            } finally {
+                Files.deleteIfExists(file);
+            }
+        }
+    }
+
+    /**
+     * Appends the tail to the spill file as a segment and empties it. If the write fails,
+     * the file is truncated back to where the segment started and the tail is kept.
+     */
+    private void spill() {
+        long start = -1;
+        try {
+            if (file == null)
+                openFile();
+            start = writeChannel.position();
+            encoder.write(tail, codec);
+        } catch (IOException | RuntimeException e) {
+            if (start >= 0)
+                rollBack(start, e);
+            throw (e instanceof IOException) ? new UncheckedIOException((IOException) e) : (RuntimeException) e;
+        }
+        segments++;
+        spilled += tail.size();
+        tail.clear();
+    }
+
+    /**
+     * Drops a partially written segment: truncates the file back to its start and
+     * replaces the encoder, whose buffer may still stage bytes of the segment.
+     * @param start The position of the file where the segment started.
+     * @param failure The failure of the write, to which a failed rollback is added.
+     */
+    private void rollBack(long start, Exception failure) {
+        try {
+            writeChannel.truncate(start);
+            writeChannel.position(start);
+        } catch (IOException e) {
+            failure.addSuppressed(e);
+        }
+        encoder = new ChannelEncoder(writeChannel);
+    }
+
+    /**
+     * Makes sure the head holds the front element: reads the next segment back if the
+     * head is empty, or takes over the tail if nothing is spilled.
+     */
+    private void refill() {
+        if (!head.isEmpty())
+            return;
+        if (segments == 0) {
+            swapEnds();
+            return;
+        }
+        try {
+            decoder.readInto(head, codec);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        segments--;
+        spilled -= head.size();
+        if (segments == 0)
+            resetFile();
+    }
+
+    /**
+     * Swaps the empty head with the tail.
+     */
+    private void swapEnds() {
+        LinkedQueue<T> empty = head;
+        head = tail;
+        tail = empty;
+    }
+
+    /**
+     * Creates the spill file and the channels over it.
+     * @throws IOException if the file cannot be created or opened.
+     */
+    private void openFile() throws IOException {
+        file = Files.createTempFile(directory, "queue-", ".spill");
+        writeChannel = FileChannel.open(file, StandardOpenOption.WRITE);
+        readChannel = FileChannel.open(file, StandardOpenOption.READ);
+        encoder = new ChannelEncoder(writeChannel);
+        decoder = new ChannelDecoder(readChannel);
+    }
+
+    /**
+     * Truncates the spill file once every segment was read back, so it does not grow
+     * across spikes; the decoder is replaced since it is positioned past the old bytes.
+     */
+    private void resetFile() {
+        if (file == null)
+            return;
+        try {
+            writeChannel.truncate(0);
+            writeChannel.position(0);
+            readChannel.position(0);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        decoder = new ChannelDecoder(readChannel);
+    }
+
+    /**
+     * Checks that the queue was not closed.
+     */
+    private void ensureOpen() {
+        if (closed)
+            throw new IllegalStateException("Queue is closed");
+    }
+}
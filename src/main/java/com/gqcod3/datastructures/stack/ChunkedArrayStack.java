@@ -0,0 +1,310 @@
+package com.gqcod3.datastructures.stack;
+
+import java.util.AbstractCollection;
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.function.Consumer;
+
+/**
+ * Chunked Array Stack
+ * <p>
+ * Implementation of a stack data structure using linked fixed-size array segments.
+ * Only the top segment is partially filled; every segment below it is full. Elements
+ * are stored directly in the arrays, so a push costs an array store instead of a node
+ * allocation and the memory per element is a single reference.
+ * </p>
+ *
+ * <p>
+ * When a pop empties the top segment, that segment is kept as a spare and reused by
+ * the next push that needs a new segment, so a stack oscillating around a segment
+ * boundary does not allocate. The bottom segment is only allocated by the first push
+ * and starts small, doubling up to the chunk size, so a small stack does not pay for a
+ * whole chunk. It offers the same API as {@link LinkedStack}.
+ * </p>
+ *
+ * <ul>
+ *  <li>{@link #push(Object)}: Adds an element to the top of the stack.</li>
+ *  <li>{@link #pop()}: Removes and returns the top element of the stack.</li>
+ *  <li>{@link #peek()}: Returns the top element without removing it.</li>
+ *  <li>{@link #isEmpty()}: Checks if the stack is empty.</li>
+ *  <li>{@link #size()}: Returns the number of elements in the stack.</li>
+ *  <li>{@link #clear()}: Removes all elements from the stack.</li>
+ *  <li>{@link #contains(Object)}: Checks if a specific element is in the stack.</li>
+ *  <li>{@link #iterator(Consumer)}: Iterates through the stack elements from top to bottom.</li>
+ *  <li>{@link #iterator()}: Returns a fail-fast iterator from top to bottom.</li>
+ * </ul>
+ */
+public class ChunkedArrayStack<T> extends AbstractCollection<T> {
+
+    /**
+     * Number of elements per segment used when none is given.
+     */
+    public static final int DEFAULT_CHUNK_SIZE = 1024;
+    /**
+     * Length of the bottom segment when it is first allocated.
+     */
+    private static final int INITIAL_SEGMENT_SIZE = 16;
+
+    /**
+     * Segment currently holding the top of the stack, or null until the first push.
+     */
+    private Segment top;
+    /**
+     * Number of elements in the top segment.
+     */
+    private int topCount;
+    /**
+     * Empty segment kept for reuse, or null.
+     */
+    private Segment spare;
+    /**
+     * Represents the number of elements in the stack.
+     */
+    private int size;
+    /**
+     * Number of elements per segment.
+     */
+    private final int chunkSize;
+    /**
+     * Number of structural modifications, used by iterators to fail fast.
+     */
+    private int modCount;
+
+    /**
+     * Segment class holding a fixed-size array of elements.
+     * <p>
+     * Each segment contains its elements, bottom first, and a reference to the segment below it.
+     * Only the bottom segment may be shorter than the chunk size, while it is the only one.
+     * </p>
+     */
+    private class Segment {
+        Object[] items;
+        Segment below;
+
+        /**
+         * Constructor to create an empty segment.
+         * @param length The number of elements the segment can hold.
+         */
+        Segment(int length) {
+            this.items = new Object[length];
+            this.below = null;
+        }
+    }
+
+    /**
+     * Constructor to initialize an empty stack with the default chunk size.
+     */
+    public ChunkedArrayStack() {
+        this(DEFAULT_CHUNK_SIZE);
+    }
+
+    /**
+     * Constructor to initialize an empty stack.
+     * @param chunkSize The number of elements per segment.
+     * @throws IllegalArgumentException if the chunk size is not positive.
+     */
+    public ChunkedArrayStack(int chunkSize) {
+        if (chunkSize <= 0)
+            throw new IllegalArgumentException("Chunk size must be positive");
+        this.chunkSize = chunkSize;
+        this.top = null;
+        this.topCount = 0;
+        this.size = 0;
+    }
+
+    /**
+     * Checks if the stack is empty.
+     * @return true if the stack is empty, false otherwise.
+     */
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Returns the number of elements in the stack.
+     * @return the size of the stack.
+     */
+    @Override
+    public int size() {
+        return this.size;
+    }
+
+    /**
+     * Clears the stack by removing all elements.
+     * <p>
+     * The top segment is kept and the segments below it are released.
+     * </p>
+     */
+    @Override
+    public void clear() {
+        if (top != null) {
+            Arrays.fill(top.items, 0, topCount, null);
+            top.below = null;
+        }
+        topCount = 0;
+        size = 0;
+        modCount++;
+    }
+
+    /**
+     * Pushes an element onto the top of the stack.
+     * @param element The element to be pushed onto the stack.
+     * @return true if the element was added successfully.
+     */
+    public boolean push(T element) {
+        if (top == null) {
+            top = new Segment(Math.min(INITIAL_SEGMENT_SIZE, chunkSize));
+        } else if (topCount < chunkSize && topCount == top.items.length) {
+            top.items = Arrays.copyOf(top.items, Math.min(2 * topCount, chunkSize));
+        } else if (topCount == chunkSize) {
+            Segment segment = (spare != null) ? spare : new Segment(chunkSize);
+            spare = null;
+            segment.below = top;
+            top = segment;
+            topCount = 0;
+        }
+        top.items[topCount++] = element;
+        size++;
+        modCount++;
+        return true;
+    }
+
+    /**
+     * Pushes an element onto the top of the stack.
+     * @param element The element to be pushed onto the stack.
+     * @return true if the element was added successfully.
+     */
+    @Override
+    public boolean add(T element) {
+        return push(element);
+    }
+
+    /**
+     * Removes and returns the top element of the stack.
+     * @return the top element of the stack.
+     * @throws IllegalStateException if the stack is empty.
+     */
+    @SuppressWarnings("unchecked")
+    public T pop() {
+        if (isEmpty())
+            throw new IllegalStateException("Stack is empty");
+
+        T data = (T) top.items[--topCount];
+        top.items[topCount] = null;
+        size--;
+        modCount++;
+
+        if (topCount == 0 && top.below != null) {
+            spare = top;
+            top = top.below;
+            spare.below = null;
+            topCount = chunkSize;
+        }
+        return data;
+    }
+
+    /**
+     * Returns the top element of the stack without removing it.
+     * @return the top element of the stack.
+     * @throws IllegalStateException if the stack is empty.
+     */
+    @SuppressWarnings("unchecked")
+    public T peek() {
+        if (isEmpty())
+            throw new IllegalStateException("Stack is empty");
+
+        return (T) top.items[topCount - 1];
+    }
+
+    /**
+     * Iterates through the stack elements from top to bottom.
+     * @param action The action to perform on each element.
+     */
+    public void iterator(Consumer<T> action) {
+        forEach(action);
+    }
+
+    /**
+     * Performs the given action on each element from top to bottom, scanning the segments directly.
+     * @param action The action to perform on each element.
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public void forEach(Consumer<? super T> action) {
+        int expectedModCount = modCount;
+        Segment segment = top;
+        int count = topCount;
+        while (segment != null) {
+            Object[] items = segment.items;
+            for (int i = count - 1; i >= 0; i--) {
+                action.accept((T) items[i]);
+            }
+            segment = segment.below;
+            count = chunkSize;
+        }
+        if (modCount != expectedModCount)
+            throw new ConcurrentModificationException();
+    }
+
+    /**
+     * Checks if a specific element is in the stack.
+     * @param element The element to check for.
+     * @return true if the element is found, false otherwise.
+     */
+    @Override
+    public boolean contains(Object element) {
+        Segment segment = top;
+        int count = topCount;
+        while (segment != null) {
+            Object[] items = segment.items;
+            for (int i = count - 1; i >= 0; i--) {
+                if ((element == null && items[i] == null) ||
+                    (element != null && element.equals(items[i]))) {
+                    return true;
+                }
+            }
+            segment = segment.below;
+            count = chunkSize;
+        }
+        return false;
+    }
+
+    /**
+     * Returns a fail-fast iterator over the stack elements from top to bottom.
+     * <p>
+     * The iterator does not support {@link Iterator#remove()}, since removing from the
+     * middle of a segment would shift every element above it.
+     * </p>
+     * @return an iterator over the elements of the stack.
+     */
+    @Override
+    public Iterator<T> iterator() {
+        return new Iterator<T>() {
+            Segment segment = top;
+            int index = topCount - 1;
+            int remaining = size;
+            final int expectedModCount = modCount;
+
+            public boolean hasNext() {
+                return remaining > 0;
+            }
+
+            @SuppressWarnings("unchecked")
+            public T next() {
+                if (modCount != expectedModCount)
+                    throw new ConcurrentModificationException();
+                if (remaining == 0)
+                    throw new NoSuchElementException();
+                if (index < 0) {
+                    segment = segment.below;
+                    index = chunkSize - 1;
+                }
+                remaining--;
+                return (T) segment.items[index--];
+            }
+        };
+    }
+}
@@ -1,24 +1,39 @@
 package com.gqcod3.datastructures.stack;
 
+import java.util.AbstractCollection;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
 import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+import com.gqcod3.datastructures.filter.CountingBloomFilter;
 
 /**
  * Linked Stack
  * <p>
- * Implementation of a stack data structure using a linked list. 
+ * Implementation of a stack data structure using a linked list. It implements
+ * {@link java.util.Collection}, so it can be handed to library code without copying
+ * it. It does not implement {@link java.util.Deque}, since the nodes are only reachable
+ * from the top and operations on the bottom would take linear time.
  * </p>
  * 
  * <ul>
  *  <li>{@link #push(Object)}: Adds an element to the top of the stack.</li>
  *  <li>{@link #pop()}: Removes and returns the top element of the stack.</li>
+ *  <li>{@link #popMany(int)}: Removes up to n top elements as a new stack.</li>
+ *  <li>{@link #takeAll()}: Detaches every element as a new stack in O(1).</li>
  *  <li>{@link #peek()}: Returns the top element without removing it.</li>
  *  <li>{@link #isEmpty()}: Checks if the stack is empty.</li>
  *  <li>{@link #size()}: Returns the number of elements in the stack.</li>
  *  <li>{@link #clear()}: Removes all elements from the stack.</li>
  *  <li>{@link #contains(Object)}: Checks if a specific element is in the stack.</li>
+ *  <li>{@link #iterator()}: Returns a fail-fast iterator from top to bottom.</li>
+ *  <li>{@link #load(int, Supplier)}: Adds a batch of elements below the bottom of the stack.</li>
+ *  <li>{@link #enableFilter(int, double)}: Answers most misses of contains() without a scan.</li>
  * </ul>
  */
-public class LinkedStack<T> {
+public class LinkedStack<T> extends AbstractCollection<T> {
 
     /**
      * Reference to the top node of the stack.
@@ -28,6 +43,14 @@ public class LinkedStack<T> {
      * Represents the number of elements in the stack.
      */
     private int size; 
+    /**
+     * Number of structural modifications, used by iterators to fail fast.
+     */
+    private int modCount;
+    /**
+     * Optional filter of the elements, rejecting most absent ones in {@link #contains(Object)}.
+     */
+    private CountingBloomFilter filter;
 
     /**
      * Node class representing each element in the stack.
@@ -64,6 +87,7 @@ public class LinkedStack<T> {
      * Checks if the stack is empty.
      * @return true if the stack is empty, false otherwise.
      */
+    @Override
     public boolean isEmpty() {
         return (top == null);
     }
@@ -72,6 +96,7 @@ public class LinkedStack<T> {
      * Returns the number of elements in the stack.
      * @return the size of the stack.
      */
+    @Override
     public int size() {
         return this.size;
     }
@@ -79,9 +104,13 @@ public class LinkedStack<T> {
     /**
      * Clears the stack by removing all elements.
      */
+    @Override
     public void clear() {
         top = null;
         size = 0; 
+        modCount++;
+        if (filter != null)
+            filter.clear();
     }
 
     /**
@@ -94,9 +123,22 @@ public class LinkedStack<T> {
         newNode.next = top;
         top = newNode;
         size++;
+        modCount++;
+        if (filter != null)
+            filter.add(element);
         return true; 
     }
 
+    /**
+     * Pushes an element onto the top of the stack.
+     * @param element The element to be pushed onto the stack.
+     * @return true if the element was added successfully, false otherwise.
+     */
+    @Override
+    public boolean add(T element) {
+        return push(element);
+    }
+
     /**
      * Removes and returns the top element of the stack.
      * @return the top element of the stack.
@@ -109,9 +151,65 @@ public class LinkedStack<T> {
         T data = top.data;
         top = top.next;
         size--;
+        modCount++;
+        if (filter != null)
+            filter.remove(data);
         return data; 
     }
 
+    /**
+     * Removes up to n elements from the top of the stack and returns them as a new stack.
+     * <p>
+     * The nodes are moved rather than copied: the walk only finds where to cut the
+     * chain, and both sizes are updated once for the whole batch. The returned stack
+     * keeps the elements in the same order, the former top being its top.
+     * </p>
+     * @param n The maximum number of elements to remove.
+     * @return a stack holding the removed elements, empty if n is 0 or the stack is empty.
+     * @throws IllegalArgumentException if n is negative.
+     */
+    public LinkedStack<T> popMany(int n) {
+        if (n < 0)
+            throw new IllegalArgumentException("Count must not be negative");
+        if (n >= size)
+            return takeAll();
+
+        LinkedStack<T> batch = new LinkedStack<>();
+        if (n == 0)
+            return batch;
+
+        Node last = top;
+        for (int i = 1; i < n; i++) {
+            if (filter != null)
+                filter.remove(last.data);
+            last = last.next;
+        }
+        if (filter != null)
+            filter.remove(last.data);
+        batch.top = top;
+        batch.size = n;
+        top = last.next;
+        last.next = null;
+        size -= n;
+        modCount++;
+        return batch;
+    }
+
+    /**
+     * Detaches every element of the stack and returns them as a new stack in O(1).
+     * <p>
+     * This stack is left empty; the returned stack holds the elements in the same order.
+     * </p>
+     * @return a stack holding every element that was in this stack.
+     */
+    public LinkedStack<T> takeAll() {
+        LinkedStack<T> batch = new LinkedStack<>();
+        batch.top = top;
+        batch.size = size;
+        clear();
+        return batch;
+    }
+
     /**
      * Returns the top element of the stack without removing it.
      * @return the top element of the stack.
@@ -124,6 +222,10 @@ public class LinkedStack<T> {
         return top.data; 
     }
 
+    /**
+     * Iterates through the stack elements from top to bottom.
+     * @param action The action to perform on each element.
+     */
     public void iterator(Consumer<T> action) {
         Node current = top;
         while (current != null) {
@@ -137,7 +239,11 @@ public class LinkedStack<T> {
      * @param element The element to check for.
      * @return true if the element is found, false otherwise.
      */
-    public boolean contains(T element) {
+    @Override
+    public boolean contains(Object element) {
+        if (filter != null && !filter.mightContain(element))
+            return false;
+
         Node current = top;
         while (current != null) {
             if ((element == null && current.data == null) || 
@@ -146,6 +252,157 @@ public class LinkedStack<T> {
             }
             current = current.next;
         }
+        if (filter != null)
+            filter.recordFalsePositive();
         return false; 
     }
+
+    /**
+     * Performs the given action on each element from top to bottom, walking the nodes directly.
+     * @param action The action to perform on each element.
+     */
+    @Override
+    public void forEach(Consumer<? super T> action) {
+        int expectedModCount = modCount;
+        Node current = top;
+        while (current != null) {
+            action.accept(current.data);
+            current = current.next;
+        }
+        if (modCount != expectedModCount)
+            throw new ConcurrentModificationException();
+    }
+
+    /**
+     * Returns a fail-fast iterator over the stack elements from top to bottom.
+     * <p>
+     * The iterator supports {@link Iterator#remove()}.
+     * </p>
+     * @return an iterator over the elements of the stack.
+     */
+    @Override
+    public Iterator<T> iterator() {
+        return new Itr();
+    }
+
+    /**
+     * Fail-fast iterator keeping the node above the last returned one, which is
+     * what unlinking that node needs.
+     */
+    private class Itr implements Iterator<T> {
+        Node next = top;
+        Node lastReturned;
+        Node aboveLast;
+        int expectedModCount = modCount;
+
+        public boolean hasNext() {
+            return next != null;
+        }
+
+        public T next() {
+            if (modCount != expectedModCount)
+                throw new ConcurrentModificationException();
+            if (next == null)
+                throw new NoSuchElementException();
+            if (lastReturned != null)
+                aboveLast = lastReturned;
+            lastReturned = next;
+            next = next.next;
+            return lastReturned.data;
+        }
+
+        public void remove() {
+            if (lastReturned == null)
+                throw new IllegalStateException();
+            if (modCount != expectedModCount)
+                throw new ConcurrentModificationException();
+
+            if (aboveLast == null) {
+                top = lastReturned.next;
+            } else {
+                aboveLast.next = lastReturned.next;
+            }
+            size--;
+            modCount++;
+            if (filter != null)
+                filter.remove(lastReturned.data);
+            lastReturned = null;
+            expectedModCount = modCount;
+        }
+    }
+
+    /**
+     * Adds a batch of elements below the bottom of the stack, so that iterating
+     * the stack visits them after the existing elements and in supply order.
+     * <p>
+     * The elements are linked into a chain first and the chain is attached at once,
+     * so the stack is left unchanged if the source fails. Attaching below a non-empty
+     * stack walks down to its bottom node.
+     * </p>
+     * @param count The number of elements to add.
+     * @param source The supplier called once per element, from top to bottom.
+     * @throws IllegalArgumentException if count is negative.
+     */
+    public void load(int count, Supplier<? extends T> source) {
+        if (count < 0)
+            throw new IllegalArgumentException("Count must not be negative");
+        if (count == 0)
+            return;
+
+        Node first = new Node(source.get());
+        Node last = first;
+        for (int i = 1; i < count; i++) {
+            last.next = new Node(source.get());
+            last = last.next;
+        }
+
+        if (top == null) {
+            top = first;
+        } else {
+            Node bottom = top;
+            while (bottom.next != null) {
+                bottom = bottom.next;
+            }
+            bottom.next = first;
+        }
+        size += count;
+        modCount++;
+        if (filter != null) {
+            for (Node current = first; current != null; current = current.next) {
+                filter.add(current.data);
+            }
+        }
+    }
+
+    /**
+     * Enables a counting Bloom filter that lets {@link #contains(Object)} reject most
+     * absent elements without scanning the stack. The filter is built from the current
+     * elements and kept up to date by every operation; its metrics are available from
+     * {@link #filter()}. Elements must not change their hash code while in the stack.
+     * @param expectedElements The number of elements the stack is expected to hold.
+     * @param falsePositiveRate The target share of absent elements that still need a scan.
+     * @throws IllegalArgumentException if the filter parameters are out of range.
+     */
+    public void enableFilter(int expectedElements, double falsePositiveRate) {
+        CountingBloomFilter newFilter = new CountingBloomFilter(expectedElements, falsePositiveRate);
+        for (Node current = top; current != null; current = current.next) {
+            newFilter.add(current.data);
+        }
+        filter = newFilter;
+    }
+
+    /**
+     * Disables the filter of {@link #contains(Object)}.
+     */
+    public void disableFilter() {
+        filter = null;
+    }
+
+    /**
+     * Returns the filter of {@link #contains(Object)}, to read its metrics.
+     * @return the filter, or null if it is disabled.
+     */
+    public CountingBloomFilter filter() {
+        return filter;
+    }
 }
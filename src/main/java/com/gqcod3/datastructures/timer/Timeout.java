@@ -0,0 +1,94 @@
+package com.gqcod3.datastructures.timer;
+
+import com.gqcod3.datastructures.lists.circular.CircularDoublyLinkedList;
+
+/**
+ * Timeout
+ * <p>
+ * Handle to a task scheduled on a {@link TimingWheel}. A timeout is pending until its
+ * task is handed to the tick thread or it is cancelled, whichever comes first.
+ * </p>
+ *
+ * <ul>
+ * <li>{@link #cancel()}: Prevents the task from running.</li>
+ * <li>{@link #isCancelled()}: Checks if the timeout was cancelled.</li>
+ * <li>{@link #isExpired()}: Checks if the task was handed to the tick thread.</li>
+ * </ul>
+ */
+public final class Timeout {
+
+    /**
+     * Timeout is waiting in a bucket of the wheel.
+     */
+    static final int PENDING = 0;
+    /**
+     * Timeout was handed to the tick thread.
+     */
+    static final int EXPIRED = 1;
+    /**
+     * Timeout was cancelled before expiring.
+     */
+    static final int CANCELLED = 2;
+
+    /**
+     * Wheel the timeout was scheduled on.
+     */
+    private final TimingWheel wheel;
+    /**
+     * Task to run when the timeout expires.
+     */
+    final Runnable task;
+    /**
+     * Tick at which the timeout expires.
+     */
+    final long deadline;
+    /**
+     * Bucket currently holding the timeout, guarded by the wheel.
+     */
+    CircularDoublyLinkedList<Timeout> bucket;
+    /**
+     * Entry of the timeout in its bucket, guarded by the wheel.
+     */
+    CircularDoublyLinkedList.Entry<Timeout> entry;
+    /**
+     * Current state, written while holding the wheel.
+     */
+    volatile int state;
+
+    /**
+     * Constructor to create a pending timeout.
+     * @param wheel The wheel the timeout is scheduled on.
+     * @param task The task to run when the timeout expires.
+     * @param deadline The tick at which the timeout expires.
+     */
+    Timeout(TimingWheel wheel, Runnable task, long deadline) {
+        this.wheel = wheel;
+        this.task = task;
+        this.deadline = deadline;
+        this.state = PENDING;
+    }
+
+    /**
+     * Prevents the task from running by unlinking the timeout from its bucket in O(1).
+     * @return true if the timeout was pending, false if it already expired or was cancelled.
+     */
+    public boolean cancel() {
+        return wheel.cancel(this);
+    }
+
+    /**
+     * Checks if the timeout was cancelled.
+     * @return true if the timeout was cancelled, false otherwise.
+     */
+    public boolean isCancelled() {
+        return state == CANCELLED;
+    }
+
+    /**
+     * Checks if the task was handed to the tick thread.
+     * @return true if the timeout expired, false otherwise.
+     */
+    public boolean isExpired() {
+        return state == EXPIRED;
+    }
+}
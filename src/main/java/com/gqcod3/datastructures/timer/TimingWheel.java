@@ -0,0 +1,340 @@
+package com.gqcod3.datastructures.timer;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+import com.gqcod3.datastructures.lists.circular.CircularDoublyLinkedList;
+import com.gqcod3.datastructures.queue.LinkedQueue;
+
+/**
+ * Timing Wheel
+ * <p>
+ * A hierarchical timing wheel that runs tasks after a delay. Every level is a ring of
+ * buckets, each bucket being a {@link CircularDoublyLinkedList} of timeouts. A bucket of
+ * level {@code L} covers {@code wheelSize^L} ticks; timeouts too far away for a level go
+ * to the next one, which is created on demand. When the clock reaches the start of a
+ * higher-level bucket, its timeouts cascade down to finer levels.
+ * </p>
+ *
+ * <p>
+ * Scheduling and cancelling link or unlink a single bucket entry, so both take O(1)
+ * regardless of how many timeouts are pending. A tick thread advances the clock and
+ * drains each expired bucket as one batch, running the tasks outside the wheel lock.
+ * Tasks should be short; anything blocking delays the following ticks.
+ * </p>
+ *
+ * <ul>
+ * <li>{@link #start()}: Starts the tick thread.</li>
+ * <li>{@link #schedule(Runnable, long, TimeUnit)}: Runs a task after a delay.</li>
+ * <li>{@link #pending()}: Returns the number of pending timeouts.</li>
+ * <li>{@link #close()}: Stops the tick thread and discards pending timeouts.</li>
+ * </ul>
+ */
+public class TimingWheel implements AutoCloseable {
+
+    /**
+     * Level of the wheel: a ring of buckets sharing the same span.
+     */
+    private static final class Level {
+        /**
+         * Buckets of the level, indexed by deadline divided by span, modulo the wheel size.
+         */
+        final CircularDoublyLinkedList<Timeout>[] buckets;
+        /**
+         * Number of ticks covered by a single bucket.
+         */
+        final long span;
+
+        @SuppressWarnings("unchecked")
+        Level(int wheelSize, long span) {
+            this.buckets = (CircularDoublyLinkedList<Timeout>[]) new CircularDoublyLinkedList<?>[wheelSize];
+            for (int i = 0; i < wheelSize; i++) {
+                buckets[i] = new CircularDoublyLinkedList<>();
+            }
+            this.span = span;
+        }
+    }
+
+    /**
+     * Duration of a tick in nanoseconds.
+     */
+    private final long tickNanos;
+    /**
+     * Number of buckets per level.
+     */
+    private final int wheelSize;
+    /**
+     * Time origin of the tick counter.
+     */
+    private final long startNanos;
+    /**
+     * Levels of the wheel, from finest to coarsest.
+     */
+    private Level[] levels;
+    /**
+     * Last tick processed by the tick thread.
+     */
+    private long currentTick;
+    /**
+     * Number of pending timeouts.
+     */
+    private int pending;
+    /**
+     * Thread advancing the clock, or null before {@link #start()}.
+     */
+    private Thread worker;
+    /**
+     * Whether the tick thread should keep running.
+     */
+    private volatile boolean running;
+    /**
+     * Whether {@link #close()} was called, after which nothing is scheduled or started.
+     */
+    private boolean closed;
+
+    /**
+     * Constructor to create a stopped wheel.
+     * @param tickDuration The duration of a tick, the resolution of the wheel.
+     * @param unit The unit of the tick duration.
+     * @param wheelSize The number of buckets per level.
+     * @throws IllegalArgumentException if the tick duration or wheel size is not positive.
+     */
+    public TimingWheel(long tickDuration, TimeUnit unit, int wheelSize) {
+        if (tickDuration <= 0)
+            throw new IllegalArgumentException("Tick duration must be positive");
+        if (wheelSize < 2)
+            throw new IllegalArgumentException("Wheel size must be at least 2");
+        this.tickNanos = unit.toNanos(tickDuration);
+        this.wheelSize = wheelSize;
+        this.startNanos = System.nanoTime();
+        this.levels = new Level[] { new Level(wheelSize, 1) };
+        this.currentTick = 0;
+        this.pending = 0;
+    }
+
+    /**
+     * Starts the tick thread.
+     * @throws IllegalStateException if the wheel was already started or was closed.
+     */
+    public synchronized void start() {
+        if (closed)
+            throw new IllegalStateException("Timing wheel is closed");
+        if (worker != null)
+            throw new IllegalStateException("Timing wheel already started");
+        running = true;
+        worker = new Thread(this::run, "timing-wheel");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    /**
+     * Stops the tick thread and discards every pending timeout.
+     * <p>
+     * Waits for the tick thread to finish its current batch, unless called from a task
+     * running on that thread. If interrupted while waiting, it stops waiting and keeps
+     * the interrupt status of the calling thread set.
+     * </p>
+     */
+    @Override
+    public void close() {
+        Thread thread;
+        synchronized (this) {
+            closed = true;
+            running = false;
+            thread = worker;
+        }
+        if (thread != null && thread != Thread.currentThread()) {
+            LockSupport.unpark(thread);
+            try {
+                thread.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        synchronized (this) {
+            for (Level level : levels) {
+                for (CircularDoublyLinkedList<Timeout> bucket : level.buckets) {
+                    bucket.drain(timeout -> timeout.state = Timeout.CANCELLED);
+                }
+            }
+            pending = 0;
+        }
+    }
+
+    /**
+     * Returns the number of pending timeouts.
+     * @return the number of timeouts neither expired nor cancelled.
+     */
+    public synchronized int pending() {
+        return pending;
+    }
+
+    /**
+     * Runs a task once the given delay has elapsed, rounded up to a whole tick.
+     * @param task The task to run on the tick thread.
+     * @param delay The delay before running the task.
+     * @param unit The unit of the delay.
+     * @return the timeout of the task, used to cancel it.
+     * @throws IllegalStateException if the wheel was closed.
+     */
+    public Timeout schedule(Runnable task, long delay, TimeUnit unit) {
+        if (task == null)
+            throw new IllegalArgumentException("Task must not be null");
+
+        // Saturated, so huge delays land in the coarsest level instead of wrapping around
+        long elapsed = saturatedAdd(System.nanoTime() - startNanos, Math.max(unit.toNanos(delay), 0));
+        long deadline = saturatedAdd(elapsed, tickNanos - 1) / tickNanos;
+
+        synchronized (this) {
+            if (closed)
+                throw new IllegalStateException("Timing wheel is closed");
+            Timeout timeout = new Timeout(this, task, Math.max(deadline, currentTick + 1));
+            insert(timeout);
+            pending++;
+            return timeout;
+        }
+    }
+
+    /**
+     * Adds two non-negative values, clamping the sum to {@link Long#MAX_VALUE}.
+     * @param a The first value.
+     * @param b The second value.
+     * @return the sum, or {@link Long#MAX_VALUE} if it overflows.
+     */
+    private static long saturatedAdd(long a, long b) {
+        try {
+            return Math.addExact(a, b);
+        } catch (ArithmeticException e) {
+            return Long.MAX_VALUE;
+        }
+    }
+
+    /**
+     * Unlinks a pending timeout from its bucket.
+     * @param timeout The timeout to cancel.
+     * @return true if the timeout was pending, false otherwise.
+     */
+    synchronized boolean cancel(Timeout timeout) {
+        if (timeout.state != Timeout.PENDING)
+            return false;
+        timeout.bucket.remove(timeout.entry);
+        timeout.bucket = null;
+        timeout.entry = null;
+        timeout.state = Timeout.CANCELLED;
+        pending--;
+        return true;
+    }
+
+    /**
+     * Links a timeout into the finest level able to hold its deadline.
+     * <p>
+     * Level {@code L} holds deadlines before the end of the window of {@code wheelSize}
+     * buckets starting at the current bucket of that level. Anything that reached a
+     * coarser level is at least one full bucket away, so it never lands in a bucket
+     * that was already drained.
+     * </p>
+     * @param timeout The timeout to link, with a deadline after the current tick.
+     */
+    private void insert(Timeout timeout) {
+        long deadline = timeout.deadline;
+        int index = 0;
+        while (true) {
+            Level level = level(index);
+            long levelStart = currentTick - currentTick % level.span;
+            boolean lastLevel = level.span > Long.MAX_VALUE / wheelSize;
+            if (lastLevel || deadline - levelStart < level.span * wheelSize) {
+                CircularDoublyLinkedList<Timeout> bucket =
+                        level.buckets[(int) ((deadline / level.span) % wheelSize)];
+                timeout.bucket = bucket;
+                timeout.entry = bucket.pushBackEntry(timeout);
+                return;
+            }
+            index++;
+        }
+    }
+
+    /**
+     * Returns a level of the wheel, creating the coarser levels on demand.
+     * @param index The index of the level, 0 being the finest.
+     * @return the level.
+     */
+    private Level level(int index) {
+        if (index == levels.length) {
+            levels = Arrays.copyOf(levels, index + 1);
+            levels[index] = new Level(wheelSize, levels[index - 1].span * wheelSize);
+        }
+        return levels[index];
+    }
+
+    /**
+     * Advances the clock by one tick.
+     * <p>
+     * Coarse buckets starting at the new tick cascade first, re-inserting their timeouts
+     * into finer levels; then the finest bucket is drained. Every timeout due at the new
+     * tick is appended to the batch and marked expired.
+     * </p>
+     * @param batch The queue collecting the expired timeouts.
+     */
+    private void tick(LinkedQueue<Timeout> batch) {
+        currentTick++;
+        for (int i = levels.length - 1; i > 0; i--) {
+            Level level = levels[i];
+            if (currentTick % level.span != 0)
+                continue;
+            level.buckets[(int) ((currentTick / level.span) % wheelSize)].drain(timeout -> {
+                if (timeout.deadline <= currentTick) {
+                    expire(timeout, batch);
+                } else {
+                    insert(timeout);
+                }
+            });
+        }
+        levels[0].buckets[(int) (currentTick % wheelSize)].drain(timeout -> expire(timeout, batch));
+    }
+
+    /**
+     * Marks a timeout unlinked from its bucket as expired and adds it to the batch.
+     * @param timeout The expired timeout.
+     * @param batch The queue collecting the expired timeouts.
+     */
+    private void expire(Timeout timeout, LinkedQueue<Timeout> batch) {
+        timeout.bucket = null;
+        timeout.entry = null;
+        timeout.state = Timeout.EXPIRED;
+        pending--;
+        batch.enqueue(timeout);
+    }
+
+    /**
+     * Body of the tick thread: catches up with the wall clock one tick at a time, runs
+     * the expired batch outside the lock and parks until the next tick.
+     */
+    private void run() {
+        LinkedQueue<Timeout> batch = new LinkedQueue<>();
+        while (running) {
+            long now = System.nanoTime() - startNanos;
+            long target = now / tickNanos;
+
+            synchronized (this) {
+                while (currentTick < target) {
+                    tick(batch);
+                }
+            }
+
+            while (!batch.isEmpty()) {
+                Timeout timeout = batch.dequeue();
+                try {
+                    timeout.task.run();
+                } catch (RuntimeException e) {
+                    Thread current = Thread.currentThread();
+                    current.getUncaughtExceptionHandler().uncaughtException(current, e);
+                }
+            }
+
+            long wait = (target + 1) * tickNanos - (System.nanoTime() - startNanos);
+            if (wait > 0)
+                LockSupport.parkNanos(this, wait);
+        }
+    }
+}